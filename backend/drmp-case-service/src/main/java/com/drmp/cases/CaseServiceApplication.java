@@ -0,0 +1,22 @@
+package com.drmp.cases;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * 案件服务启动类
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@SpringBootApplication(scanBasePackages = {"com.drmp.common", "com.drmp.cases"})
+@EnableJpaAuditing
+@EnableTransactionManagement
+public class CaseServiceApplication {
+    
+    public static void main(String[] args) {
+        SpringApplication.run(CaseServiceApplication.class, args);
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.drmp.cases.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -8,6 +9,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -21,6 +24,11 @@ import java.util.concurrent.ThreadPoolExecutor;
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
     
+    /**
+     * 案件导入线程池
+     * 导入流水线的各阶段长期占用线程并相互等待，任务排队可能导致流水线无法启动，
+     * 因此不设队列：无空闲线程时直接拒绝，由流水线释放已占用的线程后等待重试
+     */
     @Bean("caseImportExecutor")
     public Executor caseImportExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -31,8 +39,8 @@ public class AsyncConfig implements AsyncConfigurer {
         // 最大线程数
         executor.setMaxPoolSize(20);
         
-        // 队列容量
-        executor.setQueueCapacity(100);
+        // 队列容量（直接移交）
+        executor.setQueueCapacity(0);
         
         // 线程存活时间
         executor.setKeepAliveSeconds(60);
@@ -40,8 +48,8 @@ public class AsyncConfig implements AsyncConfigurer {
         // 线程名前缀
         executor.setThreadNamePrefix("case-import-");
         
-        // 拒绝策略
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // 拒绝策略（不能由调用线程执行，否则流水线阶段会阻塞调用线程）
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         
         // 等待任务完成后关闭
         executor.setWaitForTasksToCompleteOnShutdown(true);
@@ -56,6 +64,68 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
     
+    /**
+     * 导入任务线程池
+     * 每个导入任务占用一个线程驱动导入流水线直至导入结束，任务数即并发导入数。
+     * 队列满时拒绝，不能由调用线程执行，否则请求线程会一直阻塞到导入结束
+     */
+    @Bean("caseImportTaskExecutor")
+    public Executor caseImportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        
+        // 核心线程数
+        executor.setCorePoolSize(4);
+        
+        // 最大线程数
+        executor.setMaxPoolSize(4);
+        
+        // 队列容量
+        executor.setQueueCapacity(16);
+        
+        // 线程存活时间
+        executor.setKeepAliveSeconds(60);
+        
+        // 线程名前缀
+        executor.setThreadNamePrefix("case-import-task-");
+        
+        // 拒绝策略（由调用方返回繁忙错误）
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        
+        // 等待任务完成后关闭
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        
+        // 初始化
+        executor.initialize();
+        
+        log.info("导入任务线程池已配置: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
+                executor.getCorePoolSize(), executor.getMaxPoolSize(), executor.getQueueCapacity());
+        
+        return executor;
+    }
+    
+    /**
+     * 导入数据并行校验线程池
+     * 未配置并行度时取容器可用CPU数（JDK按cgroup配额计算availableProcessors）
+     */
+    @Bean(name = "caseValidationPool", destroyMethod = "shutdown")
+    public ForkJoinPool caseValidationPool(@Value("${drmp.case.import.validation-parallelism:0}") int parallelism) {
+        int size = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        
+        // 线程名前缀
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("case-validate-" + thread.getPoolIndex());
+            return thread;
+        };
+        
+        ForkJoinPool pool = new ForkJoinPool(size, threadFactory, null, false);
+        
+        log.info("导入校验线程池已配置: parallelism={}", pool.getParallelism());
+        
+        return pool;
+    }
+    
     @Override
     @Bean("taskExecutor")
     public Executor getAsyncExecutor() {
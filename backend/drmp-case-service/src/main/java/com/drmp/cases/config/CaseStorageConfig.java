@@ -0,0 +1,24 @@
+package com.drmp.cases.config;
+
+import com.drmp.cases.entity.CompactJsonCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 案件存储配置
+ * 扩展字段（债务信息、债务人信息、联系人、自定义字段）是否以紧凑二进制格式写入；
+ * 开启或关闭都不影响已有数据的读取，两种格式可以在同一张表中并存
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class CaseStorageConfig {
+    
+    public CaseStorageConfig(@Value("${drmp.case.storage.compact-json:false}") boolean compactJson) {
+        CompactJsonCodec.setEnabled(compactJson);
+        log.info("案件扩展字段存储格式: {}", compactJson ? "紧凑二进制" : "JSON文本");
+    }
+}
\ No newline at end of file
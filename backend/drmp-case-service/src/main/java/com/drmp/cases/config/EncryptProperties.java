@@ -0,0 +1,65 @@
+package com.drmp.cases.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 敏感字段加密配置
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "drmp.security.encrypt")
+public class EncryptProperties {
+    
+    private String algorithm = "AES";
+    
+    /**
+     * 版本0密钥，即引入密钥版本之前加密历史数据所用的密钥
+     */
+    private String key;
+    
+    /**
+     * 主密钥（Base64，16/24/32字节），用于解封各版本数据密钥
+     */
+    private String masterKey;
+    
+    /**
+     * 盲索引密钥（Base64，至少32字节），与数据密钥相互独立且不随其轮换；
+     * 变更后需以重建索引模式执行一次重加密任务重算存量行的盲索引
+     */
+    private String indexKey;
+    
+    /**
+     * 新数据加密使用的密钥版本
+     */
+    private int activeVersion = 0;
+    
+    /**
+     * 各版本数据密钥：版本号 -> 主密钥封装后的Base64
+     */
+    private Map<Integer, String> dataKeys = new LinkedHashMap<>();
+    
+    /**
+     * 后台重加密配置
+     */
+    private Reencrypt reencrypt = new Reencrypt();
+    
+    @Data
+    public static class Reencrypt {
+        
+        /**
+         * 每批读取与更新的行数
+         */
+        private int batchSize = 500;
+        
+        /**
+         * 每秒最多处理的行数，用于限制对在线业务的影响
+         */
+        private int maxRowsPerSecond = 2000;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.drmp.cases.config;
+
+import com.drmp.common.util.BlindIndex;
+import com.drmp.common.util.EncryptUtils;
+import com.drmp.common.util.EnvelopeKeys;
+import com.drmp.common.util.VersionedFieldCipher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 敏感字段加密配置
+ * 启动时以主密钥解封各版本数据密钥，并将字段加密引擎与盲索引安装到EncryptUtils
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(EncryptProperties.class)
+public class EncryptionConfig {
+    
+    /**
+     * 盲索引密钥最小字节数
+     */
+    private static final int MIN_INDEX_KEY_BYTES = 32;
+    
+    @Bean
+    public VersionedFieldCipher versionedFieldCipher(EncryptProperties properties) {
+        Map<Integer, byte[]> keys = new HashMap<>();
+        if (properties.getKey() != null && !properties.getKey().isEmpty()) {
+            keys.put(VersionedFieldCipher.LEGACY_VERSION, properties.getKey().getBytes(StandardCharsets.UTF_8));
+        }
+        
+        if (!properties.getDataKeys().isEmpty()) {
+            if (properties.getMasterKey() == null || properties.getMasterKey().isEmpty()) {
+                throw new IllegalStateException("已配置数据密钥但未配置主密钥");
+            }
+            byte[] masterKey = Base64.getDecoder().decode(properties.getMasterKey());
+            properties.getDataKeys().forEach((version, wrappedKey) -> {
+                if (version <= VersionedFieldCipher.LEGACY_VERSION) {
+                    throw new IllegalStateException("数据密钥版本必须大于0: " + version);
+                }
+                keys.put(version, EnvelopeKeys.unwrap(masterKey, wrappedKey));
+            });
+        }
+        
+        VersionedFieldCipher cipher = new VersionedFieldCipher(keys, properties.getActiveVersion());
+        EncryptUtils.install(cipher);
+        
+        log.info("字段加密已配置: activeVersion={}, versions={}", cipher.getActiveVersion(), keys.keySet());
+        return cipher;
+    }
+    
+    @Bean
+    public BlindIndex blindIndex(EncryptProperties properties) {
+        if (properties.getIndexKey() == null || properties.getIndexKey().isEmpty()) {
+            throw new IllegalStateException("未配置盲索引密钥: drmp.security.encrypt.index-key");
+        }
+        byte[] indexKey = Base64.getDecoder().decode(properties.getIndexKey());
+        if (indexKey.length < MIN_INDEX_KEY_BYTES) {
+            throw new IllegalStateException("盲索引密钥长度不能少于" + MIN_INDEX_KEY_BYTES + "字节");
+        }
+        BlindIndex blindIndex = new BlindIndex(indexKey);
+        EncryptUtils.installBlindIndex(blindIndex);
+        
+        log.info("盲索引已配置");
+        return blindIndex;
+    }
+}
\ No newline at end of file
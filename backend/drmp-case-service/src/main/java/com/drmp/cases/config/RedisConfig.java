@@ -0,0 +1,26 @@
+package com.drmp.cases.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis配置
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Configuration
+public class RedisConfig {
+    
+    /**
+     * Redis消息监听容器，用于跨节点推送导入进度与搜索索引变更
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.drmp.cases.controller;
 
 import com.drmp.cases.dto.CaseDTO;
+import com.drmp.cases.dto.ReencryptionStatusDTO;
+import com.drmp.cases.dto.SearchIndexStatusDTO;
+import com.drmp.cases.exporter.CaseExportFormat;
+import com.drmp.cases.exporter.CaseExporter;
+import com.drmp.cases.exporter.CaseStreamPermits;
+import com.drmp.cases.search.CaseSearchIndex;
+import com.drmp.cases.service.CaseReencryptionService;
 import com.drmp.cases.service.CaseService;
 import com.drmp.common.api.ApiResponse;
-import com.drmp.common.api.PageResult;
+import com.drmp.common.dto.PageResult;
 import com.drmp.common.enums.CaseStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -16,11 +25,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
@@ -38,7 +54,21 @@ import java.util.Map;
 @Tag(name = "案件管理", description = "案件的增删改查、分案、状态更新等操作")
 public class CaseController {
     
+    /**
+     * 滚动查询每页最大行数
+     */
+    private static final int MAX_SCROLL_SIZE = 500;
+    
+    /**
+     * 不分页列表是否因超出上限被截断的响应头
+     */
+    static final String RESULT_TRUNCATED_HEADER = "X-Result-Truncated";
+    
     private final CaseService caseService;
+    private final CaseReencryptionService caseReencryptionService;
+    private final CaseSearchIndex caseSearchIndex;
+    private final CaseExporter caseExporter;
+    private final CaseStreamPermits caseStreamPermits;
     
     @Operation(summary = "创建案件", description = "创建新的案件")
     @PostMapping
@@ -62,13 +92,14 @@ public class CaseController {
         return ApiResponse.success(result);
     }
     
-    @Operation(summary = "获取案件详情", description = "根据ID获取案件详细信息")
+    @Operation(summary = "获取案件详情", description = "根据ID获取案件详细信息，敏感字段默认脱敏，明文查看需单独授权")
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('CASE_READ')")
+    @PreAuthorize("hasAuthority('CASE_READ') and (!#plaintext or hasAuthority('CASE_READ_PLAIN'))")
     public ApiResponse<CaseDTO> getCase(
-            @Parameter(description = "案件ID") @PathVariable Long id) {
+            @Parameter(description = "案件ID") @PathVariable Long id,
+            @Parameter(description = "是否返回明文敏感字段") @RequestParam(defaultValue = "false") boolean plaintext) {
         
-        CaseDTO result = caseService.getCaseById(id);
+        CaseDTO result = caseService.getCaseById(id, plaintext);
         return ApiResponse.success(result);
     }
     
@@ -83,13 +114,14 @@ public class CaseController {
         return ApiResponse.success();
     }
     
-    @Operation(summary = "根据借据编号获取案件", description = "根据借据编号查询案件信息")
+    @Operation(summary = "根据借据编号获取案件", description = "根据借据编号查询案件信息，敏感字段默认脱敏，明文查看需单独授权")
     @GetMapping("/receipt/{receiptNumber}")
-    @PreAuthorize("hasAuthority('CASE_READ')")
+    @PreAuthorize("hasAuthority('CASE_READ') and (!#plaintext or hasAuthority('CASE_READ_PLAIN'))")
     public ApiResponse<CaseDTO> getCaseByReceiptNumber(
-            @Parameter(description = "借据编号") @PathVariable String receiptNumber) {
+            @Parameter(description = "借据编号") @PathVariable String receiptNumber,
+            @Parameter(description = "是否返回明文敏感字段") @RequestParam(defaultValue = "false") boolean plaintext) {
         
-        CaseDTO result = caseService.getCaseByReceiptNumber(receiptNumber);
+        CaseDTO result = caseService.getCaseByReceiptNumber(receiptNumber, plaintext);
         return ApiResponse.success(result);
     }
     
@@ -143,6 +175,47 @@ public class CaseController {
         return ApiResponse.success(PageResult.of(result));
     }
     
+    @Operation(summary = "滚动查询案件", description = "键集分页查询案件列表，不统计总数，以返回的nextCursor请求下一页")
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> scrollCases(
+            @Parameter(description = "案件包ID") @RequestParam(required = false) Long casePackageId,
+            @Parameter(description = "案件状态") @RequestParam(required = false) CaseStatus status,
+            @Parameter(description = "分配机构ID") @RequestParam(required = false) Long assignedOrgId,
+            @Parameter(description = "关键词搜索") @RequestParam(required = false) String keyword,
+            @Parameter(description = "分页游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        return ApiResponse.success(caseService.scrollCases(
+            casePackageId, status, assignedOrgId, keyword, cursor, size));
+    }
+    
+    @Operation(summary = "滚动查询案件包下的案件", description = "键集分页查询指定案件包下的案件，不统计总数")
+    @GetMapping("/package/{casePackageId}/scroll")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> scrollCasesByCasePackage(
+            @Parameter(description = "案件包ID") @PathVariable Long casePackageId,
+            @Parameter(description = "案件状态") @RequestParam(required = false) CaseStatus status,
+            @Parameter(description = "关键词搜索") @RequestParam(required = false) String keyword,
+            @Parameter(description = "分页游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        return ApiResponse.success(caseService.scrollCasesByCasePackageId(
+            casePackageId, status, keyword, cursor, size));
+    }
+    
+    @Operation(summary = "滚动查询处置机构案件", description = "键集分页查询分配给指定处置机构的案件，按分配时间倒序，不统计总数")
+    @GetMapping("/organization/{orgId}/scroll")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> scrollCasesByOrganization(
+            @Parameter(description = "处置机构ID") @PathVariable Long orgId,
+            @Parameter(description = "案件状态") @RequestParam(required = false) CaseStatus status,
+            @Parameter(description = "分页游标，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        return ApiResponse.success(caseService.scrollCasesByAssignedOrg(orgId, status, cursor, size));
+    }
+    
     @Operation(summary = "批量分配案件", description = "将多个案件分配给指定的处置机构")
     @PostMapping("/assign")
     @PreAuthorize("hasAuthority('CASE_ASSIGN')")
@@ -193,34 +266,94 @@ public class CaseController {
         return ApiResponse.success(!exists);
     }
     
-    @Operation(summary = "获取待分案案件", description = "查询所有待分配的案件")
+    @Operation(summary = "获取待分案案件", description = "查询待分配的案件，最多返回前1000条，响应头X-Result-Truncated为true表示结果已截断，完整结果使用分页或流式接口")
     @GetMapping("/pending-assignment")
     @PreAuthorize("hasAuthority('CASE_READ')")
-    public ApiResponse<List<CaseDTO>> getPendingAssignmentCases() {
+    public ResponseEntity<ApiResponse<List<CaseDTO>>> getPendingAssignmentCases() {
         
-        List<CaseDTO> result = caseService.getPendingAssignmentCases();
-        return ApiResponse.success(result);
+        return capped(caseService.getPendingAssignmentCases());
+    }
+    
+    @Operation(summary = "分页获取待分案案件", description = "按创建时间分页查询待分配的案件")
+    @GetMapping("/pending-assignment/page")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> getPendingAssignmentCasesPage(
+            @Parameter(description = "页码") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        Page<CaseDTO> result = caseService.getPendingAssignmentCases(PageRequest.of(page, size));
+        return ApiResponse.success(PageResult.of(result));
     }
     
-    @Operation(summary = "获取超期案件", description = "查询超过指定天数未处理的案件")
+    @Operation(summary = "流式获取待分案案件", description = "以NDJSON逐行输出全部待分配的案件")
+    @GetMapping("/pending-assignment/stream")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ResponseEntity<StreamingResponseBody> streamPendingAssignmentCases() {
+        
+        return ndjson(caseService::streamPendingAssignmentCases);
+    }
+    
+    @Operation(summary = "获取超期案件", description = "查询超过指定天数未处理的案件，最多返回前1000条，响应头X-Result-Truncated为true表示结果已截断，完整结果使用分页或流式接口")
     @GetMapping("/overdue")
     @PreAuthorize("hasAuthority('CASE_READ')")
-    public ApiResponse<List<CaseDTO>> getOverdueCases(
+    public ResponseEntity<ApiResponse<List<CaseDTO>>> getOverdueCases(
             @Parameter(description = "超期天数") @RequestParam(defaultValue = "7") int timeoutDays) {
         
-        List<CaseDTO> result = caseService.getOverdueCases(timeoutDays);
-        return ApiResponse.success(result);
+        return capped(caseService.getOverdueCases(timeoutDays));
+    }
+    
+    @Operation(summary = "分页获取超期案件", description = "按分配时间分页查询超过指定天数未处理的案件")
+    @GetMapping("/overdue/page")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> getOverdueCasesPage(
+            @Parameter(description = "超期天数") @RequestParam(defaultValue = "7") int timeoutDays,
+            @Parameter(description = "页码") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        Page<CaseDTO> result = caseService.getOverdueCases(timeoutDays, PageRequest.of(page, size));
+        return ApiResponse.success(PageResult.of(result));
     }
     
-    @Operation(summary = "根据逾期天数查询案件", description = "查询指定逾期天数范围内的案件")
+    @Operation(summary = "流式获取超期案件", description = "以NDJSON逐行输出全部超过指定天数未处理的案件")
+    @GetMapping("/overdue/stream")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ResponseEntity<StreamingResponseBody> streamOverdueCases(
+            @Parameter(description = "超期天数") @RequestParam(defaultValue = "7") int timeoutDays) {
+        
+        return ndjson(out -> caseService.streamOverdueCases(timeoutDays, out));
+    }
+    
+    @Operation(summary = "根据逾期天数查询案件", description = "查询指定逾期天数范围内的案件，最多返回前1000条，响应头X-Result-Truncated为true表示结果已截断，完整结果使用分页或流式接口")
     @GetMapping("/by-overdue-days")
     @PreAuthorize("hasAuthority('CASE_READ')")
-    public ApiResponse<List<CaseDTO>> getCasesByOverdueDays(
+    public ResponseEntity<ApiResponse<List<CaseDTO>>> getCasesByOverdueDays(
             @Parameter(description = "最小逾期天数") @RequestParam @NotNull Integer minDays,
             @Parameter(description = "最大逾期天数") @RequestParam @NotNull Integer maxDays) {
         
-        List<CaseDTO> result = caseService.getCasesByOverdueDaysRange(minDays, maxDays);
-        return ApiResponse.success(result);
+        return capped(caseService.getCasesByOverdueDaysRange(minDays, maxDays));
+    }
+    
+    @Operation(summary = "根据逾期天数分页查询案件", description = "按逾期天数倒序分页查询指定逾期天数范围内的案件")
+    @GetMapping("/by-overdue-days/page")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ApiResponse<PageResult<CaseDTO>> getCasesByOverdueDaysPage(
+            @Parameter(description = "最小逾期天数") @RequestParam @NotNull Integer minDays,
+            @Parameter(description = "最大逾期天数") @RequestParam @NotNull Integer maxDays,
+            @Parameter(description = "页码") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        
+        Page<CaseDTO> result = caseService.getCasesByOverdueDaysRange(minDays, maxDays, PageRequest.of(page, size));
+        return ApiResponse.success(PageResult.of(result));
+    }
+    
+    @Operation(summary = "根据逾期天数流式查询案件", description = "以NDJSON逐行输出指定逾期天数范围内的全部案件")
+    @GetMapping("/by-overdue-days/stream")
+    @PreAuthorize("hasAuthority('CASE_READ')")
+    public ResponseEntity<StreamingResponseBody> streamCasesByOverdueDays(
+            @Parameter(description = "最小逾期天数") @RequestParam @NotNull Integer minDays,
+            @Parameter(description = "最大逾期天数") @RequestParam @NotNull Integer maxDays) {
+        
+        return ndjson(out -> caseService.streamCasesByOverdueDaysRange(minDays, maxDays, out));
     }
     
     @Operation(summary = "获取案件状态统计", description = "统计各状态案件的数量分布")
@@ -282,6 +415,74 @@ public class CaseController {
         return ApiResponse.success(result);
     }
     
+    @Operation(summary = "启动敏感字段重加密", description = "密钥轮换后在后台将旧版本密文逐批改用当前版本密钥加密，并补齐存量行的盲索引")
+    @PostMapping("/reencryption")
+    @PreAuthorize("hasAuthority('CASE_REENCRYPT')")
+    public ApiResponse<ReencryptionStatusDTO> startReencryption(
+            @Parameter(description = "是否处理全部行以重算盲索引（盲索引密钥变更后使用）")
+            @RequestParam(defaultValue = "false") boolean reindex) {
+        log.info("启动敏感字段重加密请求: reindex={}", reindex);
+        
+        return ApiResponse.success(caseReencryptionService.start(reindex));
+    }
+    
+    @Operation(summary = "停止敏感字段重加密", description = "当前批次完成后停止，再次启动时从头扫描未完成的行")
+    @DeleteMapping("/reencryption")
+    @PreAuthorize("hasAuthority('CASE_REENCRYPT')")
+    public ApiResponse<ReencryptionStatusDTO> stopReencryption() {
+        log.info("停止敏感字段重加密请求");
+        
+        return ApiResponse.success(caseReencryptionService.stop());
+    }
+    
+    @Operation(summary = "获取敏感字段重加密进度", description = "查询重加密任务的进度与处理速度")
+    @GetMapping("/reencryption")
+    @PreAuthorize("hasAuthority('CASE_REENCRYPT')")
+    public ApiResponse<ReencryptionStatusDTO> getReencryptionStatus() {
+        
+        return ApiResponse.success(caseReencryptionService.getStatus());
+    }
+    
+    @Operation(summary = "重建搜索索引", description = "在后台全量重建借据编号与案件包名称、描述的搜索索引，重建期间沿用旧索引")
+    @PostMapping("/search-index/rebuild")
+    @PreAuthorize("hasAuthority('CASE_REINDEX')")
+    public ApiResponse<SearchIndexStatusDTO> rebuildSearchIndex() {
+        log.info("重建搜索索引请求");
+        
+        return ApiResponse.success(caseSearchIndex.rebuild());
+    }
+    
+    @Operation(summary = "获取搜索索引状态", description = "查询搜索索引是否可用、文档数与最近一次重建情况")
+    @GetMapping("/search-index")
+    @PreAuthorize("hasAuthority('CASE_REINDEX')")
+    public ApiResponse<SearchIndexStatusDTO> getSearchIndexStatus() {
+        
+        return ApiResponse.success(caseSearchIndex.getStatus());
+    }
+    
+    @Operation(summary = "导出案件", description = "按条件以CSV或XLSX格式流式导出案件，敏感字段默认脱敏，明文导出需单独授权")
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('CASE_EXPORT') and (!#plaintext or hasAuthority('CASE_EXPORT_PLAIN'))")
+    public ResponseEntity<StreamingResponseBody> exportCases(
+            @Parameter(description = "文件格式：csv、xlsx") @RequestParam(defaultValue = "xlsx") String format,
+            @Parameter(description = "案件包ID") @RequestParam(required = false) Long casePackageId,
+            @Parameter(description = "案件状态") @RequestParam(required = false) CaseStatus status,
+            @Parameter(description = "处置机构ID") @RequestParam(required = false) Long assignedOrgId,
+            @Parameter(description = "是否导出明文敏感字段") @RequestParam(defaultValue = "false") boolean plaintext) {
+        log.info("导出案件请求: format={}, casePackageId={}, status={}, assignedOrgId={}, plaintext={}",
+            format, casePackageId, status, assignedOrgId, plaintext);
+        
+        CaseExportFormat exportFormat = CaseExportFormat.of(format);
+        StreamingResponseBody body = caseStreamPermits.limit(
+            out -> caseExporter.export(exportFormat, casePackageId, status, assignedOrgId, plaintext, out));
+        String fileName = "cases-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+            + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .body(body);
+    }
+    
     @Operation(summary = "计算逾期等级", description = "根据逾期天数计算逾期等级")
     @GetMapping("/calculate-overdue-level")
     public ApiResponse<String> calculateOverdueLevel(
@@ -298,4 +499,22 @@ public class CaseController {
         String level = caseService.calculateRiskLevel(caseDTO);
         return ApiResponse.success(level);
     }
+    
+    /**
+     * 以NDJSON输出流式查询结果，与导出共用并发许可
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(caseStreamPermits.limit(body));
+    }
+    
+    /**
+     * 输出不分页列表，通过响应头告知客户端结果是否因超出上限被截断，响应体结构不变
+     */
+    private ResponseEntity<ApiResponse<List<CaseDTO>>> capped(Slice<CaseDTO> result) {
+        return ResponseEntity.ok()
+            .header(RESULT_TRUNCATED_HEADER, String.valueOf(result.hasNext()))
+            .body(ApiResponse.success(result.getContent()));
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.drmp.cases.controller;
 import com.drmp.cases.dto.CasePackageDTO;
 import com.drmp.cases.dto.BatchImportResult;
 import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.importer.ImportProgressStream;
 import com.drmp.cases.service.CasePackageService;
 import com.drmp.common.api.ApiResponse;
 import com.drmp.common.api.PageResult;
@@ -16,13 +17,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * 案件包控制器
@@ -39,6 +45,7 @@ import java.util.concurrent.CompletableFuture;
 public class CasePackageController {
     
     private final CasePackageService casePackageService;
+    private final ImportProgressStream importProgressStream;
     
     @Operation(summary = "创建案件包", description = "创建新的案件包")
     @PostMapping
@@ -158,17 +165,20 @@ public class CasePackageController {
         // 验证文件
         validateImportFile(file);
         
-        // 异步导入
-        CompletableFuture<BatchImportResult> future = casePackageService.importCases(id, file);
+        // 异步导入，返回初始结果（包含taskId），通过进度接口跟踪导入
+        BatchImportResult result = casePackageService.importCases(id, file);
+        return ApiResponse.success(result);
+    }
+    
+    @Operation(summary = "继续导入案件", description = "从最后提交的数据块继续失败或超时的导入")
+    @PostMapping("/{id}/import/resume")
+    @PreAuthorize("hasAuthority('CASE_IMPORT')")
+    public ApiResponse<BatchImportResult> resumeImport(
+            @Parameter(description = "案件包ID") @PathVariable Long id) {
+        log.info("继续导入案件请求: casePackageId={}", id);
         
-        // 返回初始结果（包含taskId）
-        try {
-            BatchImportResult result = future.get();
-            return ApiResponse.success(result);
-        } catch (Exception e) {
-            log.error("获取导入结果失败", e);
-            return ApiResponse.error("导入失败: " + e.getMessage());
-        }
+        BatchImportResult result = casePackageService.resumeImport(id);
+        return ApiResponse.success(result);
     }
     
     @Operation(summary = "获取导入进度", description = "根据任务ID获取导入进度")
@@ -185,6 +195,27 @@ public class CasePackageController {
         return ApiResponse.success(result);
     }
     
+    @Operation(summary = "订阅导入进度", description = "以SSE推送导入进度变化，导入结束时推送完整结果并关闭连接")
+    @GetMapping(value = "/import/{taskId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('CASE_IMPORT')")
+    public SseEmitter streamImportProgress(
+            @Parameter(description = "任务ID") @PathVariable String taskId) {
+        return importProgressStream.open(taskId);
+    }
+    
+    @Operation(summary = "下载导入错误报告", description = "以CSV格式下载最近一次导入的全部错误行")
+    @GetMapping("/{id}/import/errors")
+    @PreAuthorize("hasAuthority('CASE_IMPORT')")
+    public ResponseEntity<StreamingResponseBody> downloadImportErrors(
+            @Parameter(description = "案件包ID") @PathVariable Long id) {
+        casePackageService.checkImportErrorReport(id);
+        StreamingResponseBody body = out -> casePackageService.writeImportErrorReport(id, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-errors-" + id + ".csv\"")
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .body(body);
+    }
+    
     @Operation(summary = "更新案件包统计", description = "手动触发案件包统计信息更新")
     @PostMapping("/{id}/refresh-statistics")
     @PreAuthorize("hasAuthority('CASE_PACKAGE_UPDATE')")
@@ -5,6 +5,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 批量导入结果DTO
@@ -52,12 +53,15 @@ public class BatchImportResult {
     @Schema(description = "错误信息")
     private String errorMessage;
     
-    @Schema(description = "失败记录详情")
+    @Schema(description = "失败记录样例（前max-error-count条，全部错误行可下载导入错误报告）")
     private List<ImportError> errors;
     
     @Schema(description = "导入摘要")
     private ImportSummary summary;
     
+    @Schema(description = "导入各阶段累计耗时（毫秒）")
+    private Map<String, Long> stageMillis;
+    
     /**
      * 导入状态枚举
      */
@@ -86,6 +90,21 @@ public class BatchImportResult {
     @Schema(description = "导入错误详情")
     public static class ImportError {
         
+        /**
+         * 错误类型：数据校验不通过
+         */
+        public static final String TYPE_VALIDATION = "VALIDATION_ERROR";
+        
+        /**
+         * 错误类型：借据编号在导入文件中重复
+         */
+        public static final String TYPE_DUPLICATE_IN_FILE = "DUPLICATE_IN_FILE";
+        
+        /**
+         * 错误类型：借据编号在系统中已存在
+         */
+        public static final String TYPE_ALREADY_EXISTS = "ALREADY_EXISTS";
+        
         @Schema(description = "行号")
         private Integer rowNumber;
         
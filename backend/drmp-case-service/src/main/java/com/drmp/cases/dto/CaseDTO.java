@@ -1,6 +1,7 @@
 package com.drmp.cases.dto;
 
 import com.drmp.common.enums.CaseStatus;
+import com.drmp.common.util.LazyJson;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
@@ -9,7 +10,6 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 案件数据传输对象
@@ -97,19 +97,19 @@ public class CaseDTO {
     @Size(max = 100, message = "资方名称长度不能超过100字符")
     private String fundProvider;
     
-    // 可选字段
+    // 可选字段（响应中原样输出存储的JSON，不做解析）
     
-    @Schema(description = "债务信息（JSON格式）")
-    private String debtInfo;
+    @Schema(description = "债务信息（JSON对象，也可传JSON字符串）")
+    private LazyJson debtInfo;
     
-    @Schema(description = "债务人信息（JSON格式）")
-    private String debtorInfo;
+    @Schema(description = "债务人信息（JSON对象，也可传JSON字符串）")
+    private LazyJson debtorInfo;
     
-    @Schema(description = "联系人信息（JSON格式）")
-    private String contactInfo;
+    @Schema(description = "联系人信息（JSON对象，也可传JSON字符串）")
+    private LazyJson contactInfo;
     
-    @Schema(description = "自定义字段（JSON格式）")
-    private String customFields;
+    @Schema(description = "自定义字段（JSON对象，也可传JSON字符串）")
+    private LazyJson customFields;
     
     // 案件状态与处置信息
     
@@ -136,8 +136,8 @@ public class CaseDTO {
     @Schema(description = "回款率（%）")
     private BigDecimal recoveryRate;
     
-    @Schema(description = "案件凭证文件列表")
-    private List<String> attachments;
+    @Schema(description = "案件凭证文件列表（JSON数组）")
+    private LazyJson attachments;
     
     @Schema(description = "风险等级")
     private String riskLevel;
@@ -151,6 +151,9 @@ public class CaseDTO {
     @Schema(description = "是否已结案")
     private Boolean closed;
     
+    @Schema(description = "身份证号、姓名、手机号是否为脱敏值（列表视图）")
+    private Boolean masked;
+    
     @Schema(description = "创建时间")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createTime;
@@ -84,6 +84,9 @@ public class CaseImportDTO {
     @Schema(description = "验证错误信息")
     private String errorMessage;
     
+    @Schema(description = "错误类型（为空表示一般校验错误）")
+    private String errorType;
+    
     // 业务方法
     
     /**
@@ -98,12 +101,21 @@ public class CaseImportDTO {
         }
     }
     
+    /**
+     * 添加指定类型的验证错误
+     */
+    public void addError(String errorType, String error) {
+        this.errorType = errorType;
+        addError(error);
+    }
+    
     /**
      * 设置为验证通过
      */
     public void setValid() {
         this.valid = true;
         this.errorMessage = null;
+        this.errorType = null;
     }
     
     /**
@@ -95,6 +95,9 @@ public class CasePackageDTO {
     @Schema(description = "导入错误信息")
     private String importErrorMsg;
     
+    @Schema(description = "导入数据摘要（导入过程中累计）")
+    private BatchImportResult.ImportSummary importSummary;
+    
     @Schema(description = "创建时间")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createTime;
@@ -0,0 +1,56 @@
+package com.drmp.cases.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 敏感字段重加密任务状态DTO
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Data
+@Schema(description = "敏感字段重加密任务状态")
+public class ReencryptionStatusDTO {
+    
+    @Schema(description = "是否正在执行")
+    private Boolean running;
+    
+    @Schema(description = "目标密钥版本")
+    private Integer targetVersion;
+    
+    @Schema(description = "是否为重建索引模式（处理全部行）")
+    private Boolean reindex;
+    
+    @Schema(description = "开始时待重加密的行数")
+    private Long totalRows;
+    
+    @Schema(description = "已重加密的行数")
+    private Long reencryptedRows;
+    
+    @Schema(description = "因并发修改跳过的行数（下次执行时重试）")
+    private Long conflictRows;
+    
+    @Schema(description = "密钥版本未配置或解密失败而跳过的行数")
+    private Long undecryptableRows;
+    
+    @Schema(description = "已处理到的最大案件ID")
+    private Long lastId;
+    
+    @Schema(description = "处理速度（行/秒）")
+    private Double rowsPerSecond;
+    
+    @Schema(description = "开始时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startTime;
+    
+    @Schema(description = "结束时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishTime;
+    
+    @Schema(description = "错误信息")
+    private String errorMessage;
+}
\ No newline at end of file
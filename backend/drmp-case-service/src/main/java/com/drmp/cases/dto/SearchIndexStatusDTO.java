@@ -0,0 +1,49 @@
+package com.drmp.cases.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 搜索索引状态DTO
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Data
+@Schema(description = "搜索索引状态")
+public class SearchIndexStatusDTO {
+    
+    @Schema(description = "是否启用")
+    private Boolean enabled;
+    
+    @Schema(description = "是否可用（首次重建完成前关键词查询走数据库）")
+    private Boolean ready;
+    
+    @Schema(description = "是否正在重建")
+    private Boolean rebuilding;
+    
+    @Schema(description = "已索引的案件数")
+    private Integer caseCount;
+    
+    @Schema(description = "索引保留的最大案件数")
+    private Integer maxCases;
+    
+    @Schema(description = "索引覆盖的最小案件ID（更早的案件由数据库按子串匹配），0表示覆盖全部案件")
+    private Long caseFloorId;
+    
+    @Schema(description = "已索引的案件包数")
+    private Integer packageCount;
+    
+    @Schema(description = "最近一次重建完成时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime lastRebuildTime;
+    
+    @Schema(description = "最近一次重建耗时（毫秒）")
+    private Long lastRebuildMillis;
+    
+    @Schema(description = "最近一次重建的错误信息")
+    private String errorMessage;
+}
\ No newline at end of file
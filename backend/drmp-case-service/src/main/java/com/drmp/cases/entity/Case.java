@@ -10,7 +10,6 @@ import lombok.EqualsAndHashCode;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * 案件实体类
@@ -56,6 +55,54 @@ public class Case extends BaseEntity {
     @Column(name = "debtor_phone", nullable = false, length = 255)
     private String debtorPhone;
     
+    /**
+     * 身份证号盲索引
+     */
+    @Column(name = "debtor_id_card_index", length = 32)
+    private String debtorIdCardIndex;
+    
+    /**
+     * 客户姓名盲索引
+     */
+    @Column(name = "debtor_name_index", length = 32)
+    private String debtorNameIndex;
+    
+    /**
+     * 手机号盲索引
+     */
+    @Column(name = "debtor_phone_index", length = 32)
+    private String debtorPhoneIndex;
+    
+    /**
+     * 手机尾号（后4位）盲索引
+     */
+    @Column(name = "debtor_phone_suffix_index", length = 32)
+    private String debtorPhoneSuffixIndex;
+    
+    /**
+     * 身份证号脱敏值（列表展示，无需解密）
+     */
+    @Column(name = "debtor_id_card_masked", length = 32)
+    private String debtorIdCardMasked;
+    
+    /**
+     * 客户姓名脱敏值（列表展示，无需解密）
+     */
+    @Column(name = "debtor_name_masked", length = 100)
+    private String debtorNameMasked;
+    
+    /**
+     * 手机号脱敏值（列表展示，无需解密）
+     */
+    @Column(name = "debtor_phone_masked", length = 32)
+    private String debtorPhoneMasked;
+    
+    /**
+     * 敏感字段加密使用的密钥版本
+     */
+    @Column(name = "key_version", nullable = false)
+    private Integer keyVersion = 0;
+    
     /**
      * 借款项目/产品线
      */
@@ -106,31 +153,35 @@ public class Case extends BaseEntity {
     @Column(name = "fund_provider", nullable = false, length = 100)
     private String fundProvider;
     
-    // 可选字段（使用JSON存储以支持灵活扩展）
+    // 可选字段（JSON对象，按配置以紧凑二进制或JSON文本存储；列类型为blob，已有库须执行docs/database/upgrade-case-extension-blob.sql）
     
     /**
      * 债务信息（合同金额、期数、利率等）
      */
-    @Column(name = "debt_info", columnDefinition = "JSON")
-    private String debtInfo;
+    @Column(name = "debt_info", columnDefinition = "BLOB")
+    @Convert(converter = CompactJsonConverter.class)
+    private CompactJson debtInfo;
     
     /**
      * 债务人信息（性别、学历、地址等）
      */
-    @Column(name = "debtor_info", columnDefinition = "JSON")
-    private String debtorInfo;
+    @Column(name = "debtor_info", columnDefinition = "BLOB")
+    @Convert(converter = CompactJsonConverter.class)
+    private CompactJson debtorInfo;
     
     /**
      * 联系人信息
      */
-    @Column(name = "contact_info", columnDefinition = "JSON")
-    private String contactInfo;
+    @Column(name = "contact_info", columnDefinition = "BLOB")
+    @Convert(converter = CompactJsonConverter.class)
+    private CompactJson contactInfo;
     
     /**
      * 自定义字段
      */
-    @Column(name = "custom_fields", columnDefinition = "JSON")
-    private String customFields;
+    @Column(name = "custom_fields", columnDefinition = "BLOB")
+    @Convert(converter = CompactJsonConverter.class)
+    private CompactJson customFields;
     
     // 案件状态与处置信息
     
@@ -176,8 +227,7 @@ public class Case extends BaseEntity {
      * 案件凭证文件列表（JSON格式）
      */
     @Column(name = "attachments", columnDefinition = "JSON")
-    @Convert(converter = StringListConverter.class)
-    private List<String> attachments;
+    private String attachments;
     
     // 关联关系
     
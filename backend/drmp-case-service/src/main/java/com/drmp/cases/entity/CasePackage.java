@@ -128,6 +128,48 @@ public class CasePackage extends BaseEntity {
     @Column(name = "import_error_msg", columnDefinition = "TEXT")
     private String importErrorMsg;
     
+    /**
+     * 最近一次导入的任务ID
+     */
+    @Column(name = "import_task_id", length = 36)
+    private String importTaskId;
+    
+    /**
+     * 导入文件内容的SHA-256，用于识别重复上传
+     */
+    @Column(name = "import_file_hash", length = 64)
+    private String importFileHash;
+    
+    /**
+     * 导入原始文件名（断点续传时据此选择文件读取器）
+     */
+    @Column(name = "import_file_name", length = 255)
+    private String importFileName;
+    
+    /**
+     * 导入断点：已提交的数据行数
+     */
+    @Column(name = "import_checkpoint", nullable = false)
+    private Integer importCheckpoint = 0;
+    
+    /**
+     * 截至断点的导入成功条数
+     */
+    @Column(name = "import_success_count", nullable = false)
+    private Integer importSuccessCount = 0;
+    
+    /**
+     * 截至断点的导入失败条数
+     */
+    @Column(name = "import_failure_count", nullable = false)
+    private Integer importFailureCount = 0;
+    
+    /**
+     * 截至断点的导入摘要累计状态（JSON格式），导入过程中逐块更新
+     */
+    @Column(name = "import_summary", columnDefinition = "JSON")
+    private String importSummary;
+    
     // 关联关系
     
     /**
@@ -0,0 +1,92 @@
+package com.drmp.cases.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import java.util.Arrays;
+
+/**
+ * 案件扩展字段值
+ * 从数据库加载时只持有列值，首次读取JSON文本时才解码；未修改的值写回时直接使用原列值。
+ * 实例不可变，修改扩展字段需整体替换。
+ * 相等性按列值比较，脏检查时无需解码；JSON相同但存储格式不同（JSON文本与紧凑格式）的值视为不相等
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Immutable
+public final class CompactJson {
+    
+    private volatile byte[] column;
+    private volatile String json;
+    
+    private CompactJson(byte[] column, String json) {
+        this.column = column;
+        this.json = json;
+    }
+    
+    /**
+     * 由JSON文本创建
+     */
+    public static CompactJson of(String json) {
+        return json == null ? null : new CompactJson(null, json);
+    }
+    
+    /**
+     * 由数据库列值创建，不解码
+     */
+    public static CompactJson fromColumn(byte[] column) {
+        return column == null ? null : new CompactJson(column, null);
+    }
+    
+    /**
+     * 获取JSON文本，value为null时返回null
+     */
+    public static String jsonOf(CompactJson value) {
+        return value == null ? null : value.toJson();
+    }
+    
+    /**
+     * 获取JSON文本，首次调用时解码列值
+     */
+    public String toJson() {
+        String result = json;
+        if (result == null) {
+            result = CompactJsonCodec.decode(column);
+            json = result;
+        }
+        return result;
+    }
+    
+    /**
+     * 获取写入数据库的列值，由JSON文本创建的值首次调用时编码
+     */
+    public byte[] toColumn() {
+        byte[] result = column;
+        if (result == null) {
+            result = CompactJsonCodec.toColumn(json);
+            column = result;
+        }
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactJson other)) {
+            return false;
+        }
+        return Arrays.equals(toColumn(), other.toColumn());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toColumn());
+    }
+    
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,293 @@
+package com.drmp.cases.entity;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 案件扩展字段紧凑二进制编解码
+ * 债务信息、债务人信息、联系人、自定义字段均为“列名 -> 值”的扁平JSON对象，键名是PRD数据字典中的中文列名，
+ * 按UTF-8存储时键名往往比值还长。紧凑格式将字典内的键名编码为1字节序号，值按类型写入长度前缀的二进制，
+ * 字典外的键名与嵌套对象/数组原样保留，解码结果与原JSON语义一致（数值保留原始文本）。
+ * 
+ * 格式：版本字节 + 字段数 + 逐个字段（键序号，为0时后跟键名；类型标记；值），整数与长度均为无符号变长整数。
+ * JSON文本不会以版本字节开头，读取时据此区分紧凑格式与JSON文本
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CompactJsonCodec {
+    
+    /**
+     * 格式版本，同时作为紧凑格式的识别标记
+     */
+    static final byte FORMAT_V1 = 0x01;
+    
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_STRING = 3;
+    private static final int TAG_INT = 4;
+    private static final int TAG_NUMBER = 5;
+    private static final int TAG_RAW = 6;
+    
+    /**
+     * 键名字典，序号即下标+1，已落库的数据依赖该顺序：只能在末尾追加，不能删除或调整顺序
+     */
+    private static final List<String> DICTIONARY = buildDictionary();
+    
+    private static final Map<String, Integer> CODES = new HashMap<>();
+    
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    
+    /**
+     * 是否以紧凑格式写入，关闭时写入JSON文本；读取不受影响，两种格式均可解码
+     */
+    private static volatile boolean enabled;
+    
+    static {
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            CODES.put(DICTIONARY.get(i), i + 1);
+        }
+    }
+    
+    private CompactJsonCodec() {
+    }
+    
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    public static void setEnabled(boolean enabled) {
+        CompactJsonCodec.enabled = enabled;
+    }
+    
+    /**
+     * 按当前配置编码为列值
+     */
+    public static byte[] toColumn(String json) {
+        return enabled ? encode(json) : json.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 判断列值是否为紧凑格式
+     */
+    public static boolean isCompact(byte[] data) {
+        return data.length > 0 && data[0] == FORMAT_V1;
+    }
+    
+    /**
+     * JSON对象编码为紧凑格式；不是JSON对象或无法解析时返回UTF-8编码的原文
+     */
+    public static byte[] encode(String json) {
+        byte[] text = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream fields = new ByteArrayOutputStream(text.length);
+        int count = 0;
+        try (JsonParser parser = jsonFactory.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return text;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Integer code = CODES.get(parser.currentName());
+                if (code != null) {
+                    writeVarint(fields, code);
+                } else {
+                    writeVarint(fields, 0);
+                    writeString(fields, parser.currentName());
+                }
+                parser.nextToken();
+                writeValue(fields, parser);
+                count++;
+            }
+            if (parser.nextToken() != null) {
+                return text;
+            }
+        } catch (IOException e) {
+            log.warn("扩展字段不是合法JSON，按原文存储");
+            return text;
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(fields.size() + 4);
+        out.write(FORMAT_V1);
+        writeVarint(out, count);
+        out.writeBytes(fields.toByteArray());
+        return out.toByteArray();
+    }
+    
+    /**
+     * 列值解码为JSON文本，JSON文本格式的列值直接按UTF-8解码
+     */
+    public static String decode(byte[] data) {
+        if (!isCompact(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        
+        Reader reader = new Reader(data);
+        StringWriter writer = new StringWriter(data.length * 2);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            int count = reader.varint();
+            generator.writeStartObject();
+            for (int i = 0; i < count; i++) {
+                int code = reader.varint();
+                generator.writeFieldName(code == 0 ? reader.string() : DICTIONARY.get(code - 1));
+                switch (reader.tag()) {
+                    case TAG_NULL -> generator.writeNull();
+                    case TAG_TRUE -> generator.writeBoolean(true);
+                    case TAG_FALSE -> generator.writeBoolean(false);
+                    case TAG_STRING -> generator.writeString(reader.string());
+                    case TAG_INT -> generator.writeNumber(reader.zigzag());
+                    case TAG_NUMBER -> generator.writeNumber(reader.string());
+                    case TAG_RAW -> generator.writeRawValue(reader.string());
+                    default -> throw new IllegalStateException("未知的扩展字段类型标记");
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("扩展字段解码失败", e);
+        }
+        return writer.toString();
+    }
+    
+    private static void writeValue(ByteArrayOutputStream out, JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case VALUE_NULL -> out.write(TAG_NULL);
+            case VALUE_TRUE -> out.write(TAG_TRUE);
+            case VALUE_FALSE -> out.write(TAG_FALSE);
+            case VALUE_STRING -> {
+                out.write(TAG_STRING);
+                writeString(out, parser.getText());
+            }
+            case VALUE_NUMBER_INT -> {
+                if (parser.getNumberType() == JsonParser.NumberType.INT
+                        || parser.getNumberType() == JsonParser.NumberType.LONG) {
+                    out.write(TAG_INT);
+                    long value = parser.getLongValue();
+                    writeVarint(out, (value << 1) ^ (value >> 63));
+                } else {
+                    out.write(TAG_NUMBER);
+                    writeString(out, parser.getText());
+                }
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                out.write(TAG_NUMBER);
+                writeString(out, parser.getText());
+            }
+            case START_OBJECT, START_ARRAY -> {
+                out.write(TAG_RAW);
+                StringWriter raw = new StringWriter();
+                try (JsonGenerator generator = jsonFactory.createGenerator(raw)) {
+                    generator.copyCurrentStructure(parser);
+                }
+                writeString(out, raw.toString());
+            }
+            default -> throw new IOException("意外的JSON标记: " + token);
+        }
+    }
+    
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+    
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    /**
+     * PRD数据字典中的可选列：债务信息、债务人信息、联系人（1-5）、自定义字段（1-10）
+     */
+    private static List<String> buildDictionary() {
+        List<String> keys = new ArrayList<>(List.of(
+            "合同号", "合同金额", "总期数", "月还款额", "月利率", "月费率", "年化利率", "放款日", "首期还款日",
+            "贷款到期日", "还款方式", "最低还款额", "已还金额", "已还款期数", "是否完结", "未到期剩余期数",
+            "剩余未到期本金", "剩余未到期利率", "月初剩余本金", "逾期日期", "尚欠利息", "逾期违约金", "罚息利率",
+            "逾期罚息", "剩余还款期数", "逾期M值", "优惠政策", "首次委托时间", "贷款商品名称", "商品类型",
+            "商品价格", "商品首付", "渠道名称", "渠道类型", "是否约定管辖", "资方性质", "债权总额", "代偿方",
+            "担保费", "还款支付方式", "账号", "开户行",
+            "性别", "学历", "民族", "婚姻", "户籍所在省", "户籍所在市", "户籍详细地址", "现居省", "现居市",
+            "现居地址", "单位名称", "职务", "入职时间", "单位电话", "单位所在省", "单位所在市", "单位地址",
+            "债务人编号"));
+        for (int i = 1; i <= 5; i++) {
+            keys.add("联系人" + i);
+            keys.add("联系人" + i + "电话");
+            keys.add("与联系人" + i + "关系");
+            keys.add("联系人" + i + "单位");
+            keys.add("联系人" + i + "职务");
+            keys.add("联系人" + i + "单位-省");
+            keys.add("联系人" + i + "单位-市");
+            keys.add("联系人" + i + "单位-地址");
+        }
+        for (int i = 1; i <= 10; i++) {
+            keys.add("自定义字段" + i);
+        }
+        return List.copyOf(keys);
+    }
+    
+    /**
+     * 紧凑格式读取游标
+     */
+    private static final class Reader {
+        
+        private final byte[] data;
+        private int position;
+        
+        Reader(byte[] data) {
+            this.data = data;
+            this.position = 1;
+        }
+        
+        int tag() {
+            return data[position++];
+        }
+        
+        int varint() {
+            long value = varint64();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalStateException("长度超出范围");
+            }
+            return (int) value;
+        }
+        
+        long varint64() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("变长整数格式错误");
+        }
+        
+        long zigzag() {
+            long value = varint64();
+            return (value >>> 1) ^ -(value & 1);
+        }
+        
+        String string() {
+            int length = varint();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
\ No newline at end of file
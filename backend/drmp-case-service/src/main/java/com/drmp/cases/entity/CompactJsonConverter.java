@@ -0,0 +1,25 @@
+package com.drmp.cases.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 案件扩展字段转换器
+ * 读取时不解码，写入时按drmp.case.storage.compact-json配置选择紧凑格式或JSON文本
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Converter(autoApply = true)
+public class CompactJsonConverter implements AttributeConverter<CompactJson, byte[]> {
+    
+    @Override
+    public byte[] convertToDatabaseColumn(CompactJson attribute) {
+        return attribute == null ? null : attribute.toColumn();
+    }
+    
+    @Override
+    public CompactJson convertToEntityAttribute(byte[] dbData) {
+        return CompactJson.fromColumn(dbData);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 案件导出文件格式
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CaseExportFormat {
+    
+    CSV("csv", "text/csv;charset=UTF-8"),
+    
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    
+    private final String extension;
+    
+    private final String contentType;
+    
+    /**
+     * 按扩展名解析，不区分大小写
+     */
+    public static CaseExportFormat of(String extension) {
+        for (CaseExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new BusinessException(ErrorCode.UNSUPPORTED_FILE_TYPE);
+    }
+}
\ No newline at end of file
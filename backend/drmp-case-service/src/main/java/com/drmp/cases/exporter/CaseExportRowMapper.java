@@ -0,0 +1,128 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.common.util.EncryptUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 导出文件行映射器
+ * 前12列与导入模板的列名、顺序一致，导出文件可直接作为导入文件使用；
+ * 敏感字段默认使用入库时保存的脱敏值，明文导出时按列批量解密
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public final class CaseExportRowMapper {
+    
+    public static final List<String> HEADER = List.of(
+        "借据编号", "身份证号", "客户姓名", "手机号", "借款项目/产品线", "贷款金额", "剩余应还金额",
+        "逾期天数", "委托方", "委托开始时间", "委托到期时间", "资方名称",
+        "案件ID", "案件包ID", "案件状态", "处置机构ID", "分案时间", "累计回款金额", "回款率", "创建时间");
+    
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private CaseExportRowMapper() {
+    }
+    
+    /**
+     * 将一批案件映射为导出行
+     * 
+     * @param plaintext true时导出解密后的敏感字段，否则导出脱敏值
+     */
+    public static List<List<Object>> toRows(List<Case> cases, boolean plaintext) {
+        int size = cases.size();
+        String[] idCards = new String[size];
+        String[] names = new String[size];
+        String[] phones = new String[size];
+        if (plaintext) {
+            EncryptUtils.decryptAll(column(cases, Case::getDebtorIdCard)).toArray(idCards);
+            EncryptUtils.decryptAll(column(cases, Case::getDebtorName)).toArray(names);
+            EncryptUtils.decryptAll(column(cases, Case::getDebtorPhone)).toArray(phones);
+        } else {
+            fillMasked(cases, idCards, names, phones);
+        }
+        
+        List<List<Object>> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(toRow(cases.get(i), idCards[i], names[i], phones[i]));
+        }
+        return rows;
+    }
+    
+    /**
+     * 使用入库时保存的脱敏值；尚未保存脱敏值的历史数据按列批量解密后再脱敏
+     */
+    private static void fillMasked(List<Case> cases, String[] idCards, String[] names, String[] phones) {
+        List<Integer> unmasked = new ArrayList<>();
+        for (int i = 0; i < cases.size(); i++) {
+            Case c = cases.get(i);
+            if (c.getDebtorIdCardMasked() != null && c.getDebtorNameMasked() != null
+                    && c.getDebtorPhoneMasked() != null) {
+                idCards[i] = c.getDebtorIdCardMasked();
+                names[i] = c.getDebtorNameMasked();
+                phones[i] = c.getDebtorPhoneMasked();
+            } else {
+                unmasked.add(i);
+            }
+        }
+        if (unmasked.isEmpty()) {
+            return;
+        }
+        
+        List<Case> legacyCases = new ArrayList<>(unmasked.size());
+        for (Integer index : unmasked) {
+            legacyCases.add(cases.get(index));
+        }
+        List<String> legacyIdCards = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorIdCard));
+        List<String> legacyNames = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorName));
+        List<String> legacyPhones = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorPhone));
+        for (int i = 0; i < unmasked.size(); i++) {
+            int index = unmasked.get(i);
+            idCards[index] = EncryptUtils.maskIdCard(legacyIdCards.get(i));
+            names[index] = EncryptUtils.maskName(legacyNames.get(i));
+            phones[index] = EncryptUtils.maskPhone(legacyPhones.get(i));
+        }
+    }
+    
+    private static List<Object> toRow(Case c, String idCard, String name, String phone) {
+        return Arrays.asList(
+            c.getReceiptNumber(),
+            idCard,
+            name,
+            phone,
+            c.getLoanProduct(),
+            c.getLoanAmount(),
+            c.getRemainingAmount(),
+            c.getOverdueDays(),
+            c.getConsigner(),
+            c.getConsignStartDate() != null ? c.getConsignStartDate().toString() : null,
+            c.getConsignEndDate() != null ? c.getConsignEndDate().toString() : null,
+            c.getFundProvider(),
+            c.getId(),
+            c.getCasePackageId(),
+            c.getCurrentStatus() != null ? c.getCurrentStatus().getDescription() : null,
+            c.getAssignedOrgId(),
+            format(c.getAssignedAt()),
+            c.getTotalRecovered(),
+            c.getRecoveryRate(),
+            format(c.getCreateTime()));
+    }
+    
+    private static String format(LocalDateTime value) {
+        return value != null ? value.format(DATE_TIME_FORMATTER) : null;
+    }
+    
+    private static List<String> column(List<Case> cases, Function<Case, String> getter) {
+        List<String> values = new ArrayList<>(cases.size());
+        for (Case c : cases) {
+            values.add(getter.apply(c));
+        }
+        return values;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.drmp.cases.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 案件导出文件写入器
+ * 逐行写入输出流，不在内存中缓存已写出的行，导出任意行数占用的内存相同
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public interface CaseExportWriter {
+    
+    /**
+     * 写入的文件格式
+     */
+    CaseExportFormat getFormat();
+    
+    /**
+     * 开始写入并写出表头
+     * 
+     * @param out    输出流（由调用方负责关闭）
+     * @param header 表头
+     */
+    RowWriter open(OutputStream out, List<String> header) throws IOException;
+    
+    /**
+     * 按行写入，close时写出文件结尾并刷新，不关闭输出流
+     */
+    interface RowWriter extends Closeable {
+        
+        /**
+         * 写入一行，数值（Number）按数值单元格写出，其他值按字符串写出，null为空单元格
+         */
+        void writeRow(List<?> cells) throws IOException;
+    }
+}
\ No newline at end of file
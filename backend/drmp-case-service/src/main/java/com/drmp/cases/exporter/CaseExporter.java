@@ -0,0 +1,104 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.repository.CaseExportRepository;
+import com.drmp.common.enums.CaseStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 案件导出
+ * 数据库游标 -> 分块脱敏/解密 -> 文件写入器 -> 响应输出流，全程只持有一个分块的案件，
+ * 导出100万行与导出100行占用的堆内存相同。导出期间占用一个数据库连接，并发数由调用方通过CaseStreamPermits限制
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CaseExporter {
+    
+    /**
+     * 每次批量脱敏/解密并写出的行数
+     */
+    private static final int CHUNK_SIZE = 500;
+    
+    private final CaseExportRepository caseExportRepository;
+    private final Map<CaseExportFormat, CaseExportWriter> writers = new EnumMap<>(CaseExportFormat.class);
+    private final int fetchSize;
+    
+    public CaseExporter(CaseExportRepository caseExportRepository, List<CaseExportWriter> writers,
+                        @Value("${drmp.case.export.fetch-size:1000}") int fetchSize) {
+        this.caseExportRepository = caseExportRepository;
+        for (CaseExportWriter writer : writers) {
+            this.writers.put(writer.getFormat(), writer);
+        }
+        // 启动时校验每种格式都有写入器，导出写出后才发现缺失时已无法返回错误
+        for (CaseExportFormat format : CaseExportFormat.values()) {
+            if (!this.writers.containsKey(format)) {
+                throw new IllegalStateException("缺少案件导出写入器: " + format);
+            }
+        }
+        this.fetchSize = fetchSize;
+    }
+    
+    /**
+     * 按条件将案件写出到输出流，由调用方控制并发许可
+     * 
+     * @param plaintext true时导出解密后的敏感字段
+     */
+    public void export(CaseExportFormat format, Long casePackageId, CaseStatus status,
+                       Long assignedOrgId, boolean plaintext, OutputStream out) throws IOException {
+        write(writers.get(format), out, casePackageId, status, assignedOrgId, plaintext);
+    }
+    
+    private void write(CaseExportWriter writer, OutputStream out, Long casePackageId, CaseStatus status,
+                       Long assignedOrgId, boolean plaintext) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long[] count = {0};
+        List<Case> chunk = new ArrayList<>(CHUNK_SIZE);
+        CaseExportWriter.RowWriter rows = writer.open(out, CaseExportRowMapper.HEADER);
+        try {
+            caseExportRepository.stream(casePackageId, status, assignedOrgId, fetchSize, c -> {
+                chunk.add(c);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(rows, chunk, plaintext);
+                    count[0] += CHUNK_SIZE;
+                }
+            });
+            count[0] += chunk.size();
+            writeChunk(rows, chunk, plaintext);
+        } catch (UncheckedIOException e) {
+            // 客户端断开等写出异常，原样抛出以便容器按连接中断处理
+            throw e.getCause();
+        }
+        // 全部写出后才写文件结尾，中途失败时不会生成一个看似完整的文件
+        rows.close();
+        log.info("案件导出完成: format={}, casePackageId={}, status={}, assignedOrgId={}, plaintext={}, rows={}, 耗时={}ms",
+            writer.getFormat(), casePackageId, status, assignedOrgId, plaintext, count[0],
+            System.currentTimeMillis() - startTime);
+    }
+    
+    private static void writeChunk(CaseExportWriter.RowWriter rows, List<Case> chunk, boolean plaintext) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            for (List<Object> row : CaseExportRowMapper.toRows(chunk, plaintext)) {
+                rows.writeRow(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 流式响应并发许可
+ * 案件导出与流式列表在写出期间各占用一个数据库连接，共用同一组许可限制并发数。
+ * 许可在响应体开始写出时获取、写出结束（含异常）时释放，响应体未执行（请求在写出前取消或超时）时不占用许可
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Component
+public class CaseStreamPermits {
+    
+    private final Semaphore permits;
+    
+    public CaseStreamPermits(@Value("${drmp.case.export.max-concurrent:2}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+    }
+    
+    /**
+     * 包装响应体，使其在许可内执行；创建时许可已用尽则立即拒绝，不排队。
+     * 创建与执行之间许可被其他请求占满时，在执行时以同样的错误拒绝，此时尚未写出任何内容
+     */
+    public StreamingResponseBody limit(StreamingResponseBody body) {
+        if (permits.availablePermits() == 0) {
+            throw new BusinessException(ErrorCode.CASE_EXPORT_BUSY);
+        }
+        return out -> {
+            if (!permits.tryAcquire()) {
+                throw new BusinessException(ErrorCode.CASE_EXPORT_BUSY);
+            }
+            try {
+                body.writeTo(out);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
\ No newline at end of file
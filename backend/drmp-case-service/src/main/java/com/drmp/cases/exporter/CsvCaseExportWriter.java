@@ -0,0 +1,68 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.common.util.CsvUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV导出写入器
+ * UTF-8编码并带BOM，以便Excel正确识别；以=、+、-、@开头的文本前加单引号，防止被Excel当作公式执行
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Component
+public class CsvCaseExportWriter implements CaseExportWriter {
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    @Override
+    public CaseExportFormat getFormat() {
+        return CaseExportFormat.CSV;
+    }
+    
+    @Override
+    public RowWriter open(OutputStream out, List<String> header) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write('\uFEFF');
+        RowWriter rows = new RowWriter() {
+            
+            @Override
+            public void writeRow(List<?> cells) throws IOException {
+                for (int i = 0; i < cells.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCell(writer, cells.get(i));
+                }
+                writer.write("\r\n");
+            }
+            
+            @Override
+            public void close() throws IOException {
+                // 只刷新不关闭，输出流由调用方关闭
+                writer.flush();
+            }
+        };
+        rows.writeRow(header);
+        return rows;
+    }
+    
+    private static void writeCell(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            writer.write(value.toString());
+            return;
+        }
+        writer.write(CsvUtils.escape(value.toString()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.drmp.cases.exporter;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XLSX导出写入器
+ * 直接生成工作表XML并边写边压缩，单元格使用内联字符串，不需要共享字符串表，内存占用与行数无关。
+ * 单个工作表写满后自动续写到下一个工作表，工作簿与内容类型清单在结束时按实际工作表数写出
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Component
+public class XlsxCaseExportWriter implements CaseExportWriter {
+    
+    /**
+     * 工作表最大行号（Excel上限，含表头）
+     */
+    private static final int MAX_ROW_NUMBER = 1_048_576;
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    
+    @Override
+    public CaseExportFormat getFormat() {
+        return CaseExportFormat.XLSX;
+    }
+    
+    @Override
+    public RowWriter open(OutputStream out, List<String> header) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // 导出吞吐受压缩速度限制，使用最快压缩级别
+        zip.setLevel(Deflater.BEST_SPEED);
+        return new SheetRowWriter(zip, header);
+    }
+    
+    private static final class SheetRowWriter implements RowWriter {
+        
+        private final ZipOutputStream zip;
+        private final Writer writer;
+        private final List<String> header;
+        private int sheetCount;
+        private int rowNumber;
+        
+        private SheetRowWriter(ZipOutputStream zip, List<String> header) throws IOException {
+            this.zip = zip;
+            this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            this.header = header;
+            startSheet();
+        }
+        
+        @Override
+        public void writeRow(List<?> cells) throws IOException {
+            if (rowNumber > MAX_ROW_NUMBER) {
+                endSheet();
+                startSheet();
+            }
+            writeCells(cells);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            endSheet();
+            writeEntry("xl/workbook.xml", workbook());
+            writeEntry("xl/_rels/workbook.xml.rels", workbookRelationships());
+            writeEntry("_rels/.rels", XML_DECLARATION
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" "
+                + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" "
+                + "Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+            writeEntry("[Content_Types].xml", contentTypes());
+            // 只结束ZIP不关闭，输出流由调用方关闭
+            zip.finish();
+        }
+        
+        private void startSheet() throws IOException {
+            sheetCount++;
+            rowNumber = 1;
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+            writer.write(XML_DECLARATION
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+            writeCells(header);
+        }
+        
+        private void endSheet() throws IOException {
+            writer.write("</sheetData></worksheet>");
+            // 只刷新不关闭，关闭Writer会关闭整个ZIP输出流
+            writer.flush();
+            zip.closeEntry();
+        }
+        
+        private void writeCells(List<?> cells) throws IOException {
+            writer.write("<row r=\"");
+            writer.write(Integer.toString(rowNumber++));
+            writer.write("\">");
+            for (Object cell : cells) {
+                if (cell == null) {
+                    writer.write("<c/>");
+                } else if (cell instanceof Number) {
+                    writer.write("<c><v>");
+                    writer.write(cell.toString());
+                    writer.write("</v></c>");
+                } else {
+                    writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                    writeEscaped(writer, cell.toString());
+                    writer.write("</t></is></c>");
+                }
+            }
+            writer.write("</row>");
+        }
+        
+        private String workbook() {
+            StringBuilder sheets = new StringBuilder();
+            for (int i = 1; i <= sheetCount; i++) {
+                sheets.append("<sheet name=\"案件").append(i > 1 ? "_" + i : "")
+                    .append("\" sheetId=\"").append(i).append("\" r:id=\"rId").append(i).append("\"/>");
+            }
+            return XML_DECLARATION
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets>" + sheets + "</sheets>"
+                + "</workbook>";
+        }
+        
+        private String workbookRelationships() {
+            StringBuilder relationships = new StringBuilder();
+            for (int i = 1; i <= sheetCount; i++) {
+                relationships.append("<Relationship Id=\"rId").append(i).append("\" ")
+                    .append("Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" ")
+                    .append("Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+            }
+            return XML_DECLARATION
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + relationships
+                + "</Relationships>";
+        }
+        
+        private String contentTypes() {
+            StringBuilder overrides = new StringBuilder();
+            for (int i = 1; i <= sheetCount; i++) {
+                overrides.append("<Override PartName=\"/xl/worksheets/sheet").append(i).append(".xml\" ")
+                    .append("ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            }
+            return XML_DECLARATION
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + overrides
+                + "</Types>";
+        }
+        
+        private void writeEntry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+    
+    /**
+     * 转义XML特殊字符，并去掉XML 1.0不允许出现的控制字符
+     */
+    private static void writeEscaped(Writer writer, String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c == '&') {
+                replacement = "&amp;";
+            } else if (c == '<') {
+                replacement = "&lt;";
+            } else if (c == '>') {
+                replacement = "&gt;";
+            } else if ((c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == 0xFFFE || c == 0xFFFF) {
+                replacement = "";
+            } else {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        writer.write(value, start, value.length() - start);
+    }
+}
\ No newline at end of file
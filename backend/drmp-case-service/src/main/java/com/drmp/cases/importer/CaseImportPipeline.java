@@ -0,0 +1,202 @@
+package com.drmp.cases.importer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 分阶段导入流水线
+ * 解析在调用线程上执行，其余各阶段各占用线程池中的一个线程，阶段之间通过有界队列衔接：
+ * 下游处理慢时上游在队列上阻塞（背压），解析下一块与写入当前块可以重叠进行。
+ * 每个阶段单线程按顺序处理，数据块的先后顺序保持不变。
+ * 线程池无可用线程时释放已占用的线程并等待重试，各阶段线程全部就绪后才开始解析，
+ * 不会在解析回调中直接执行写入
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class CaseImportPipeline {
+    
+    /**
+     * 队列结束标记
+     */
+    private static final ImportChunk END = new ImportChunk(-1, List.of());
+    
+    /**
+     * 等待线程池空出线程的最长时间及重试间隔上限
+     */
+    private static final long MAX_START_WAIT_MILLIS = 5 * 60 * 1000L;
+    private static final long MAX_RETRY_INTERVAL_MILLIS = 2000L;
+    
+    private final Executor executor;
+    private final int queueCapacity;
+    private final Map<String, Consumer<ImportChunk>> stages = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> stageNanos = new LinkedHashMap<>();
+    
+    private volatile RuntimeException failure;
+    
+    public CaseImportPipeline(Executor executor, int queueCapacity) {
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+    
+    /**
+     * 追加一个处理阶段，按添加顺序执行
+     */
+    public CaseImportPipeline stage(String name, Consumer<ImportChunk> stage) {
+        stages.put(name, stage);
+        stageNanos.put(name, new AtomicLong());
+        return this;
+    }
+    
+    /**
+     * 运行流水线，直到所有数据块处理完毕；任一阶段失败时停止解析并抛出该异常
+     * 
+     * @param source 数据源，在调用线程上执行，将解析出的数据块交给回调
+     */
+    public void run(Consumer<Consumer<ImportChunk>> source) {
+        List<BlockingQueue<ImportChunk>> queues = new ArrayList<>(stages.size());
+        List<CompletableFuture<Void>> workers = startWorkers(queues);
+        
+        try {
+            source.accept(chunk -> {
+                if (failure != null) {
+                    throw failure;
+                }
+                put(queues.get(0), chunk);
+            });
+        } catch (RuntimeException e) {
+            fail(e);
+        } finally {
+            put(queues.get(0), END);
+        }
+        
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * 各阶段累计耗时（毫秒）
+     */
+    public Map<String, Long> getStageMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        stageNanos.forEach((name, nanos) -> millis.put(name, nanos.get() / 1_000_000));
+        return millis;
+    }
+    
+    private void work(String name, BlockingQueue<ImportChunk> input, BlockingQueue<ImportChunk> output) {
+        Consumer<ImportChunk> stage = stages.get(name);
+        while (true) {
+            ImportChunk chunk = take(input);
+            if (chunk == END) {
+                if (output != null) {
+                    put(output, END);
+                }
+                return;
+            }
+            // 已失败时继续取出数据块但不再处理，避免上游阻塞在已满的队列上
+            if (failure != null) {
+                continue;
+            }
+            try {
+                process(name, stage, chunk);
+                if (output != null) {
+                    put(output, chunk);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+    
+    /**
+     * 为每个阶段启动一个工作线程；线程池已满时结束已启动的线程，等待后整体重试，
+     * 避免多个导入各自占用部分线程而互相等待
+     */
+    private List<CompletableFuture<Void>> startWorkers(List<BlockingQueue<ImportChunk>> queues) {
+        List<String> names = new ArrayList<>(stages.keySet());
+        long deadline = System.currentTimeMillis() + MAX_START_WAIT_MILLIS;
+        long interval = 100L;
+        while (true) {
+            queues.clear();
+            for (int i = 0; i < names.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+            
+            List<CompletableFuture<Void>> workers = new ArrayList<>(names.size());
+            try {
+                for (int i = 0; i < names.size(); i++) {
+                    BlockingQueue<ImportChunk> input = queues.get(i);
+                    BlockingQueue<ImportChunk> output = i + 1 < queues.size() ? queues.get(i + 1) : null;
+                    String name = names.get(i);
+                    workers.add(CompletableFuture.runAsync(() -> work(name, input, output), executor));
+                }
+                return workers;
+            } catch (RejectedExecutionException e) {
+                put(queues.get(0), END);
+                CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                log.warn("导入线程池无可用线程，{}ms后重试: stages={}", interval, names);
+                sleep(interval);
+                interval = Math.min(interval * 2, MAX_RETRY_INTERVAL_MILLIS);
+            }
+        }
+    }
+    
+    private void process(String name, Consumer<ImportChunk> stage, ImportChunk chunk) {
+        long start = System.nanoTime();
+        try {
+            stage.accept(chunk);
+        } finally {
+            stageNanos.get(name).addAndGet(System.nanoTime() - start);
+        }
+    }
+    
+    private synchronized void fail(RuntimeException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+    
+    private static void put(BlockingQueue<ImportChunk> queue, ImportChunk chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导入流水线被中断", e);
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导入流水线被中断", e);
+        }
+    }
+    
+    private static ImportChunk take(BlockingQueue<ImportChunk> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导入流水线被中断", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 案件导入文件读取器
+ * 以流式方式逐行读取导入文件，按固定大小分块回调，避免整个文件驻留内存
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public interface CaseImportReader {
+    
+    /**
+     * 是否支持该文件
+     */
+    boolean supports(String fileName);
+    
+    /**
+     * 流式读取导入文件
+     * 
+     * @param in           文件输入流（由调用方负责关闭）
+     * @param chunkSize    每块记录数
+     * @param chunkHandler 分块处理回调，回调返回后该块不再被读取器引用
+     * @return 读取的数据行总数（不含表头）
+     */
+    int read(InputStream in, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) throws IOException;
+    
+    /**
+     * 估算文件中的数据行数（不含表头），用于计算导入进度；无法估算时返回-1
+     */
+    default int estimateRows(Path file) throws IOException {
+        return -1;
+    }
+    
+    /**
+     * 流式读取本地导入文件，需要随机访问的格式（如XLSX）可覆盖此方法
+     */
+    default int read(Path file, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, chunkSize, chunkHandler);
+        }
+    }
+}
\ No newline at end of file
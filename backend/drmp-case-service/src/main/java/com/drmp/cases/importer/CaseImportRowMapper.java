@@ -0,0 +1,262 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 导入文件行映射器
+ * 根据表头（PRD数据字典中的中文列名）将一行单元格映射为CaseImportDTO，
+ * 表头只解析一次，之后每行按列下标直接取值
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class CaseImportRowMapper {
+    
+    /**
+     * 必填列：列名 -> 字段
+     */
+    private static final Map<String, Field> REQUIRED_COLUMNS = new HashMap<>();
+    
+    /**
+     * 债务人信息列（其余非必填列归入债务信息）
+     */
+    private static final Set<String> DEBTOR_COLUMNS = Set.of(
+        "性别", "学历", "民族", "婚姻", "户籍所在省", "户籍所在市", "户籍详细地址",
+        "现居省", "现居市", "现居地址", "单位名称", "职务", "入职时间", "单位电话",
+        "单位所在省", "单位所在市", "单位地址", "债务人编号");
+    
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
+        DateTimeFormatter.ofPattern("yyyy-M-d"),
+        DateTimeFormatter.ofPattern("yyyy/M/d"),
+        DateTimeFormatter.ofPattern("yyyy.M.d"),
+        DateTimeFormatter.ofPattern("yyyyMMdd"));
+    
+    /**
+     * Excel日期序列号的起点（1900日期系统）
+     */
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    
+    static {
+        REQUIRED_COLUMNS.put("借据编号", Field.RECEIPT_NUMBER);
+        REQUIRED_COLUMNS.put("身份证号", Field.DEBTOR_ID_CARD);
+        REQUIRED_COLUMNS.put("客户姓名", Field.DEBTOR_NAME);
+        REQUIRED_COLUMNS.put("手机号", Field.DEBTOR_PHONE);
+        REQUIRED_COLUMNS.put("借款项目/产品线", Field.LOAN_PRODUCT);
+        REQUIRED_COLUMNS.put("借款项目", Field.LOAN_PRODUCT);
+        REQUIRED_COLUMNS.put("产品线", Field.LOAN_PRODUCT);
+        REQUIRED_COLUMNS.put("贷款金额", Field.LOAN_AMOUNT);
+        REQUIRED_COLUMNS.put("剩余应还金额", Field.REMAINING_AMOUNT);
+        REQUIRED_COLUMNS.put("逾期天数", Field.OVERDUE_DAYS);
+        REQUIRED_COLUMNS.put("委托方", Field.CONSIGNER);
+        REQUIRED_COLUMNS.put("委托开始时间", Field.CONSIGN_START_DATE);
+        REQUIRED_COLUMNS.put("委托到期时间", Field.CONSIGN_END_DATE);
+        REQUIRED_COLUMNS.put("资方名称", Field.FUND_PROVIDER);
+    }
+    
+    private final Field[] fields;
+    private final String[] names;
+    
+    private CaseImportRowMapper(Field[] fields, String[] names) {
+        this.fields = fields;
+        this.names = names;
+    }
+    
+    /**
+     * 根据表头创建映射器
+     */
+    public static CaseImportRowMapper forHeader(List<String> header) {
+        Field[] fields = new Field[header.size()];
+        String[] names = new String[header.size()];
+        Set<Field> present = new HashSet<>();
+        
+        for (int i = 0; i < header.size(); i++) {
+            String name = normalizeHeader(header.get(i));
+            names[i] = name;
+            if (name.isEmpty()) {
+                fields[i] = Field.IGNORED;
+            } else if (REQUIRED_COLUMNS.containsKey(name)) {
+                fields[i] = REQUIRED_COLUMNS.get(name);
+                present.add(fields[i]);
+            } else if (name.startsWith("自定义字段")) {
+                fields[i] = Field.CUSTOM;
+            } else if (name.startsWith("联系人") || name.startsWith("与联系人")) {
+                fields[i] = Field.CONTACT;
+            } else if (DEBTOR_COLUMNS.contains(name)) {
+                fields[i] = Field.DEBTOR;
+            } else {
+                fields[i] = Field.DEBT;
+            }
+        }
+        
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Field> entry : REQUIRED_COLUMNS.entrySet()) {
+            if (!present.contains(entry.getValue()) && !missing.contains(entry.getValue().label)) {
+                missing.add(entry.getValue().label);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BusinessException(ErrorCode.IMPORT_FILE_FORMAT_ERROR,
+                "导入文件缺少必填列: " + String.join(",", missing));
+        }
+        
+        return new CaseImportRowMapper(fields, names);
+    }
+    
+    /**
+     * 将一行单元格映射为导入DTO
+     * 
+     * @param cells     单元格值，缺失的单元格可为null或不足列数
+     * @param rowNumber 文件中的行号（表头为第1行）
+     */
+    public CaseImportDTO map(List<String> cells, int rowNumber) {
+        CaseImportDTO dto = new CaseImportDTO();
+        dto.setRowNumber(rowNumber);
+        
+        int count = Math.min(cells.size(), fields.length);
+        for (int i = 0; i < count; i++) {
+            String value = trimToNull(cells.get(i));
+            if (value == null) {
+                continue;
+            }
+            switch (fields[i]) {
+                case RECEIPT_NUMBER -> dto.setReceiptNumber(value);
+                case DEBTOR_ID_CARD -> dto.setDebtorIdCard(value.toUpperCase());
+                case DEBTOR_NAME -> dto.setDebtorName(value);
+                case DEBTOR_PHONE -> dto.setDebtorPhone(value);
+                case LOAN_PRODUCT -> dto.setLoanProduct(value);
+                case LOAN_AMOUNT -> dto.setLoanAmount(parseDecimal(dto, fields[i], value));
+                case REMAINING_AMOUNT -> dto.setRemainingAmount(parseDecimal(dto, fields[i], value));
+                case OVERDUE_DAYS -> dto.setOverdueDays(parseInteger(dto, fields[i], value));
+                case CONSIGNER -> dto.setConsigner(value);
+                case CONSIGN_START_DATE -> dto.setConsignStartDate(parseDate(dto, fields[i], value));
+                case CONSIGN_END_DATE -> dto.setConsignEndDate(parseDate(dto, fields[i], value));
+                case FUND_PROVIDER -> dto.setFundProvider(value);
+                case DEBT -> dto.setDebtField(names[i], value);
+                case DEBTOR -> dto.setDebtorField(names[i], value);
+                case CONTACT -> dto.setContactField(names[i], value);
+                case CUSTOM -> dto.setCustomField(names[i], value);
+                default -> { }
+            }
+        }
+        return dto;
+    }
+    
+    /**
+     * 判断一行是否全部为空
+     */
+    public static boolean isBlankRow(List<String> cells) {
+        for (String cell : cells) {
+            if (trimToNull(cell) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static String normalizeHeader(String header) {
+        if (header == null) {
+            return "";
+        }
+        String name = header.replace("\uFEFF", "").trim();
+        // 数据字典中以*标记的“建议填”列
+        while (name.startsWith("*")) {
+            name = name.substring(1).trim();
+        }
+        return name;
+    }
+    
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+    
+    private static BigDecimal parseDecimal(CaseImportDTO dto, Field field, String value) {
+        try {
+            return new BigDecimal(value.replace(",", "").replace("¥", ""));
+        } catch (NumberFormatException e) {
+            dto.addError(field.label + "格式不正确");
+            return null;
+        }
+    }
+    
+    private static Integer parseInteger(CaseImportDTO dto, Field field, String value) {
+        try {
+            return new BigDecimal(value.replace(",", "")).stripTrailingZeros().intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            dto.addError(field.label + "格式不正确");
+            return null;
+        }
+    }
+    
+    private static LocalDate parseDate(CaseImportDTO dto, Field field, String value) {
+        // 带时间部分的值只取日期
+        String date = value.length() > 10 && value.charAt(10) == ' ' ? value.substring(0, 10) : value;
+        
+        // Excel日期单元格以序列号存储
+        if (date.length() <= 5 || (date.indexOf('.') > 0 && date.indexOf('.') <= 5)) {
+            try {
+                double serial = Double.parseDouble(date);
+                if (serial >= 1 && serial < 100000) {
+                    return EXCEL_EPOCH.plusDays((long) serial);
+                }
+            } catch (NumberFormatException ignored) {
+                // 按文本日期继续解析
+            }
+        }
+        
+        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+            try {
+                return LocalDate.parse(date, formatter);
+            } catch (DateTimeParseException ignored) {
+                // 尝试下一种格式
+            }
+        }
+        dto.addError(field.label + "格式不正确");
+        return null;
+    }
+    
+    /**
+     * 列对应的目标字段
+     */
+    private enum Field {
+        RECEIPT_NUMBER("借据编号"),
+        DEBTOR_ID_CARD("身份证号"),
+        DEBTOR_NAME("客户姓名"),
+        DEBTOR_PHONE("手机号"),
+        LOAN_PRODUCT("借款项目/产品线"),
+        LOAN_AMOUNT("贷款金额"),
+        REMAINING_AMOUNT("剩余应还金额"),
+        OVERDUE_DAYS("逾期天数"),
+        CONSIGNER("委托方"),
+        CONSIGN_START_DATE("委托开始时间"),
+        CONSIGN_END_DATE("委托到期时间"),
+        FUND_PROVIDER("资方名称"),
+        DEBT("债务信息"),
+        DEBTOR("债务人信息"),
+        CONTACT("联系人信息"),
+        CUSTOM("自定义字段"),
+        IGNORED("");
+        
+        private final String label;
+        
+        Field(String label) {
+            this.label = label;
+        }
+    }
+}
\ No newline at end of file
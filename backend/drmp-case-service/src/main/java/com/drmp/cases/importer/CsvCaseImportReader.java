@@ -0,0 +1,231 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * CSV导入文件流式读取器
+ * 支持UTF-8（含BOM）与GBK编码、双引号包裹字段（含转义引号与字段内换行），
+ * 任意时刻内存中只保留当前块的数据
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class CsvCaseImportReader implements CaseImportReader {
+    
+    /**
+     * 编码探测采样字节数
+     */
+    private static final int SNIFF_SIZE = 64 * 1024;
+    
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * GB18030兼容GBK，可正确解码GBK文件中的生僻字
+     */
+    private static final Charset GBK = Charset.forName("GB18030");
+    
+    @Override
+    public boolean supports(String fileName) {
+        return fileName != null && fileName.toLowerCase().endsWith(".csv");
+    }
+    
+    @Override
+    public int read(InputStream in, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) throws IOException {
+        BufferedInputStream input = new BufferedInputStream(in, READ_BUFFER_SIZE);
+        Charset charset = detectCharset(input);
+        log.debug("CSV文件编码: {}", charset);
+        
+        CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(input, charset));
+        
+        CaseImportRowMapper mapper = null;
+        List<CaseImportDTO> chunk = new ArrayList<>(chunkSize);
+        int total = 0;
+        List<String> cells;
+        while ((cells = tokenizer.nextRow()) != null) {
+            if (CaseImportRowMapper.isBlankRow(cells)) {
+                continue;
+            }
+            if (mapper == null) {
+                mapper = CaseImportRowMapper.forHeader(cells);
+                continue;
+            }
+            
+            chunk.add(mapper.map(cells, tokenizer.getRowStartLine()));
+            total++;
+            if (chunk.size() >= chunkSize) {
+                chunkHandler.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkHandler.accept(chunk);
+        }
+        return total;
+    }
+    
+    /**
+     * 按换行符计数估算行数，字段内换行会使结果略大，仅用于进度计算
+     */
+    @Override
+    public int estimateRows(Path file) throws IOException {
+        int lines = 0;
+        boolean pending = false;
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                        pending = false;
+                    } else {
+                        pending = true;
+                    }
+                }
+            }
+        }
+        // 最后一行可能没有换行符；扣除表头
+        return Math.max(lines + (pending ? 1 : 0) - 1, 0);
+    }
+    
+    /**
+     * 探测文件编码：BOM优先，否则按UTF-8严格解码采样，失败则视为GBK
+     */
+    private Charset detectCharset(BufferedInputStream input) throws IOException {
+        input.mark(SNIFF_SIZE);
+        byte[] sample = input.readNBytes(SNIFF_SIZE);
+        input.reset();
+        
+        if (sample.length >= 3 && (sample[0] & 0xFF) == 0xEF && (sample[1] & 0xFF) == 0xBB
+                && (sample[2] & 0xFF) == 0xBF) {
+            input.skip(3);
+            return StandardCharsets.UTF_8;
+        }
+        
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer out = CharBuffer.allocate(sample.length);
+        // 采样末尾可能截断多字节字符，因此不作为输入结束处理
+        CoderResult result = decoder.decode(ByteBuffer.wrap(sample), out, sample.length < SNIFF_SIZE);
+        return result.isError() ? GBK : StandardCharsets.UTF_8;
+    }
+    
+    /**
+     * RFC 4180风格的CSV分词器，逐字符扫描，不依赖按行读取
+     */
+    static class CsvTokenizer {
+        
+        private final Reader reader;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private int line = 1;
+        private int rowStartLine;
+        private final StringBuilder field = new StringBuilder();
+        
+        CsvTokenizer(Reader reader) {
+            this.reader = reader;
+        }
+        
+        /**
+         * 当前行在文件中的起始行号
+         */
+        int getRowStartLine() {
+            return rowStartLine;
+        }
+        
+        /**
+         * 读取下一行，文件结束时返回null
+         */
+        List<String> nextRow() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            rowStartLine = line;
+            List<String> row = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        // 引号未闭合，按已读内容结束该字段
+                        row.add(field.toString());
+                        return row;
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    row.add(field.toString());
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n' && next >= 0) {
+                            position--;
+                        }
+                    }
+                    if (c >= 0) {
+                        line++;
+                    }
+                    return row;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+        
+        private int read() throws IOException {
+            if (position >= limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+}
\ No newline at end of file
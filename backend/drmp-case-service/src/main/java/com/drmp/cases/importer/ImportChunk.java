@@ -0,0 +1,57 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.cases.entity.Case;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 导入流水线中流转的数据块
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Getter
+@Setter
+public class ImportChunk {
+    
+    /**
+     * 块内第一行在文件数据行中的偏移量（从0开始，不含表头）
+     */
+    private final int startRow;
+    
+    /**
+     * 解析出的全部数据行
+     */
+    private final List<CaseImportDTO> rows;
+    
+    /**
+     * 本次需要处理的行（断点之前已提交的行除外），校验阶段填充
+     */
+    private List<CaseImportDTO> pendingRows = Collections.emptyList();
+    
+    /**
+     * 校验通过的行，加密阶段填充
+     */
+    private List<CaseImportDTO> validRows = Collections.emptyList();
+    
+    /**
+     * 与validRows一一对应的待写入实体（敏感字段已加密），加密阶段填充
+     */
+    private List<Case> cases = Collections.emptyList();
+    
+    public ImportChunk(int startRow, List<CaseImportDTO> rows) {
+        this.startRow = startRow;
+        this.rows = rows;
+    }
+    
+    /**
+     * 块内最后一行之后的偏移量，即该块提交后的断点
+     */
+    public int getEndRow() {
+        return startRow + rows.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.common.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 导入错误报告
+ * 每个数据块的错误行写入案件包目录下以该块首个待写入行命名的gzip压缩CSV文件，导入结果中只保留前若干条样例。
+ * 错误文件在数据块事务提交前写入，先写临时文件再原子替换：数据块回滚后重试时覆盖同名文件，不会重复；
+ * 续传前删除断点及之后的文件，未提交数据块留下的错误行不会出现在报告中。
+ * 单元格按CsvUtils的规则转义，防止借据编号等文本被Excel当作公式执行
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ImportErrorReport {
+    
+    private static final String REPORT_DIR = "import-errors";
+    
+    private static final String CHUNK_SUFFIX = ".csv.gz";
+    
+    /**
+     * CSV表头，带BOM以便Excel按UTF-8打开
+     */
+    private static final String HEADER = "\uFEFF行号,借据编号,错误类型,错误信息\n";
+    
+    @Value("${drmp.case.file.upload-path:/tmp/drmp/uploads}")
+    private String uploadPath;
+    
+    /**
+     * 写入一个数据块的错误行，写入失败只记录日志，不影响导入
+     * 
+     * @param firstRow 数据块中首个待写入行的序号（即写入前的断点），同一数据块重试时覆盖此前写入的文件
+     */
+    public void append(Long casePackageId, int firstRow, List<BatchImportResult.ImportError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        Path dir = reportDir(casePackageId);
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, "chunk-", ".part");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                for (BatchImportResult.ImportError error : errors) {
+                    writer.write(error.getRowNumber() != null ? error.getRowNumber().toString() : "");
+                    writer.write(',');
+                    writer.write(CsvUtils.escape(error.getReceiptNumber()));
+                    writer.write(',');
+                    writer.write(CsvUtils.escape(error.getErrorType()));
+                    writer.write(',');
+                    writer.write(CsvUtils.escape(error.getErrorMessage()));
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp, dir.resolve(chunkFileName(firstRow)),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("写入导入错误报告失败: casePackageId={}, firstRow={}, error={}", casePackageId, firstRow, e.getMessage());
+            deleteQuietly(temp);
+        }
+    }
+    
+    /**
+     * 删除断点及之后的数据块错误文件，从断点续传前调用
+     */
+    public void discardFrom(Long casePackageId, int checkpoint) {
+        for (Path file : chunkFiles(casePackageId)) {
+            if (firstRowOf(file) >= checkpoint) {
+                deleteQuietly(file);
+            }
+        }
+    }
+    
+    /**
+     * 删除案件包的错误报告，开始新的导入时调用
+     */
+    public void delete(Long casePackageId) {
+        for (Path file : chunkFiles(casePackageId)) {
+            deleteQuietly(file);
+        }
+    }
+    
+    public boolean exists(Long casePackageId) {
+        return !chunkFiles(casePackageId).isEmpty();
+    }
+    
+    /**
+     * 按行序依次解压各数据块的错误文件，写出为一个CSV
+     */
+    public void writeCsv(Long casePackageId, OutputStream out) throws IOException {
+        out.write(HEADER.getBytes(StandardCharsets.UTF_8));
+        for (Path file : chunkFiles(casePackageId)) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                in.transferTo(out);
+            } catch (NoSuchFileException e) {
+                // 读取期间开始了新的导入
+                log.debug("导入错误文件已删除: {}", file);
+            }
+        }
+    }
+    
+    /**
+     * 案件包的数据块错误文件，按首行序号排序；不含未完成写入的临时文件
+     */
+    private List<Path> chunkFiles(Long casePackageId) {
+        Path dir = reportDir(casePackageId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(CHUNK_SUFFIX))
+                .sorted(Comparator.comparingInt(ImportErrorReport::firstRowOf))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn("读取导入错误报告目录失败: casePackageId={}, error={}", casePackageId, e.getMessage());
+            return List.of();
+        }
+    }
+    
+    private Path reportDir(Long casePackageId) {
+        return Paths.get(uploadPath, REPORT_DIR, casePackageId.toString());
+    }
+    
+    private static String chunkFileName(int firstRow) {
+        return firstRow + CHUNK_SUFFIX;
+    }
+    
+    private static int firstRowOf(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.length() - CHUNK_SUFFIX.length()));
+    }
+    
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入错误报告失败: {}, error={}", file, e.getMessage());
+        }
+    }
+}
\ No newline at end of file
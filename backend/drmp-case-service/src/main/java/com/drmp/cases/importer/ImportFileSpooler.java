@@ -0,0 +1,148 @@
+package com.drmp.cases.importer;
+
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 导入文件落盘
+ * 上传文件经通道传输写入上传目录，传输过程中同时计算SHA-256，不在堆中缓存整个文件；
+ * 每次上传写入独立的文件，不在案件包或导入之间共享，删除时无需判断其他引用；
+ * 相同内容的判重由调用方按数据库中记录的哈希进行。导入结束后由调用方删除
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ImportFileSpooler {
+    
+    /**
+     * 单次通道传输的最大字节数
+     */
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+    
+    /**
+     * 落盘文件名中保留的原始文件名最大长度
+     */
+    private static final int MAX_FILENAME_LENGTH = 100;
+    
+    /**
+     * 文件名中不允许出现的字符：路径分隔符、Windows保留字符及控制字符
+     */
+    private static final Pattern UNSAFE_FILENAME_CHARS = Pattern.compile("[\\\\/:*?\"<>|\\p{Cntrl}]");
+    
+    @Value("${drmp.case.file.upload-path:/tmp/drmp/uploads}")
+    private String uploadPath;
+    
+    /**
+     * 将上传文件写入上传目录
+     */
+    public SpooledFile spool(MultipartFile file) {
+        String originalFilename = safeFilename(file.getOriginalFilename());
+        Path temp = null;
+        try {
+            Path dir = Paths.get(uploadPath);
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, "upload-", ".part");
+            
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(file.getInputStream(), digest));
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = channel.transferFrom(source, size, TRANSFER_CHUNK_SIZE)) > 0) {
+                    size += transferred;
+                }
+            }
+            
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = dir.resolve(UUID.randomUUID() + "_" + originalFilename);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            
+            log.debug("上传文件已保存: fileName={}, size={}, sha256={}", originalFilename, size, sha256);
+            return new SpooledFile(target, originalFilename, sha256, size);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("保存上传文件失败: fileName={}", originalFilename, e);
+            deleteQuietly(temp);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+    
+    /**
+     * 删除已落盘的上传文件，导入到达最终状态后调用
+     */
+    public void delete(Path file) {
+        deleteQuietly(file);
+    }
+    
+    /**
+     * 只保留原始文件名的最后一段并替换不安全字符，文件名为空时使用默认名称
+     */
+    static String safeFilename(String originalFilename) {
+        if (originalFilename == null) {
+            return "upload";
+        }
+        String name = originalFilename.substring(Math.max(originalFilename.lastIndexOf('/'),
+            originalFilename.lastIndexOf('\\')) + 1);
+        name = UNSAFE_FILENAME_CHARS.matcher(name).replaceAll("_").trim();
+        if (name.isEmpty() || ".".equals(name) || "..".equals(name)) {
+            return "upload";
+        }
+        if (name.length() > MAX_FILENAME_LENGTH) {
+            name = name.substring(name.length() - MAX_FILENAME_LENGTH);
+        }
+        return name;
+    }
+    
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除上传文件失败: {}", file, e);
+        }
+    }
+    
+    /**
+     * 已落盘的上传文件
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SpooledFile {
+        
+        private final Path path;
+        
+        private final String originalFilename;
+        
+        private final String sha256;
+        
+        private final long size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import com.drmp.common.util.JsonUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 导入进度SSE推送
+ * 订阅ImportTaskRegistry发布的进度消息，向本节点上该任务的SSE连接推送变化的字段（progress事件），
+ * 任务结束时推送完整结果（summary事件）并关闭连接。导入可在任意节点执行
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportProgressStream implements MessageListener {
+    
+    private static final String EVENT_PROGRESS = "progress";
+    private static final String EVENT_SUMMARY = "summary";
+    
+    private final ImportTaskRegistry importTaskRegistry;
+    private final RedisMessageListenerContainer listenerContainer;
+    
+    /**
+     * 任务ID -> 本节点上的SSE连接
+     */
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    
+    /**
+     * 任务ID -> 最近一次推送的进度，用于计算增量
+     */
+    private final Map<String, Map<String, Object>> lastPushed = new ConcurrentHashMap<>();
+    
+    @Value("${drmp.case.import.progress-stream-timeout-minutes:30}")
+    private long streamTimeoutMinutes;
+    
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new PatternTopic(ImportTaskRegistry.PROGRESS_CHANNEL_PREFIX + "*"));
+    }
+    
+    /**
+     * 打开任务进度流：先推送当前进度，任务已结束时直接推送结果并关闭
+     */
+    public SseEmitter open(String taskId) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(streamTimeoutMinutes).toMillis());
+        List<SseEmitter> taskEmitters = emitters.computeIfAbsent(taskId, key -> new CopyOnWriteArrayList<>());
+        taskEmitters.add(emitter);
+        emitter.onCompletion(() -> remove(taskId, emitter));
+        emitter.onTimeout(() -> remove(taskId, emitter));
+        emitter.onError(e -> remove(taskId, emitter));
+        
+        // 先注册再读取当前进度，避免错过两者之间发布的结束消息
+        BatchImportResult current = importTaskRegistry.get(taskId);
+        if (current == null) {
+            remove(taskId, emitter);
+            throw new BusinessException(ErrorCode.IMPORT_TASK_NOT_FOUND);
+        }
+        if (isFinished(current.getStatus())) {
+            sendSummary(emitter, current);
+        } else {
+            send(emitter, EVENT_PROGRESS, ImportTaskRegistry.toFields(current));
+        }
+        return emitter;
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String taskId = channel.substring(ImportTaskRegistry.PROGRESS_CHANNEL_PREFIX.length());
+        List<SseEmitter> taskEmitters = emitters.get(taskId);
+        if (taskEmitters == null || taskEmitters.isEmpty()) {
+            return;
+        }
+        
+        Map<String, Object> fields = JsonUtils.parseJsonMap(new String(message.getBody(), StandardCharsets.UTF_8));
+        Object status = fields.get("status");
+        if (status != null && isFinished(BatchImportResult.ImportStatus.valueOf(status.toString()))) {
+            BatchImportResult summary = importTaskRegistry.get(taskId);
+            for (SseEmitter emitter : taskEmitters) {
+                sendSummary(emitter, summary);
+            }
+            lastPushed.remove(taskId);
+            return;
+        }
+        
+        Map<String, Object> delta = delta(taskId, fields);
+        if (!delta.isEmpty()) {
+            for (SseEmitter emitter : taskEmitters) {
+                send(emitter, EVENT_PROGRESS, delta);
+            }
+        }
+    }
+    
+    private Map<String, Object> delta(String taskId, Map<String, Object> fields) {
+        Map<String, Object> previous = lastPushed.put(taskId, fields);
+        if (previous == null) {
+            return fields;
+        }
+        Map<String, Object> delta = new HashMap<>();
+        fields.forEach((field, value) -> {
+            if (!Objects.equals(previous.get(field), value)) {
+                delta.put(field, value);
+            }
+        });
+        return delta;
+    }
+    
+    private void sendSummary(SseEmitter emitter, BatchImportResult summary) {
+        if (send(emitter, EVENT_SUMMARY, summary)) {
+            emitter.complete();
+        }
+    }
+    
+    private boolean send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            log.debug("推送导入进度失败: event={}, error={}", event, e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+    
+    private void remove(String taskId, SseEmitter emitter) {
+        emitters.computeIfPresent(taskId, (key, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+        if (!emitters.containsKey(taskId)) {
+            lastPushed.remove(taskId);
+        }
+    }
+    
+    private static boolean isFinished(BatchImportResult.ImportStatus status) {
+        return status == BatchImportResult.ImportStatus.SUCCESS
+            || status == BatchImportResult.ImportStatus.PARTIAL_SUCCESS
+            || status == BatchImportResult.ImportStatus.FAILED;
+    }
+}
\ No newline at end of file
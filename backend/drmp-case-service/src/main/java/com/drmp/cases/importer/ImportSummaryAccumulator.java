@@ -0,0 +1,108 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.common.util.JsonUtils;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 导入数据摘要累加器
+ * 在导入过程中逐行累计金额、逾期天数及分布，单次遍历得到ImportSummary，无需再扫描案件表。
+ * 累计状态（而非平均值）随导入断点一起持久化，断点续传时可继续累计
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Data
+public class ImportSummaryAccumulator {
+    
+    private long count;
+    
+    private BigDecimal totalLoanAmount = BigDecimal.ZERO;
+    
+    private long overdueCount;
+    
+    private long totalOverdueDays;
+    
+    private Integer minOverdueDays;
+    
+    private Integer maxOverdueDays;
+    
+    private Map<String, Integer> overdueDistribution = new HashMap<>();
+    
+    private Map<String, Integer> fundProviderDistribution = new HashMap<>();
+    
+    private Map<String, Integer> productDistribution = new HashMap<>();
+    
+    /**
+     * 从持久化的累计状态恢复，状态为空时返回空累加器
+     */
+    public static ImportSummaryAccumulator fromJson(String json) {
+        if (json == null || json.isEmpty()) {
+            return new ImportSummaryAccumulator();
+        }
+        ImportSummaryAccumulator accumulator = JsonUtils.parseJson(json, ImportSummaryAccumulator.class);
+        return accumulator != null ? accumulator : new ImportSummaryAccumulator();
+    }
+    
+    /**
+     * 累计一条已导入的数据
+     * 
+     * @param row          导入数据
+     * @param overdueLevel 该行的逾期等级
+     */
+    public void add(CaseImportDTO row, String overdueLevel) {
+        count++;
+        if (row.getLoanAmount() != null) {
+            totalLoanAmount = totalLoanAmount.add(row.getLoanAmount());
+        }
+        
+        Integer overdueDays = row.getOverdueDays();
+        if (overdueDays != null) {
+            overdueCount++;
+            totalOverdueDays += overdueDays;
+            minOverdueDays = minOverdueDays == null ? overdueDays : Math.min(minOverdueDays, overdueDays);
+            maxOverdueDays = maxOverdueDays == null ? overdueDays : Math.max(maxOverdueDays, overdueDays);
+        }
+        
+        increment(overdueDistribution, overdueLevel);
+        increment(fundProviderDistribution, row.getFundProvider());
+        increment(productDistribution, row.getLoanProduct());
+    }
+    
+    /**
+     * 序列化累计状态
+     */
+    public String toJson() {
+        return JsonUtils.toJsonString(this);
+    }
+    
+    /**
+     * 生成导入摘要
+     */
+    public BatchImportResult.ImportSummary toSummary() {
+        BatchImportResult.ImportSummary summary = new BatchImportResult.ImportSummary();
+        summary.setTotalLoanAmount(totalLoanAmount);
+        summary.setAvgLoanAmount(count > 0
+            ? totalLoanAmount.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO);
+        summary.setAvgOverdueDays(overdueCount > 0 ? (double) totalOverdueDays / overdueCount : null);
+        summary.setMinOverdueDays(minOverdueDays);
+        summary.setMaxOverdueDays(maxOverdueDays);
+        summary.setOverdueDistribution(new HashMap<>(overdueDistribution));
+        summary.setFundProviderDistribution(new HashMap<>(fundProviderDistribution));
+        summary.setProductDistribution(new HashMap<>(productDistribution));
+        return summary;
+    }
+    
+    private static void increment(Map<String, Integer> distribution, String key) {
+        if (key != null) {
+            distribution.merge(key, 1, Integer::sum);
+        }
+    }
+}
\ No newline at end of file
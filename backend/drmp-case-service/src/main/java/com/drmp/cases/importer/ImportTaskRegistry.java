@@ -0,0 +1,184 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.common.util.JsonUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 导入任务注册表
+ * 导入进度保存在Redis中，任意节点均可查询；任务记录按TTL自动过期。
+ * 进度以Hash存储，每次更新通过脚本同时写入字段并刷新过期时间；错误明细单独存入有界List
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportTaskRegistry {
+    
+    private static final String TASK_KEY_PREFIX = "case:import:task:";
+    private static final String ERRORS_KEY_SUFFIX = ":errors";
+    
+    /**
+     * 进度变更发布频道前缀，后接任务ID
+     */
+    public static final String PROGRESS_CHANNEL_PREFIX = "case:import:progress:";
+    
+    /**
+     * 写入Hash字段并刷新过期时间：KEYS[1]=任务key，ARGV[1]=TTL秒数，其后为字段/值对
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+        "return 1", Long.class);
+    
+    /**
+     * 追加错误明细并截断到上限：KEYS[1]=错误key，ARGV[1]=TTL秒数，ARGV[2]=上限，其后为错误JSON
+     */
+    private static final RedisScript<Long> APPEND_ERRORS_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) " +
+        "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+        "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+        "return 1", Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    
+    @Value("${drmp.case.import.task-ttl-hours:24}")
+    private long taskTtlHours;
+    
+    @Value("${drmp.case.import.max-error-count:100}")
+    private int maxErrorCount;
+    
+    /**
+     * 保存任务进度（不含错误明细），并发布进度变更
+     */
+    public void save(BatchImportResult result) {
+        Map<String, String> fields = toFields(result);
+        List<String> args = new ArrayList<>(fields.size() * 2 + 1);
+        args.add(String.valueOf(ttlSeconds()));
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(SAVE_SCRIPT, List.of(taskKey(result.getTaskId())), args.toArray());
+        redisTemplate.convertAndSend(PROGRESS_CHANNEL_PREFIX + result.getTaskId(), JsonUtils.toJsonString(fields));
+    }
+    
+    /**
+     * 追加错误明细，超过max-error-count的部分丢弃
+     */
+    public void appendErrors(String taskId, List<BatchImportResult.ImportError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(errors.size() + 2);
+        args.add(String.valueOf(ttlSeconds()));
+        args.add(String.valueOf(maxErrorCount));
+        for (BatchImportResult.ImportError error : errors) {
+            args.add(JsonUtils.toJsonString(error));
+        }
+        redisTemplate.execute(APPEND_ERRORS_SCRIPT, List.of(taskKey(taskId) + ERRORS_KEY_SUFFIX), args.toArray());
+    }
+    
+    /**
+     * 查询任务进度，任务不存在或已过期时返回null
+     */
+    public BatchImportResult get(String taskId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(taskKey(taskId));
+        if (fields.isEmpty()) {
+            return null;
+        }
+        
+        BatchImportResult result = new BatchImportResult();
+        result.setTaskId(taskId);
+        result.setFileName(string(fields, "fileName"));
+        result.setStatus(enumValue(string(fields, "status")));
+        result.setProgress(integer(fields, "progress"));
+        result.setTotalRecords(integer(fields, "totalRecords"));
+        result.setSuccessCount(integer(fields, "successCount"));
+        result.setFailureCount(integer(fields, "failureCount"));
+        result.setSkipCount(integer(fields, "skipCount"));
+        result.setStartTime(dateTime(fields, "startTime"));
+        result.setEndTime(dateTime(fields, "endTime"));
+        String duration = string(fields, "duration");
+        result.setDuration(duration != null ? Long.valueOf(duration) : null);
+        result.setErrorMessage(string(fields, "errorMessage"));
+        String summary = string(fields, "summary");
+        result.setSummary(summary != null ? JsonUtils.parseJson(summary, BatchImportResult.ImportSummary.class) : null);
+        
+        List<String> errors = redisTemplate.opsForList().range(taskKey(taskId) + ERRORS_KEY_SUFFIX, 0, -1);
+        List<BatchImportResult.ImportError> importErrors = new ArrayList<>();
+        if (errors != null) {
+            for (String error : errors) {
+                importErrors.add(JsonUtils.parseJson(error, BatchImportResult.ImportError.class));
+            }
+        }
+        result.setErrors(importErrors);
+        return result;
+    }
+    
+    /**
+     * 任务进度的紧凑表示（不含错误明细）
+     */
+    static Map<String, String> toFields(BatchImportResult result) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        put(fields, "fileName", result.getFileName());
+        put(fields, "status", result.getStatus() != null ? result.getStatus().name() : null);
+        put(fields, "progress", result.getProgress());
+        put(fields, "totalRecords", result.getTotalRecords());
+        put(fields, "successCount", result.getSuccessCount());
+        put(fields, "failureCount", result.getFailureCount());
+        put(fields, "skipCount", result.getSkipCount());
+        put(fields, "startTime", result.getStartTime());
+        put(fields, "endTime", result.getEndTime());
+        put(fields, "duration", result.getDuration());
+        put(fields, "errorMessage", result.getErrorMessage());
+        put(fields, "summary", result.getSummary() != null ? JsonUtils.toJsonString(result.getSummary()) : null);
+        return fields;
+    }
+    
+    private static void put(Map<String, String> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value.toString());
+        }
+    }
+    
+    private String string(Map<Object, Object> fields, String field) {
+        Object value = fields.get(field);
+        return value != null ? value.toString() : null;
+    }
+    
+    private Integer integer(Map<Object, Object> fields, String field) {
+        String value = string(fields, field);
+        return value != null ? Integer.valueOf(value) : null;
+    }
+    
+    private LocalDateTime dateTime(Map<Object, Object> fields, String field) {
+        String value = string(fields, field);
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+    
+    private BatchImportResult.ImportStatus enumValue(String value) {
+        return value != null ? BatchImportResult.ImportStatus.valueOf(value) : null;
+    }
+    
+    private long ttlSeconds() {
+        return Duration.ofHours(taskTtlHours).getSeconds();
+    }
+    
+    private String taskKey(String taskId) {
+        return TASK_KEY_PREFIX + taskId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.cases.dto.CaseImportDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 借据编号批量查重器
+ * 文件内重复通过哈希表判断，与库中已有数据的重复按批次使用IN查询判断，
+ * 不再逐行查询数据库。一次导入使用一个实例，以便跨分块识别文件内重复；
+ * 只登记通过校验的行，校验失败的行不会导致之后出现的同号有效行被判为重复
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class ReceiptNumberDuplicateChecker {
+    
+    /**
+     * 单条IN查询的参数个数上限
+     */
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    
+    /**
+     * 已存在借据编号查询：入参为待查编号，返回其中已存在的编号
+     */
+    private final Function<Collection<String>, Collection<String>> existingLookup;
+    
+    /**
+     * 文件中已出现的借据编号 -> 首次出现的行号
+     */
+    private final Map<String, Integer> seen = new HashMap<>();
+    
+    public ReceiptNumberDuplicateChecker(Function<Collection<String>, Collection<String>> existingLookup) {
+        this.existingLookup = existingLookup;
+    }
+    
+    /**
+     * 检查一批已校验的导入数据，重复的行标记为无效并记录错误类型；已校验失败的行不参与查重
+     */
+    public void check(List<CaseImportDTO> importData) {
+        Map<String, CaseImportDTO> candidates = new HashMap<>();
+        for (CaseImportDTO importDTO : importData) {
+            String receiptNumber = importDTO.getReceiptNumber();
+            if (receiptNumber == null || receiptNumber.isBlank() || Boolean.FALSE.equals(importDTO.getValid())) {
+                continue;
+            }
+            
+            Integer firstRow = seen.putIfAbsent(receiptNumber, importDTO.getRowNumber());
+            if (firstRow != null) {
+                importDTO.addError(BatchImportResult.ImportError.TYPE_DUPLICATE_IN_FILE,
+                    "借据编号在文件中重复（首次出现于第" + firstRow + "行）");
+            } else {
+                candidates.put(receiptNumber, importDTO);
+            }
+        }
+        
+        Set<String> existing = findExisting(candidates.keySet());
+        for (String receiptNumber : existing) {
+            CaseImportDTO importDTO = candidates.get(receiptNumber);
+            if (importDTO != null) {
+                importDTO.addError(BatchImportResult.ImportError.TYPE_ALREADY_EXISTS, "借据编号已存在");
+            }
+        }
+    }
+    
+    /**
+     * 登记已提交过的数据（断点续传时跳过的行），只用于识别之后的文件内重复。
+     * 跳过的行未重新校验，此前执行中通过校验的行已写入数据库，因此只登记库中已存在的借据编号
+     */
+    public void remember(List<CaseImportDTO> importData) {
+        Map<String, Integer> rows = new HashMap<>();
+        for (CaseImportDTO importDTO : importData) {
+            String receiptNumber = importDTO.getReceiptNumber();
+            if (receiptNumber != null && !receiptNumber.isBlank() && !seen.containsKey(receiptNumber)) {
+                rows.putIfAbsent(receiptNumber, importDTO.getRowNumber());
+            }
+        }
+        for (String receiptNumber : findExisting(rows.keySet())) {
+            seen.putIfAbsent(receiptNumber, rows.get(receiptNumber));
+        }
+    }
+    
+    private Set<String> findExisting(Collection<String> receiptNumbers) {
+        Set<String> existing = new HashSet<>();
+        List<String> batch = new ArrayList<>(LOOKUP_BATCH_SIZE);
+        for (String receiptNumber : receiptNumbers) {
+            batch.add(receiptNumber);
+            if (batch.size() >= LOOKUP_BATCH_SIZE) {
+                existing.addAll(existingLookup.apply(batch));
+                batch = new ArrayList<>(LOOKUP_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            existing.addAll(existingLookup.apply(batch));
+        }
+        return existing;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,413 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * XLSX导入文件流式读取器
+ * 基于SAX事件解析共享字符串表与工作表XML，逐行回调，不构建整个工作簿的DOM；
+ * 共享字符串表落盘到临时文件（XlsxSharedStrings），堆内只保留当前块的数据
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class XlsxCaseImportReader implements CaseImportReader {
+    
+    private static final String WORKBOOK = "xl/workbook.xml";
+    private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+    
+    /**
+     * 读到所需元素后提前终止SAX解析的标记
+     */
+    private static final String STOP_PARSING = "stop";
+    
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    
+    private final SAXParserFactory parserFactory;
+    
+    public XlsxCaseImportReader() {
+        parserFactory = SAXParserFactory.newInstance();
+        parserFactory.setNamespaceAware(true);
+        try {
+            // 禁止DTD，防止XXE
+            parserFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            parserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("初始化XML解析器失败", e);
+        }
+    }
+    
+    @Override
+    public boolean supports(String fileName) {
+        return fileName != null && fileName.toLowerCase().endsWith(".xlsx");
+    }
+    
+    @Override
+    public int read(Path file, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile()); XlsxSharedStrings sharedStrings = readSharedStrings(zip)) {
+            ZipEntry sheet = zip.getEntry(resolveFirstSheet(zip));
+            if (sheet == null) {
+                throw new BusinessException(ErrorCode.IMPORT_FILE_FORMAT_ERROR, "Excel文件中没有工作表");
+            }
+            
+            SheetHandler handler = new SheetHandler(sharedStrings, chunkSize, chunkHandler);
+            try (InputStream in = zip.getInputStream(sheet)) {
+                newParser().parse(in, handler);
+            } catch (SAXException e) {
+                throw new BusinessException(ErrorCode.IMPORT_FILE_FORMAT_ERROR, "Excel工作表解析失败: " + e.getMessage());
+            }
+            handler.flush();
+            return handler.total;
+        }
+    }
+    
+    /**
+     * 读取工作表dimension元素（如A1:AB100001）中的末行行号，读到后立即停止解析
+     */
+    @Override
+    public int estimateRows(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry sheet = zip.getEntry(resolveFirstSheet(zip));
+            if (sheet == null) {
+                return -1;
+            }
+            
+            String[] dimension = new String[1];
+            try (InputStream in = zip.getInputStream(sheet)) {
+                newParser().parse(in, new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes)
+                            throws SAXException {
+                        if ("dimension".equals(localName)) {
+                            dimension[0] = attributes.getValue("ref");
+                        }
+                        if ("dimension".equals(localName) || "sheetData".equals(localName)) {
+                            throw new SAXException(STOP_PARSING);
+                        }
+                    }
+                });
+            } catch (SAXException e) {
+                if (!STOP_PARSING.equals(e.getMessage())) {
+                    log.warn("读取工作表尺寸失败: {}", e.getMessage());
+                }
+            }
+            
+            if (dimension[0] == null || dimension[0].indexOf(':') < 0) {
+                return -1;
+            }
+            String lastCell = dimension[0].substring(dimension[0].indexOf(':') + 1);
+            String digits = lastCell.replaceAll("[^0-9]", "");
+            return digits.isEmpty() ? -1 : Math.max(Integer.parseInt(digits) - 1, 0);
+        }
+    }
+    
+    @Override
+    public int read(InputStream in, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) throws IOException {
+        // ZIP中心目录位于文件末尾，需随机访问，先落盘到临时文件
+        Path temp = Files.createTempFile("drmp-import-", ".xlsx");
+        try {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            return read(temp, chunkSize, chunkHandler);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private SAXParser newParser() {
+        try {
+            return parserFactory.newSAXParser();
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("创建XML解析器失败", e);
+        }
+    }
+    
+    /**
+     * 读取共享字符串表并落盘，调用方负责关闭
+     */
+    private XlsxSharedStrings readSharedStrings(ZipFile zip) throws IOException {
+        XlsxSharedStrings strings = new XlsxSharedStrings();
+        try {
+            ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+            if (entry != null) {
+                parseSharedStrings(zip, entry, strings);
+            }
+            strings.seal();
+            return strings;
+        } catch (IOException | RuntimeException e) {
+            strings.close();
+            throw e;
+        }
+    }
+    
+    private void parseSharedStrings(ZipFile zip, ZipEntry entry, XlsxSharedStrings strings) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            newParser().parse(in, new DefaultHandler() {
+                private final StringBuilder text = new StringBuilder();
+                private boolean inText;
+                private boolean inPhonetic;
+                
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    switch (localName) {
+                        case "si" -> text.setLength(0);
+                        case "t" -> inText = !inPhonetic;
+                        case "rPh" -> inPhonetic = true;
+                        default -> { }
+                    }
+                }
+                
+                @Override
+                public void endElement(String uri, String localName, String qName) {
+                    switch (localName) {
+                        case "si" -> add(text.toString());
+                        case "t" -> inText = false;
+                        case "rPh" -> inPhonetic = false;
+                        default -> { }
+                    }
+                }
+                
+                @Override
+                public void characters(char[] ch, int start, int length) {
+                    if (inText) {
+                        text.append(ch, start, length);
+                    }
+                }
+                
+                private void add(String value) {
+                    try {
+                        strings.add(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (SAXException e) {
+            throw new BusinessException(ErrorCode.IMPORT_FILE_FORMAT_ERROR, "Excel共享字符串解析失败: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * 根据workbook.xml及其关系文件定位第一个工作表
+     */
+    private String resolveFirstSheet(ZipFile zip) throws IOException {
+        ZipEntry workbook = zip.getEntry(WORKBOOK);
+        ZipEntry rels = zip.getEntry(WORKBOOK_RELS);
+        if (workbook == null || rels == null) {
+            return DEFAULT_SHEET;
+        }
+        
+        try {
+            String[] firstSheetId = new String[1];
+            try (InputStream in = zip.getInputStream(workbook)) {
+                newParser().parse(in, new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                        if ("sheet".equals(localName) && firstSheetId[0] == null) {
+                            firstSheetId[0] = attributes.getValue(REL_NS, "id");
+                        }
+                    }
+                });
+            }
+            if (firstSheetId[0] == null) {
+                return DEFAULT_SHEET;
+            }
+            
+            Map<String, String> targets = new HashMap<>();
+            try (InputStream in = zip.getInputStream(rels)) {
+                newParser().parse(in, new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                        if ("Relationship".equals(localName)) {
+                            targets.put(attributes.getValue("Id"), attributes.getValue("Target"));
+                        }
+                    }
+                });
+            }
+            
+            String target = targets.get(firstSheetId[0]);
+            if (target == null) {
+                return DEFAULT_SHEET;
+            }
+            return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+        } catch (SAXException e) {
+            log.warn("解析工作簿结构失败，使用默认工作表: {}", e.getMessage());
+            return DEFAULT_SHEET;
+        }
+    }
+    
+    /**
+     * 工作表行处理器：按单元格引用列号对齐，逐行映射并分块回调
+     */
+    private static class SheetHandler extends DefaultHandler {
+        
+        private final XlsxSharedStrings sharedStrings;
+        private final int chunkSize;
+        private final Consumer<List<CaseImportDTO>> chunkHandler;
+        
+        private CaseImportRowMapper mapper;
+        private List<CaseImportDTO> chunk;
+        private int total;
+        
+        private final List<String> cells = new ArrayList<>();
+        private final StringBuilder value = new StringBuilder();
+        private int rowNumber;
+        private int column;
+        private String cellType;
+        private boolean inValue;
+        
+        // 当前行中无法解析的单元格，作为该行的校验错误
+        private String cellError;
+        
+        SheetHandler(XlsxSharedStrings sharedStrings, int chunkSize, Consumer<List<CaseImportDTO>> chunkHandler) {
+            this.sharedStrings = sharedStrings;
+            this.chunkSize = chunkSize;
+            this.chunkHandler = chunkHandler;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    cells.clear();
+                    cellError = null;
+                    String r = attributes.getValue("r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : cells.size();
+                    cellType = attributes.getValue("t");
+                    value.setLength(0);
+                }
+                case "v", "t" -> inValue = true;
+                default -> { }
+            }
+        }
+        
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> {
+                    while (cells.size() < column) {
+                        cells.add(null);
+                    }
+                    cells.add(cellValue());
+                }
+                case "row" -> endRow();
+                default -> { }
+            }
+        }
+        
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            }
+        }
+        
+        private void endRow() {
+            if (CaseImportRowMapper.isBlankRow(cells)) {
+                return;
+            }
+            if (mapper == null) {
+                mapper = CaseImportRowMapper.forHeader(new ArrayList<>(cells));
+                return;
+            }
+            
+            CaseImportDTO dto = mapper.map(cells, rowNumber);
+            if (cellError != null) {
+                dto.addError(cellError);
+            }
+            chunk.add(dto);
+            total++;
+            if (chunk.size() >= chunkSize) {
+                chunkHandler.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        
+        void flush() {
+            if (!chunk.isEmpty()) {
+                chunkHandler.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        
+        private String cellValue() {
+            String raw = value.toString();
+            if (raw.isEmpty()) {
+                return null;
+            }
+            if ("s".equals(cellType)) {
+                try {
+                    return sharedStrings.get(Integer.parseInt(raw.trim()));
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    // 损坏的共享字符串引用只影响本行，不中断整个导入
+                    if (cellError == null) {
+                        cellError = "第" + (column + 1) + "列单元格内容无效";
+                    }
+                    return null;
+                }
+            }
+            if (cellType == null || "n".equals(cellType)) {
+                // 数值单元格（如以数字存储的手机号）统一转为不带科学计数法的文本
+                if (raw.indexOf('E') >= 0 || raw.indexOf('.') >= 0) {
+                    try {
+                        return new BigDecimal(raw).stripTrailingZeros().toPlainString();
+                    } catch (NumberFormatException ignored) {
+                        return raw;
+                    }
+                }
+            }
+            return raw;
+        }
+        
+        /**
+         * 单元格引用（如AB12）转列下标（从0开始）
+         */
+        private static int columnIndex(String ref) {
+            int index = 0;
+            for (int i = 0; i < ref.length(); i++) {
+                char c = ref.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                index = index * 26 + (c - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
\ No newline at end of file
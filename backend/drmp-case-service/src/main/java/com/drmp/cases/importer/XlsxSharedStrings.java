@@ -0,0 +1,105 @@
+package com.drmp.cases.importer;
+
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * XLSX共享字符串表
+ * 解析时逐条写入临时文件（长度前缀的UTF-8），堆内只保留每条字符串的偏移量；
+ * 写入结束后以内存映射方式按下标读取，由操作系统页缓存承载字符串内容，
+ * 共享字符串表再大也不会占满堆内存
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+final class XlsxSharedStrings implements Closeable {
+    
+    private final Path file;
+    private DataOutputStream out;
+    private MappedByteBuffer buffer;
+    
+    private int[] offsets = new int[1024];
+    private int size;
+    private long position;
+    
+    XlsxSharedStrings() throws IOException {
+        this.file = Files.createTempFile("drmp-sst-", ".bin");
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+    
+    /**
+     * 追加一条共享字符串，下标按追加顺序递增
+     */
+    void add(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (position + Integer.BYTES + bytes.length > Integer.MAX_VALUE) {
+            throw new BusinessException(ErrorCode.IMPORT_FILE_TOO_LARGE, "Excel共享字符串表过大");
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = (int) position;
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        position += Integer.BYTES + bytes.length;
+    }
+    
+    /**
+     * 结束写入并映射临时文件，之后只能读取
+     */
+    void seal() throws IOException {
+        out.close();
+        out = null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, position);
+        }
+    }
+    
+    /**
+     * 按下标读取共享字符串
+     * 
+     * @throws IndexOutOfBoundsException 下标不在共享字符串表范围内
+     */
+    String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("共享字符串下标越界: " + index);
+        }
+        int offset = offsets[index];
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    @Override
+    public void close() {
+        try {
+            if (out != null) {
+                out.close();
+            }
+            buffer = null;
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // 映射未释放时部分平台不允许删除，留待进程退出时清理
+            log.warn("删除共享字符串临时文件失败: {}", file, e);
+            file.toFile().deleteOnExit();
+        }
+    }
+}
\ No newline at end of file
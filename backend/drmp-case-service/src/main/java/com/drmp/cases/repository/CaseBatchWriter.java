@@ -0,0 +1,177 @@
+package com.drmp.cases.repository;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.entity.CompactJson;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 案件批量写入器
+ * 绕过JPA直接使用JDBC批处理写入cases_template：BaseEntity采用IDENTITY主键，
+ * Hibernate会因此禁用insert批处理，逐行save在大批量导入时成为瓶颈。
+ * 配合连接参数rewriteBatchedStatements=true，驱动会将批处理改写为多行INSERT。
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CaseBatchWriter {
+    
+    private static final String INSERT_SQL = "INSERT INTO cases_template (" +
+        "case_package_id, receipt_number, debtor_id_card, debtor_name, debtor_phone, " +
+        "debtor_id_card_index, debtor_name_index, debtor_phone_index, debtor_phone_suffix_index, " +
+        "debtor_id_card_masked, debtor_name_masked, debtor_phone_masked, key_version, " +
+        "loan_product, loan_amount, remaining_amount, overdue_days, consigner, " +
+        "consign_start_date, consign_end_date, fund_provider, debt_info, debtor_info, " +
+        "contact_info, custom_fields, current_status, total_recovered, recovery_rate, " +
+        "create_time, update_time, deleted, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+    
+    /**
+     * MySQL唯一键冲突错误码（ER_DUP_ENTRY）
+     */
+    private static final int DUPLICATE_ENTRY_ERROR = 1062;
+    
+    /**
+     * 借据编号唯一索引名，冲突时出现在错误信息中（Duplicate entry '...' for key '...uk_receipt_number'）
+     */
+    private static final String RECEIPT_NUMBER_KEY = "uk_receipt_number";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 批量写入案件，需在事务内调用，由调用方控制提交粒度
+     * 
+     * @param cases     待写入的案件（敏感字段已加密）
+     * @param batchSize 每次executeBatch的行数
+     * @return 写入失败的行：列表下标 -> 失败原因
+     */
+    public Map<Integer, String> insert(List<Case> cases, int batchSize) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        if (cases.isEmpty()) {
+            return failures;
+        }
+        
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                for (int from = 0; from < cases.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, cases.size());
+                    insertBatch(connection, ps, cases, from, to, failures);
+                }
+            }
+            return null;
+        });
+        
+        if (!failures.isEmpty()) {
+            log.warn("批量写入案件存在失败记录: total={}, failed={}", cases.size(), failures.size());
+        }
+        return failures;
+    }
+    
+    /**
+     * 写入一个批次；批次失败时回滚到保存点并逐行重试，以定位失败的行
+     */
+    private void insertBatch(Connection connection, PreparedStatement ps, List<Case> cases,
+                             int from, int to, Map<Integer, String> failures) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = from; i < to; i++) {
+                bind(ps, cases.get(i), now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.releaseSavepoint(savepoint);
+            return;
+        } catch (BatchUpdateException e) {
+            log.debug("批次写入失败，逐行重试: from={}, to={}, cause={}", from, to, e.getMessage());
+            ps.clearBatch();
+            connection.rollback(savepoint);
+        }
+        
+        for (int i = from; i < to; i++) {
+            try {
+                bind(ps, cases.get(i), LocalDateTime.now());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                failures.put(i, isDuplicateReceiptNumber(e) ? "借据编号已存在" : "保存失败: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 只有借据编号唯一索引冲突才视为重复；外键、非空、长度等其他约束错误按实际原因报告
+     */
+    private static boolean isDuplicateReceiptNumber(SQLException e) {
+        return e.getErrorCode() == DUPLICATE_ENTRY_ERROR
+            && e.getMessage() != null && e.getMessage().contains(RECEIPT_NUMBER_KEY);
+    }
+    
+    private void bind(PreparedStatement ps, Case c, LocalDateTime now) throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        ps.setLong(1, c.getCasePackageId());
+        ps.setString(2, c.getReceiptNumber());
+        ps.setString(3, c.getDebtorIdCard());
+        ps.setString(4, c.getDebtorName());
+        ps.setString(5, c.getDebtorPhone());
+        setNullableString(ps, 6, c.getDebtorIdCardIndex());
+        setNullableString(ps, 7, c.getDebtorNameIndex());
+        setNullableString(ps, 8, c.getDebtorPhoneIndex());
+        setNullableString(ps, 9, c.getDebtorPhoneSuffixIndex());
+        setNullableString(ps, 10, c.getDebtorIdCardMasked());
+        setNullableString(ps, 11, c.getDebtorNameMasked());
+        setNullableString(ps, 12, c.getDebtorPhoneMasked());
+        ps.setInt(13, c.getKeyVersion());
+        ps.setString(14, c.getLoanProduct());
+        ps.setBigDecimal(15, c.getLoanAmount());
+        ps.setBigDecimal(16, c.getRemainingAmount());
+        ps.setInt(17, c.getOverdueDays());
+        ps.setString(18, c.getConsigner());
+        ps.setDate(19, Date.valueOf(c.getConsignStartDate()));
+        ps.setDate(20, Date.valueOf(c.getConsignEndDate()));
+        ps.setString(21, c.getFundProvider());
+        setNullableJson(ps, 22, c.getDebtInfo());
+        setNullableJson(ps, 23, c.getDebtorInfo());
+        setNullableJson(ps, 24, c.getContactInfo());
+        setNullableJson(ps, 25, c.getCustomFields());
+        ps.setString(26, c.getCurrentStatus().name());
+        ps.setBigDecimal(27, c.getTotalRecovered());
+        ps.setBigDecimal(28, c.getRecoveryRate());
+        ps.setTimestamp(29, timestamp);
+        ps.setTimestamp(30, timestamp);
+    }
+    
+    private void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+    
+    private void setNullableJson(PreparedStatement ps, int index, CompactJson value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.LONGVARBINARY);
+        } else {
+            ps.setBytes(index, value.toColumn());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.drmp.cases.repository;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.common.enums.CaseStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 案件导出数据访问
+ * 以只进只读游标按主键顺序读取，每次从服务端取fetchSize行（MySQL需开启useCursorFetch），
+ * 逐行交给调用方处理后即可丢弃，结果集不在内存中整体缓存。只拼接实际传入的条件，不读取扩展字段列
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseExportRepository {
+    
+    private static final String SELECT_SQL = "SELECT id, case_package_id, receipt_number, " +
+        "debtor_id_card, debtor_name, debtor_phone, " +
+        "debtor_id_card_masked, debtor_name_masked, debtor_phone_masked, " +
+        "loan_product, loan_amount, remaining_amount, overdue_days, consigner, " +
+        "consign_start_date, consign_end_date, fund_provider, current_status, assigned_org_id, assigned_at, " +
+        "total_recovered, recovery_rate, create_time " +
+        "FROM cases_template WHERE deleted = 0";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 按条件逐行读取案件，条件为null时不过滤
+     * 
+     * @param fetchSize 每次从服务端读取的行数
+     * @param consumer  逐行处理，传入的案件对象不受持久化上下文管理
+     */
+    public void stream(Long casePackageId, CaseStatus status, Long assignedOrgId, int fetchSize,
+                       Consumer<Case> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(3);
+        if (casePackageId != null) {
+            sql.append(" AND case_package_id = ?");
+            args.add(casePackageId);
+        }
+        if (status != null) {
+            sql.append(" AND current_status = ?");
+            args.add(status.name());
+        }
+        if (assignedOrgId != null) {
+            sql.append(" AND assigned_org_id = ?");
+            args.add(assignedOrgId);
+        }
+        sql.append(" ORDER BY id");
+        
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+    
+    private static Case mapRow(ResultSet rs) throws SQLException {
+        Case c = new Case();
+        c.setId(rs.getLong("id"));
+        c.setCasePackageId(rs.getLong("case_package_id"));
+        c.setReceiptNumber(rs.getString("receipt_number"));
+        c.setDebtorIdCard(rs.getString("debtor_id_card"));
+        c.setDebtorName(rs.getString("debtor_name"));
+        c.setDebtorPhone(rs.getString("debtor_phone"));
+        c.setDebtorIdCardMasked(rs.getString("debtor_id_card_masked"));
+        c.setDebtorNameMasked(rs.getString("debtor_name_masked"));
+        c.setDebtorPhoneMasked(rs.getString("debtor_phone_masked"));
+        c.setLoanProduct(rs.getString("loan_product"));
+        c.setLoanAmount(rs.getBigDecimal("loan_amount"));
+        c.setRemainingAmount(rs.getBigDecimal("remaining_amount"));
+        c.setOverdueDays(rs.getInt("overdue_days"));
+        c.setConsigner(rs.getString("consigner"));
+        Date consignStartDate = rs.getDate("consign_start_date");
+        c.setConsignStartDate(consignStartDate != null ? consignStartDate.toLocalDate() : null);
+        Date consignEndDate = rs.getDate("consign_end_date");
+        c.setConsignEndDate(consignEndDate != null ? consignEndDate.toLocalDate() : null);
+        c.setFundProvider(rs.getString("fund_provider"));
+        c.setCurrentStatus(CaseStatus.valueOf(rs.getString("current_status")));
+        long assignedOrgId = rs.getLong("assigned_org_id");
+        c.setAssignedOrgId(rs.wasNull() ? null : assignedOrgId);
+        Timestamp assignedAt = rs.getTimestamp("assigned_at");
+        c.setAssignedAt(assignedAt != null ? assignedAt.toLocalDateTime() : null);
+        c.setTotalRecovered(rs.getBigDecimal("total_recovered"));
+        c.setRecoveryRate(rs.getBigDecimal("recovery_rate"));
+        Timestamp createTime = rs.getTimestamp("create_time");
+        c.setCreateTime(createTime != null ? createTime.toLocalDateTime() : null);
+        return c;
+    }
+}
\ No newline at end of file
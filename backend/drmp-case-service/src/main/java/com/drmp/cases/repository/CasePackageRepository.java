@@ -1,8 +1,11 @@
 package com.drmp.cases.repository;
 
 import com.drmp.cases.entity.CasePackage;
+import com.drmp.common.util.SpecificationBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -13,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,19 +40,37 @@ public interface CasePackageRepository extends JpaRepository<CasePackage, Long>,
     List<CasePackage> findByStatusAndDeletedFalse(CasePackage.CasePackageStatus status);
     
     /**
-     * 分页查询案件包
+     * 分页查询案件包，条件为null时不参与过滤，未指定排序时按创建时间倒序
      */
-    @Query("SELECT cp FROM CasePackage cp WHERE cp.deleted = false " +
-           "AND (:sourceOrgId IS NULL OR cp.sourceOrgId = :sourceOrgId) " +
-           "AND (:status IS NULL OR cp.status = :status) " +
-           "AND (:keyword IS NULL OR cp.name LIKE %:keyword% OR cp.description LIKE %:keyword%) " +
-           "ORDER BY cp.createTime DESC")
-    Page<CasePackage> findByConditions(
-            @Param("sourceOrgId") Long sourceOrgId,
-            @Param("status") CasePackage.CasePackageStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<CasePackage> findByConditions(Long sourceOrgId, CasePackage.CasePackageStatus status,
+                                               String keyword, Pageable pageable) {
+        Specification<CasePackage> spec = SpecificationBuilder.<CasePackage>create()
+            .isFalse("deleted")
+            .equal("sourceOrgId", sourceOrgId)
+            .equal("status", status)
+            .anyOf(any -> any
+                .contains("name", keyword)
+                .contains("description", keyword))
+            .build();
+        return findAll(spec, SpecificationBuilder.sortedOrDefault(pageable, Sort.by(Sort.Direction.DESC, "createTime")));
+    }
+    
+    /**
+     * 在给定ID中按条件查询案件包（搜索索引命中后回表），条件为null时不参与过滤
+     */
+    default List<CasePackage> findByIdInAndConditions(Collection<Long> ids, Long sourceOrgId,
+                                                      CasePackage.CasePackageStatus status) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Specification<CasePackage> spec = SpecificationBuilder.<CasePackage>create()
+            .isFalse("deleted")
+            .in("id", ids)
+            .equal("sourceOrgId", sourceOrgId)
+            .equal("status", status)
+            .build();
+        return findAll(spec);
+    }
     
     /**
      * 查询已发布的案件包
@@ -93,6 +115,58 @@ public interface CasePackageRepository extends JpaRepository<CasePackage, Long>,
                           @Param("progress") Integer progress,
                           @Param("errorMsg") String errorMsg);
     
+    /**
+     * 开始新的导入：记录导入任务与文件并重置断点；已有未超时的导入正在进行时不更新
+     * 
+     * @return 更新行数，为0表示案件包正在导入
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CasePackage cp SET cp.importStatus = 'PROCESSING', cp.importProgress = 0, " +
+           "cp.importErrorMsg = NULL, cp.importTaskId = :taskId, cp.importFilePath = :filePath, " +
+           "cp.importFileName = :fileName, cp.importFileHash = :fileHash, " +
+           "cp.importCheckpoint = 0, cp.importSuccessCount = 0, cp.importFailureCount = 0, " +
+           "cp.importSummary = NULL, cp.updateTime = :now WHERE cp.id = :id " +
+           "AND NOT (cp.importStatus = 'PROCESSING' AND cp.updateTime >= :timeoutTime)")
+    int startImport(@Param("id") Long id,
+                   @Param("taskId") String taskId,
+                   @Param("filePath") String filePath,
+                   @Param("fileName") String fileName,
+                   @Param("fileHash") String fileHash,
+                   @Param("now") LocalDateTime now,
+                   @Param("timeoutTime") LocalDateTime timeoutTime);
+    
+    /**
+     * 更新导入断点及截至断点的导入摘要，与对应数据块在同一事务中提交
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CasePackage cp SET cp.importCheckpoint = :checkpoint, " +
+           "cp.importSuccessCount = :successCount, cp.importFailureCount = :failureCount, " +
+           "cp.importSummary = :summary, cp.importProgress = :progress, cp.updateTime = :now WHERE cp.id = :id")
+    void updateImportCheckpoint(@Param("id") Long id,
+                              @Param("checkpoint") Integer checkpoint,
+                              @Param("successCount") Integer successCount,
+                              @Param("failureCount") Integer failureCount,
+                              @Param("summary") String summary,
+                              @Param("progress") Integer progress,
+                              @Param("now") LocalDateTime now);
+    
+    /**
+     * 认领待续传的导入：失败的导入，或超过超时时间未推进断点的导入
+     * 
+     * @return 更新行数，为0表示已被其他节点认领或状态不允许续传
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CasePackage cp SET cp.importStatus = 'PROCESSING', cp.importErrorMsg = NULL, " +
+           "cp.importTaskId = :taskId, cp.updateTime = :now WHERE cp.id = :id AND cp.importFilePath IS NOT NULL " +
+           "AND (cp.importStatus = 'FAILED' OR (cp.importStatus = 'PROCESSING' AND cp.updateTime < :timeoutTime))")
+    int claimImportResume(@Param("id") Long id,
+                        @Param("taskId") String taskId,
+                        @Param("now") LocalDateTime now,
+                        @Param("timeoutTime") LocalDateTime timeoutTime);
+    
     /**
      * 发布案件包
      */
@@ -0,0 +1,142 @@
+package com.drmp.cases.repository;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 案件敏感字段重加密数据访问
+ * 按主键游标（id > lastId ORDER BY id LIMIT n）分批读取密钥版本落后或尚未生成盲索引的行，不使用OFFSET，
+ * 每批扫描量与表大小无关；重建索引模式读取全部行，用于盲索引密钥变更后重算索引。
+ * 更新以乐观锁版本号为条件，期间被业务修改过的行跳过，不覆盖业务数据
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseReencryptionRepository {
+    
+    // 密钥版本未变（如一直使用版本0）的存量行也需要补齐盲索引与脱敏值
+    private static final String PENDING_CONDITION = "(key_version <> ? OR debtor_id_card_index IS NULL)";
+    
+    private static final String SELECT_PENDING_SQL = "SELECT id, version, debtor_id_card, debtor_name, debtor_phone " +
+        "FROM cases_template WHERE id > ? AND " + PENDING_CONDITION + " ORDER BY id LIMIT ?";
+    
+    private static final String SELECT_ALL_SQL = "SELECT id, version, debtor_id_card, debtor_name, debtor_phone " +
+        "FROM cases_template WHERE id > ? ORDER BY id LIMIT ?";
+    
+    private static final String COUNT_PENDING_SQL = "SELECT COUNT(*) FROM cases_template WHERE " + PENDING_CONDITION;
+    
+    private static final String COUNT_ALL_SQL = "SELECT COUNT(*) FROM cases_template";
+    
+    // 重加密不是业务修改，保持update_time不变
+    private static final String UPDATE_SQL = "UPDATE cases_template SET " +
+        "debtor_id_card = ?, debtor_name = ?, debtor_phone = ?, " +
+        "debtor_id_card_index = ?, debtor_name_index = ?, debtor_phone_index = ?, debtor_phone_suffix_index = ?, " +
+        "debtor_id_card_masked = ?, debtor_name_masked = ?, debtor_phone_masked = ?, " +
+        "key_version = ?, update_time = update_time " +
+        "WHERE id = ? AND version = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 读取id大于afterId的一批行
+     * 
+     * @param reindex 为true时读取全部行，否则只读取密钥版本不是keyVersion或尚未生成盲索引的行
+     */
+    public List<EncryptedRow> findBatch(long afterId, int keyVersion, int limit, boolean reindex) {
+        RowMapper<EncryptedRow> rowMapper = (rs, rowNum) -> {
+            EncryptedRow row = new EncryptedRow();
+            row.setId(rs.getLong("id"));
+            row.setVersion(rs.getInt("version"));
+            row.setDebtorIdCard(rs.getString("debtor_id_card"));
+            row.setDebtorName(rs.getString("debtor_name"));
+            row.setDebtorPhone(rs.getString("debtor_phone"));
+            return row;
+        };
+        if (reindex) {
+            return jdbcTemplate.query(SELECT_ALL_SQL, rowMapper, afterId, limit);
+        }
+        return jdbcTemplate.query(SELECT_PENDING_SQL, rowMapper, afterId, keyVersion, limit);
+    }
+    
+    /**
+     * 统计待处理的行数，口径与findBatch一致
+     */
+    public long countPending(int keyVersion, boolean reindex) {
+        Long count = reindex
+            ? jdbcTemplate.queryForObject(COUNT_ALL_SQL, Long.class)
+            : jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class, keyVersion);
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * 写回重加密后的字段
+     * 
+     * @return 实际更新的行数，乐观锁版本不一致的行不更新
+     */
+    public int update(List<EncryptedRow> rows, int keyVersion) {
+        int[][] results = jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getDebtorIdCard());
+            ps.setString(2, row.getDebtorName());
+            ps.setString(3, row.getDebtorPhone());
+            ps.setString(4, row.getDebtorIdCardIndex());
+            ps.setString(5, row.getDebtorNameIndex());
+            ps.setString(6, row.getDebtorPhoneIndex());
+            ps.setString(7, row.getDebtorPhoneSuffixIndex());
+            ps.setString(8, row.getDebtorIdCardMasked());
+            ps.setString(9, row.getDebtorNameMasked());
+            ps.setString(10, row.getDebtorPhoneMasked());
+            ps.setInt(11, keyVersion);
+            ps.setLong(12, row.getId());
+            ps.setInt(13, row.getVersion());
+        });
+        
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+    
+    /**
+     * 待重加密的行
+     */
+    @Data
+    public static class EncryptedRow {
+        
+        private Long id;
+        
+        private Integer version;
+        
+        private String debtorIdCard;
+        
+        private String debtorName;
+        
+        private String debtorPhone;
+        
+        private String debtorIdCardIndex;
+        
+        private String debtorNameIndex;
+        
+        private String debtorPhoneIndex;
+        
+        private String debtorPhoneSuffixIndex;
+        
+        private String debtorIdCardMasked;
+        
+        private String debtorNameMasked;
+        
+        private String debtorPhoneMasked;
+    }
+}
\ No newline at end of file
@@ -1,21 +1,31 @@
 package com.drmp.cases.repository;
 
 import com.drmp.cases.entity.Case;
+import com.drmp.cases.search.ReceiptNumberMatch;
 import com.drmp.common.enums.CaseStatus;
+import com.drmp.common.util.SpecificationBuilder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 案件数据访问接口
@@ -26,6 +36,26 @@ import java.util.Optional;
 @Repository
 public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificationExecutor<Case> {
     
+    /**
+     * 流式查询每次从数据库读取的行数
+     */
+    String STREAM_FETCH_SIZE = "500";
+    
+    String PENDING_ASSIGNMENT_QUERY = "SELECT c FROM Case c WHERE c.deleted = false " +
+        "AND c.currentStatus = 'PENDING_ASSIGNMENT' " +
+        "AND c.assignedOrgId IS NULL " +
+        "ORDER BY c.createTime, c.id";
+    
+    String OVERDUE_QUERY = "SELECT c FROM Case c WHERE c.deleted = false " +
+        "AND c.assignedOrgId IS NOT NULL " +
+        "AND c.currentStatus IN ('ASSIGNED', 'PROCESSING') " +
+        "AND c.assignedAt < :timeoutTime " +
+        "ORDER BY c.assignedAt, c.id";
+    
+    String OVERDUE_DAYS_RANGE_QUERY = "SELECT c FROM Case c WHERE c.deleted = false " +
+        "AND c.overdueDays BETWEEN :minDays AND :maxDays " +
+        "ORDER BY c.overdueDays DESC, c.id";
+    
     /**
      * 根据借据编号查找案件
      */
@@ -37,49 +67,96 @@ public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificat
     List<Case> findByCasePackageIdAndDeletedFalse(Long casePackageId);
     
     /**
-     * 根据案件包ID分页查询案件
+     * 根据案件包ID分页查询案件，未指定排序时按创建时间倒序
+     * 关键词按借据编号匹配，或与债务人身份证号、姓名、手机号、手机尾号的盲索引等值匹配；
+     * 借据编号按receiptNumberMatch（搜索索引的命中结果）匹配，为null时只按前缀匹配
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND c.casePackageId = :casePackageId " +
-           "AND (:status IS NULL OR c.currentStatus = :status) " +
-           "AND (:keyword IS NULL OR c.receiptNumber LIKE %:keyword% " +
-           "OR c.debtorName LIKE %:keyword% OR c.debtorPhone LIKE %:keyword%) " +
-           "ORDER BY c.createTime DESC")
-    Page<Case> findByCasePackageIdAndConditions(
-            @Param("casePackageId") Long casePackageId,
-            @Param("status") CaseStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<Case> findByCasePackageIdAndConditions(Long casePackageId, CaseStatus status, String keyword,
+                                                        ReceiptNumberMatch receiptNumberMatch, String idCardIndex,
+                                                        String nameIndex, String phoneIndex, String phoneSuffixIndex,
+                                                        Pageable pageable) {
+        if (casePackageId == null) {
+            return Page.empty(pageable);
+        }
+        Specification<Case> spec = conditions(casePackageId, status, null, keyword, receiptNumberMatch,
+            idCardIndex, nameIndex, phoneIndex, phoneSuffixIndex).build();
+        return findAll(spec, SpecificationBuilder.sortedOrDefault(pageable, Sort.by(Sort.Direction.DESC, "createTime")));
+    }
     
     /**
-     * 分页查询案件
+     * 分页查询案件，条件为null时不参与过滤，未指定排序时按创建时间倒序
+     * 关键词匹配规则同findByCasePackageIdAndConditions
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND (:casePackageId IS NULL OR c.casePackageId = :casePackageId) " +
-           "AND (:status IS NULL OR c.currentStatus = :status) " +
-           "AND (:assignedOrgId IS NULL OR c.assignedOrgId = :assignedOrgId) " +
-           "AND (:keyword IS NULL OR c.receiptNumber LIKE %:keyword% " +
-           "OR c.debtorName LIKE %:keyword% OR c.debtorPhone LIKE %:keyword%) " +
-           "ORDER BY c.createTime DESC")
-    Page<Case> findByConditions(
-            @Param("casePackageId") Long casePackageId,
-            @Param("status") CaseStatus status,
-            @Param("assignedOrgId") Long assignedOrgId,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<Case> findByConditions(Long casePackageId, CaseStatus status, Long assignedOrgId, String keyword,
+                                        ReceiptNumberMatch receiptNumberMatch, String idCardIndex, String nameIndex,
+                                        String phoneIndex, String phoneSuffixIndex, Pageable pageable) {
+        Specification<Case> spec = conditions(casePackageId, status, assignedOrgId, keyword, receiptNumberMatch,
+            idCardIndex, nameIndex, phoneIndex, phoneSuffixIndex).build();
+        return findAll(spec, SpecificationBuilder.sortedOrDefault(pageable, Sort.by(Sort.Direction.DESC, "createTime")));
+    }
     
     /**
-     * 查询处置机构的案件
+     * 查询处置机构的案件，未指定排序时按分配时间倒序
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND c.assignedOrgId = :orgId " +
-           "AND (:status IS NULL OR c.currentStatus = :status) " +
-           "ORDER BY c.assignedAt DESC")
-    Page<Case> findByAssignedOrgId(@Param("orgId") Long orgId,
-                                 @Param("status") CaseStatus status,
-                                 Pageable pageable);
+    default Page<Case> findByAssignedOrgId(Long orgId, CaseStatus status, Pageable pageable) {
+        if (orgId == null) {
+            return Page.empty(pageable);
+        }
+        Specification<Case> spec = SpecificationBuilder.<Case>create()
+            .isFalse("deleted")
+            .equal("assignedOrgId", orgId)
+            .equal("currentStatus", status)
+            .build();
+        return findAll(spec, SpecificationBuilder.sortedOrDefault(pageable, Sort.by(Sort.Direction.DESC, "assignedAt")));
+    }
+    
+    /**
+     * 键集分页查询案件包下的案件，按(createTime, id)倒序，从游标位置之后读取pageable.pageSize条，不统计总数
+     * 游标为空时读取第一页；关键词匹配规则同findByCasePackageIdAndConditions
+     */
+    default Slice<Case> findSliceByCasePackageIdAndConditions(Long casePackageId, CaseStatus status, String keyword,
+                                                              ReceiptNumberMatch receiptNumberMatch, String idCardIndex,
+                                                              String nameIndex, String phoneIndex,
+                                                              String phoneSuffixIndex, LocalDateTime cursorTime,
+                                                              Long cursorId, Pageable pageable) {
+        if (casePackageId == null) {
+            return SpecificationBuilder.toSlice(List.of(), pageable.getPageSize());
+        }
+        return findSliceByConditions(casePackageId, status, null, keyword, receiptNumberMatch,
+            idCardIndex, nameIndex, phoneIndex, phoneSuffixIndex, cursorTime, cursorId, pageable);
+    }
+    
+    /**
+     * 键集分页查询案件，按(createTime, id)倒序，从游标位置之后读取pageable.pageSize条，不统计总数
+     * 游标为空时读取第一页；关键词匹配规则同findByCasePackageIdAndConditions
+     */
+    default Slice<Case> findSliceByConditions(Long casePackageId, CaseStatus status, Long assignedOrgId, String keyword,
+                                              ReceiptNumberMatch receiptNumberMatch, String idCardIndex,
+                                              String nameIndex, String phoneIndex, String phoneSuffixIndex,
+                                              LocalDateTime cursorTime, Long cursorId, Pageable pageable) {
+        Specification<Case> spec = conditions(casePackageId, status, assignedOrgId, keyword, receiptNumberMatch,
+            idCardIndex, nameIndex, phoneIndex, phoneSuffixIndex)
+            .seekBefore("createTime", cursorTime, "id", cursorId)
+            .build();
+        return findSlice(spec, Sort.by(Sort.Direction.DESC, "createTime", "id"), pageable.getPageSize());
+    }
+    
+    /**
+     * 键集分页查询处置机构的案件，与findByAssignedOrgId的排序一致，按(assignedAt, id)倒序，不统计总数
+     */
+    default Slice<Case> findSliceByAssignedOrgId(Long orgId, CaseStatus status, LocalDateTime cursorTime,
+                                                 Long cursorId, Pageable pageable) {
+        if (orgId == null) {
+            return SpecificationBuilder.toSlice(List.of(), pageable.getPageSize());
+        }
+        Specification<Case> spec = SpecificationBuilder.<Case>create()
+            .isFalse("deleted")
+            .equal("assignedOrgId", orgId)
+            .equal("currentStatus", status)
+            .seekBefore("assignedAt", cursorTime, "id", cursorId)
+            .build();
+        return findSlice(spec, Sort.by(Sort.Direction.DESC, "assignedAt", "id"), pageable.getPageSize());
+    }
     
     /**
      * 分配案件给处置机构
@@ -123,6 +200,13 @@ public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificat
     boolean existsByReceiptNumberAndIdNot(@Param("receiptNumber") String receiptNumber,
                                         @Param("id") Long id);
     
+    /**
+     * 批量查询已存在的借据编号
+     * 唯一键uk_receipt_number包含已逻辑删除的记录，因此不过滤deleted
+     */
+    @Query("SELECT c.receiptNumber FROM Case c WHERE c.receiptNumber IN :receiptNumbers")
+    List<String> findExistingReceiptNumbers(@Param("receiptNumbers") Collection<String> receiptNumbers);
+    
     /**
      * 统计案件包的案件数量和金额
      */
@@ -160,22 +244,49 @@ public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificat
     List<Object[]> countByAssignedOrgIdAndStatus(@Param("orgId") Long orgId);
     
     /**
-     * 查询待分案的案件
+     * 分页查询待分案的案件，按创建时间排序
+     */
+    @Query(PENDING_ASSIGNMENT_QUERY)
+    Page<Case> findPendingAssignmentCases(Pageable pageable);
+    
+    /**
+     * 查询待分案的案件，多读取一条判断是否有下一页，不执行count查询
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND c.currentStatus = 'PENDING_ASSIGNMENT' " +
-           "AND c.assignedOrgId IS NULL " +
-           "ORDER BY c.createTime")
-    List<Case> findPendingAssignmentCases();
+    @Query(PENDING_ASSIGNMENT_QUERY)
+    Slice<Case> findPendingAssignmentSlice(Pageable pageable);
     
     /**
-     * 查询超期未处理的案件
+     * 流式查询待分案的案件，须在事务内消费并关闭
+     * 实体以只读方式加载，不保存脏检查快照
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND c.assignedOrgId IS NOT NULL " +
-           "AND c.currentStatus IN ('ASSIGNED', 'PROCESSING') " +
-           "AND c.assignedAt < :timeoutTime")
-    List<Case> findOverdueCases(@Param("timeoutTime") LocalDateTime timeoutTime);
+    @Query(PENDING_ASSIGNMENT_QUERY)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Case> streamPendingAssignmentCases();
+    
+    /**
+     * 分页查询超期未处理的案件，按分配时间排序
+     */
+    @Query(OVERDUE_QUERY)
+    Page<Case> findOverdueCases(@Param("timeoutTime") LocalDateTime timeoutTime, Pageable pageable);
+    
+    /**
+     * 查询超期未处理的案件，多读取一条判断是否有下一页，不执行count查询
+     */
+    @Query(OVERDUE_QUERY)
+    Slice<Case> findOverdueSlice(@Param("timeoutTime") LocalDateTime timeoutTime, Pageable pageable);
+    
+    /**
+     * 流式查询超期未处理的案件，须在事务内消费并关闭
+     */
+    @Query(OVERDUE_QUERY)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Case> streamOverdueCases(@Param("timeoutTime") LocalDateTime timeoutTime);
     
     /**
      * 统计回款情况
@@ -187,11 +298,74 @@ public interface CaseRepository extends JpaRepository<Case, Long>, JpaSpecificat
     Object[] getRecoveryStatistics(@Param("orgId") Long orgId);
     
     /**
-     * 根据逾期天数范围查询案件
+     * 根据逾期天数范围分页查询案件，按逾期天数倒序
+     */
+    @Query(OVERDUE_DAYS_RANGE_QUERY)
+    Page<Case> findByOverdueDaysRange(@Param("minDays") Integer minDays,
+                                      @Param("maxDays") Integer maxDays,
+                                      Pageable pageable);
+    
+    /**
+     * 根据逾期天数范围查询案件，多读取一条判断是否有下一页，不执行count查询
+     */
+    @Query(OVERDUE_DAYS_RANGE_QUERY)
+    Slice<Case> findSliceByOverdueDaysRange(@Param("minDays") Integer minDays,
+                                            @Param("maxDays") Integer maxDays,
+                                            Pageable pageable);
+    
+    /**
+     * 根据逾期天数范围流式查询案件，须在事务内消费并关闭
+     */
+    @Query(OVERDUE_DAYS_RANGE_QUERY)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Case> streamByOverdueDaysRange(@Param("minDays") Integer minDays,
+                                          @Param("maxDays") Integer maxDays);
+    
+    /**
+     * 案件列表的公共查询条件，只为非空条件生成谓词
+     */
+    private static SpecificationBuilder<Case> conditions(Long casePackageId, CaseStatus status, Long assignedOrgId,
+                                                         String keyword, ReceiptNumberMatch receiptNumberMatch,
+                                                         String idCardIndex, String nameIndex,
+                                                         String phoneIndex, String phoneSuffixIndex) {
+        SpecificationBuilder<Case> builder = SpecificationBuilder.<Case>create()
+            .isFalse("deleted")
+            .equal("casePackageId", casePackageId)
+            .equal("currentStatus", status)
+            .equal("assignedOrgId", assignedOrgId);
+        if (keyword != null && !keyword.isBlank()) {
+            ReceiptNumberMatch match = receiptNumberMatch != null ? receiptNumberMatch : ReceiptNumberMatch.PREFIX;
+            builder.anyOf(any -> {
+                if (match.substringAll()) {
+                    any.contains("receiptNumber", keyword);
+                } else {
+                    // 借据编号前缀条件始终保留，覆盖尚未进入搜索索引的案件；索引覆盖范围之外的案件按子串匹配
+                    any.in("id", match.ids())
+                        .startsWith("receiptNumber", keyword);
+                    if (match.substringBelowId() > 0) {
+                        any.and(SpecificationBuilder.<Case>create()
+                            .lessThan("id", match.substringBelowId())
+                            .contains("receiptNumber", keyword)
+                            .build());
+                    }
+                }
+                any.equal("debtorIdCardIndex", idCardIndex)
+                    .equal("debtorNameIndex", nameIndex)
+                    .equal("debtorPhoneIndex", phoneIndex)
+                    .equal("debtorPhoneSuffixIndex", phoneSuffixIndex);
+            });
+        }
+        return builder;
+    }
+    
+    /**
+     * 多读取一条判断是否有下一页，不执行count查询
      */
-    @Query("SELECT c FROM Case c WHERE c.deleted = false " +
-           "AND c.overdueDays BETWEEN :minDays AND :maxDays " +
-           "ORDER BY c.overdueDays DESC")
-    List<Case> findByOverdueDaysRange(@Param("minDays") Integer minDays,
-                                    @Param("maxDays") Integer maxDays);
+    private Slice<Case> findSlice(Specification<Case> spec, Sort sort, int size) {
+        List<Case> rows = findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+        return SpecificationBuilder.toSlice(rows, size);
+    }
 }
\ No newline at end of file
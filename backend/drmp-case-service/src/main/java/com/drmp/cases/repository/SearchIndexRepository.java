@@ -0,0 +1,98 @@
+package com.drmp.cases.repository;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 搜索索引数据访问
+ * 重建索引时按主键游标（id > lastId ORDER BY id LIMIT n）分批读取，只读取建索引所需的列
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchIndexRepository {
+    
+    private static final String CASE_BATCH_SQL = "SELECT id, receipt_number FROM cases_template " +
+        "WHERE id > ? AND deleted = 0 ORDER BY id LIMIT ?";
+    
+    // 从最新的案件往前数第n个案件的ID，只扫描主键索引
+    private static final String CASE_ID_FLOOR_SQL = "SELECT id FROM cases_template " +
+        "WHERE deleted = 0 ORDER BY id DESC LIMIT 1 OFFSET ?";
+    
+    private static final String CASE_BY_RECEIPT_NUMBER_SQL = "SELECT id, receipt_number FROM cases_template " +
+        "WHERE deleted = 0 AND receipt_number IN (%s)";
+    
+    private static final String PACKAGE_BATCH_SQL = "SELECT id, name, description FROM case_packages " +
+        "WHERE id > ? AND deleted = 0 ORDER BY id LIMIT ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 读取id大于afterId的一批案件
+     */
+    public List<CaseRow> findCaseBatch(long afterId, int limit) {
+        return jdbcTemplate.query(CASE_BATCH_SQL, (rs, rowNum) ->
+            new CaseRow(rs.getLong("id"), rs.getString("receipt_number")), afterId, limit);
+    }
+    
+    /**
+     * 最新的maxCases个案件中最小的案件ID，案件数不超过maxCases时返回0
+     */
+    public long findCaseIdFloor(int maxCases) {
+        List<Long> ids = jdbcTemplate.queryForList(CASE_ID_FLOOR_SQL, Long.class, maxCases - 1);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+    
+    /**
+     * 按借据编号查询案件（批量导入写入的案件没有回填主键）
+     */
+    public List<CaseRow> findCasesByReceiptNumbers(Collection<String> receiptNumbers) {
+        if (receiptNumbers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String placeholders = String.join(",", Collections.nCopies(receiptNumbers.size(), "?"));
+        String sql = String.format(CASE_BY_RECEIPT_NUMBER_SQL, placeholders);
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+            new CaseRow(rs.getLong("id"), rs.getString("receipt_number")), receiptNumbers.toArray());
+    }
+    
+    /**
+     * 读取id大于afterId的一批案件包
+     */
+    public List<PackageRow> findPackageBatch(long afterId, int limit) {
+        return jdbcTemplate.query(PACKAGE_BATCH_SQL, (rs, rowNum) ->
+            new PackageRow(rs.getLong("id"), rs.getString("name"), rs.getString("description")), afterId, limit);
+    }
+    
+    /**
+     * 案件的索引字段
+     */
+    @Data
+    public static class CaseRow {
+        
+        private final Long id;
+        
+        private final String receiptNumber;
+    }
+    
+    /**
+     * 案件包的索引字段
+     */
+    @Data
+    public static class PackageRow {
+        
+        private final Long id;
+        
+        private final String name;
+        
+        private final String description;
+    }
+}
\ No newline at end of file
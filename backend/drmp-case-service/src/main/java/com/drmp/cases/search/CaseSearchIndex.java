@@ -0,0 +1,469 @@
+package com.drmp.cases.search;
+
+import com.drmp.cases.dto.SearchIndexStatusDTO;
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.repository.SearchIndexRepository;
+import com.drmp.cases.repository.SearchIndexRepository.CaseRow;
+import com.drmp.cases.repository.SearchIndexRepository.PackageRow;
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import com.drmp.common.util.JsonUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 案件与案件包的关键词搜索索引
+ * 借据编号按n-gram、案件包名称与描述按中日韩单字/二字词建立内存倒排索引，查询返回按相关度排序的ID，
+ * 由调用方回表查询，替代无法使用索引的“LIKE %关键词%”全表扫描。
+ * 增删改在事务提交后更新索引；服务启动后在后台全量重建，重建完成前借据编号只按前缀匹配。
+ * 命中数超过max-results时改由数据库按子串匹配：截断后的ID再叠加其他过滤条件会漏掉排名靠后的结果。
+ * 案件索引只保留最新的max-cases个案件以限制堆内存，更早的案件由数据库按子串匹配；
+ * 增量写入使案件数超出上限10%时在后台重建，淘汰较早的案件。
+ * 重建期间的增量更新同时写入新旧索引，新索引中已被增量更新的文档不再以重建读到的数据覆盖，重建完成后切换，不丢失更新。
+ * 索引在各节点内存中分别维护，本节点的变更通过Redis频道广播给其他节点；广播丢失的变更在下次重建后恢复
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CaseSearchIndex implements MessageListener {
+    
+    /**
+     * 索引变更广播频道
+     */
+    public static final String CHANGE_CHANNEL = "case:search:index";
+    
+    private static final String TYPE_CASE = "case";
+    private static final String TYPE_PACKAGE = "package";
+    
+    // 案件包名称中的词权重高于描述
+    private static final float PACKAGE_NAME_WEIGHT = 2f;
+    private static final float PACKAGE_DESCRIPTION_WEIGHT = 1f;
+    
+    // 按借据编号回查导入案件ID时单条IN查询的参数个数上限
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    
+    private final SearchIndexRepository searchIndexRepository;
+    @Qualifier("taskExecutor")
+    private final Executor taskExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    
+    // 本节点标识，忽略自己发出的广播
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    @Value("${drmp.case.search.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${drmp.case.search.max-results:1000}")
+    private int maxResults;
+    
+    @Value("${drmp.case.search.rebuild-batch-size:5000}")
+    private int rebuildBatchSize;
+    
+    @Value("${drmp.case.search.max-cases:1000000}")
+    private int maxCases;
+    
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    
+    // 增量更新与重建完成时的索引切换互斥
+    private final Object updateLock = new Object();
+    
+    private volatile InvertedIndex caseIndex = newCaseIndex();
+    private volatile InvertedIndex packageIndex = newPackageIndex();
+    
+    // 案件索引覆盖的最小案件ID，更小的案件不在索引中；为0时覆盖全部案件
+    private volatile long caseFloorId;
+    
+    // 正在重建的索引，只在持有updateLock时访问
+    private Rebuild next;
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime lastRebuildTime;
+    private volatile long lastRebuildMillis;
+    private volatile String errorMessage;
+    
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * 在后台全量重建索引，已有重建在执行时抛出异常
+     */
+    public SearchIndexStatusDTO rebuild() {
+        if (!enabled) {
+            log.info("搜索索引未启用，跳过重建");
+            return getStatus();
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.CASE_SEARCH_INDEX_REBUILDING);
+        }
+        
+        log.info("开始重建搜索索引");
+        startRebuild();
+        return getStatus();
+    }
+    
+    public SearchIndexStatusDTO getStatus() {
+        SearchIndexStatusDTO status = new SearchIndexStatusDTO();
+        status.setEnabled(enabled);
+        status.setReady(ready);
+        status.setRebuilding(rebuilding.get());
+        status.setCaseCount(caseIndex.size());
+        status.setMaxCases(maxCases);
+        status.setCaseFloorId(caseFloorId);
+        status.setPackageCount(packageIndex.size());
+        status.setLastRebuildTime(lastRebuildTime);
+        status.setLastRebuildMillis(lastRebuildMillis);
+        status.setErrorMessage(errorMessage);
+        return status;
+    }
+    
+    /**
+     * 按借据编号子串查询案件
+     * 
+     * @return 借据编号的匹配方式：按相关度排序的命中ID，索引覆盖范围之外的案件由数据库按子串匹配；
+     *         索引不可用或关键词过短时只按前缀匹配，命中数超过上限时全部由数据库按子串匹配
+     */
+    public ReceiptNumberMatch searchCases(String keyword) {
+        if (!ready) {
+            return ReceiptNumberMatch.PREFIX;
+        }
+        long floorId = caseFloorId;
+        List<Long> ids = caseIndex.search(keyword, maxResults + 1);
+        if (ids == null) {
+            return ReceiptNumberMatch.PREFIX;
+        }
+        if (ids.size() > maxResults) {
+            return ReceiptNumberMatch.SUBSTRING;
+        }
+        return new ReceiptNumberMatch(ids, floorId);
+    }
+    
+    /**
+     * 按名称、描述查询案件包
+     * 
+     * @return 按相关度排序的案件包ID；索引不可用、关键词无法通过索引检索或命中数超过上限时返回null
+     */
+    public List<Long> searchPackages(String keyword) {
+        return ready ? withinLimit(packageIndex.search(keyword, maxResults + 1)) : null;
+    }
+    
+    /**
+     * 事务提交后更新案件索引，已逻辑删除的案件从索引中移除
+     */
+    public void indexCase(Case caseEntity) {
+        IndexChange change = new IndexChange(TYPE_CASE);
+        change.add(caseEntity.getId(), Boolean.TRUE.equals(caseEntity.getDeleted())
+            ? null : Collections.singletonList(caseEntity.getReceiptNumber()));
+        afterCommit(() -> applyAndPublish(change));
+    }
+    
+    /**
+     * 事务提交后将批量导入的案件加入索引
+     * 批量写入不回填主键，提交后在后台按借据编号回查ID
+     */
+    public void indexImportedCases(Collection<String> receiptNumbers) {
+        if (receiptNumbers.isEmpty()) {
+            return;
+        }
+        List<String> pending = new ArrayList<>(receiptNumbers);
+        afterCommit(() -> CompletableFuture.runAsync(() -> {
+            for (int from = 0; from < pending.size(); from += LOOKUP_BATCH_SIZE) {
+                List<CaseRow> rows = searchIndexRepository.findCasesByReceiptNumbers(
+                    pending.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, pending.size())));
+                IndexChange change = new IndexChange(TYPE_CASE);
+                rows.forEach(row -> change.add(row.getId(), Collections.singletonList(row.getReceiptNumber())));
+                applyAndPublish(change);
+            }
+        }, taskExecutor).exceptionally(e -> {
+            log.warn("导入案件加入搜索索引失败，下次重建后可查: count={}", pending.size(), e);
+            return null;
+        }));
+    }
+    
+    /**
+     * 事务提交后更新案件包索引，已逻辑删除的案件包从索引中移除
+     */
+    public void indexPackage(CasePackage casePackage) {
+        IndexChange change = new IndexChange(TYPE_PACKAGE);
+        change.add(casePackage.getId(), Boolean.TRUE.equals(casePackage.getDeleted())
+            ? null : Arrays.asList(casePackage.getName(), casePackage.getDescription()));
+        afterCommit(() -> applyAndPublish(change));
+    }
+    
+    /**
+     * 应用其他节点广播的索引变更
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            IndexChange change = JsonUtils.parseJson(new String(message.getBody(), StandardCharsets.UTF_8),
+                IndexChange.class);
+            if (change != null && !nodeId.equals(change.getNode())) {
+                apply(change);
+            }
+        } catch (RuntimeException e) {
+            log.warn("应用搜索索引变更广播失败，下次重建后恢复", e);
+        }
+    }
+    
+    /**
+     * 调用方已将rebuilding置为true
+     */
+    private void startRebuild() {
+        synchronized (updateLock) {
+            next = new Rebuild();
+        }
+        CompletableFuture.runAsync(this::runRebuild, taskExecutor);
+    }
+    
+    private void runRebuild() {
+        long startNanos = System.nanoTime();
+        try {
+            int batchSize = Math.max(rebuildBatchSize, 1);
+            long floorId = maxCases > 0 ? searchIndexRepository.findCaseIdFloor(maxCases) : 0;
+            synchronized (updateLock) {
+                next.caseFloorId = floorId;
+            }
+            long lastId = Math.max(floorId - 1, 0);
+            while (true) {
+                List<CaseRow> rows = searchIndexRepository.findCaseBatch(lastId, batchSize);
+                synchronized (updateLock) {
+                    for (CaseRow row : rows) {
+                        if (!next.touchedCases.contains(row.getId())) {
+                            next.caseIndex.put(row.getId(), row.getReceiptNumber());
+                        }
+                    }
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+            }
+            
+            lastId = 0;
+            while (true) {
+                List<PackageRow> rows = searchIndexRepository.findPackageBatch(lastId, batchSize);
+                synchronized (updateLock) {
+                    for (PackageRow row : rows) {
+                        if (!next.touchedPackages.contains(row.getId())) {
+                            next.packageIndex.put(row.getId(), row.getName(), row.getDescription());
+                        }
+                    }
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+            }
+            
+            synchronized (updateLock) {
+                caseIndex = next.caseIndex;
+                packageIndex = next.packageIndex;
+                caseFloorId = next.caseFloorId;
+                next = null;
+            }
+            ready = true;
+            errorMessage = null;
+            lastRebuildTime = LocalDateTime.now();
+            lastRebuildMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            log.info("搜索索引重建完成: cases={}, caseFloorId={}, packages={}, elapsedMs={}",
+                caseIndex.size(), caseFloorId, packageIndex.size(), lastRebuildMillis);
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                next = null;
+            }
+            errorMessage = e.getMessage();
+            log.error("搜索索引重建失败", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+    
+    /**
+     * 更新本节点索引后广播给其他节点，广播失败不影响本节点
+     */
+    private void applyAndPublish(IndexChange change) {
+        apply(change);
+        change.setNode(nodeId);
+        try {
+            redisTemplate.convertAndSend(CHANGE_CHANNEL, JsonUtils.toJsonString(change));
+        } catch (RuntimeException e) {
+            log.warn("广播搜索索引变更失败，其他节点在下次重建后可查: type={}, count={}",
+                change.getType(), change.getIds().size(), e);
+        }
+    }
+    
+    private void apply(IndexChange change) {
+        boolean cases = TYPE_CASE.equals(change.getType());
+        for (int i = 0; i < change.getIds().size(); i++) {
+            long id = change.getIds().get(i);
+            List<String> fields = change.getFields().get(i);
+            Consumer<InvertedIndex> update = fields == null
+                ? index -> index.remove(id)
+                : index -> index.put(id, fields.toArray(String[]::new));
+            if (cases) {
+                updateCase(id, update);
+            } else {
+                updatePackage(id, update);
+            }
+        }
+        if (cases) {
+            trimIfOversized();
+        }
+    }
+    
+    /**
+     * 索引覆盖范围之外的案件不加入索引，由数据库按子串匹配
+     */
+    private void updateCase(long id, Consumer<InvertedIndex> change) {
+        synchronized (updateLock) {
+            if (id >= caseFloorId) {
+                change.accept(caseIndex);
+            }
+            if (next != null && id >= next.caseFloorId) {
+                change.accept(next.caseIndex);
+                next.touchedCases.add(id);
+            }
+        }
+    }
+    
+    /**
+     * 增量写入使案件数超出上限10%时在后台重建，重新计算覆盖范围并淘汰较早的案件
+     */
+    private void trimIfOversized() {
+        if (maxCases > 0 && caseIndex.size() > maxCases + maxCases / 10 && rebuilding.compareAndSet(false, true)) {
+            log.info("搜索索引案件数超过上限，后台重建以淘汰较早的案件: cases={}, maxCases={}",
+                caseIndex.size(), maxCases);
+            startRebuild();
+        }
+    }
+    
+    private void updatePackage(long id, Consumer<InvertedIndex> change) {
+        synchronized (updateLock) {
+            change.accept(packageIndex);
+            if (next != null) {
+                change.accept(next.packageIndex);
+                next.touchedPackages.add(id);
+            }
+        }
+    }
+    
+    /**
+     * 在当前事务提交后执行，事务回滚时不执行；没有事务时立即执行。索引更新失败不影响业务操作
+     */
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("更新搜索索引失败，下次重建后恢复", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+    
+    private List<Long> withinLimit(List<Long> ids) {
+        return ids != null && ids.size() > maxResults ? null : ids;
+    }
+    
+    private static InvertedIndex newCaseIndex() {
+        return new InvertedIndex(SearchTokenizer.NGRAM);
+    }
+    
+    private static InvertedIndex newPackageIndex() {
+        return new InvertedIndex(SearchTokenizer.WORD, PACKAGE_NAME_WEIGHT, PACKAGE_DESCRIPTION_WEIGHT);
+    }
+    
+    /**
+     * 一次重建中的新索引，及重建期间已被增量更新的文档ID
+     */
+    private static final class Rebuild {
+        
+        private final InvertedIndex caseIndex = newCaseIndex();
+        private final InvertedIndex packageIndex = newPackageIndex();
+        private final Set<Long> touchedCases = new HashSet<>();
+        private final Set<Long> touchedPackages = new HashSet<>();
+        private long caseFloorId;
+    }
+    
+    /**
+     * 一组文档变更，fields中的元素为文档各字段，为null表示删除该文档
+     */
+    @Data
+    public static class IndexChange {
+        
+        private String node;
+        private String type;
+        private List<Long> ids = new ArrayList<>();
+        private List<List<String>> fields = new ArrayList<>();
+        
+        public IndexChange() {
+        }
+        
+        IndexChange(String type) {
+            this.type = type;
+        }
+        
+        void add(long id, List<String> documentFields) {
+            ids.add(id);
+            fields.add(documentFields);
+        }
+    }
+}
\ No newline at end of file
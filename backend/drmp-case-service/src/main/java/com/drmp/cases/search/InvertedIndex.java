@@ -0,0 +1,297 @@
+package com.drmp.cases.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引
+ * 每个词对应按文档ID升序排列的倒排表（ID与词权重使用基本类型数组存储），新文档ID通常大于已有ID，写入为追加。
+ * 查询时各查询词的倒排表从短到长求交，命中的文档再以原文校验（n-gram与二字词求交可能误命中），
+ * 按“字段完全相同 > 字段以查询词开头 > BM25相关度 > 文档ID倒序”排序。
+ * 读写使用读写锁，查询之间互不阻塞
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class InvertedIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private final SearchTokenizer tokenizer;
+    
+    /**
+     * 各字段中词出现一次的权重，字段顺序与put的参数顺序一致
+     */
+    private final float[] fieldWeights;
+    
+    private final Map<String, Postings> postings = new HashMap<>();
+    
+    private final Map<Long, Document> documents = new HashMap<>();
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private double totalLength;
+    
+    public InvertedIndex(SearchTokenizer tokenizer, float... fieldWeights) {
+        this.tokenizer = tokenizer;
+        this.fieldWeights = fieldWeights.length == 0 ? new float[] {1f} : fieldWeights.clone();
+    }
+    
+    /**
+     * 写入或替换文档，各字段均为空时等同于删除
+     */
+    public void put(long id, String... fields) {
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = SearchTokenizer.normalize(fields[i]);
+        }
+        Map<String, Float> weights = weigh(normalized);
+        
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            if (weights.isEmpty()) {
+                return;
+            }
+            float length = 0;
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), token -> new Postings()).put(id, entry.getValue());
+                length += entry.getValue();
+            }
+            documents.put(id, new Document(normalized, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 删除文档
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 已索引的文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 查询，以空白分隔的多个查询词须全部出现（可出现在不同字段）
+     * 
+     * @return 按相关度排序的文档ID，最多limit个；查询词切分不出可检索的词时返回null，由调用方改用数据库查询
+     */
+    public List<Long> search(String query, int limit) {
+        String[] terms = SearchTokenizer.normalize(query).split("\\s+");
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String term : terms) {
+            tokens.addAll(tokenizer.tokenize(term, true));
+        }
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Postings list = postings.get(token);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            
+            double averageLength = totalLength / Math.max(documents.size(), 1);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.ORDER);
+            Postings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                Document document = documents.get(id);
+                double score = score(lists, id, document, averageLength);
+                if (score < 0 || !document.containsAll(terms)) {
+                    continue;
+                }
+                top.offer(new Hit(id, document.tier(terms[0]), score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = top.poll().id;
+            }
+            return Arrays.asList(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * BM25相关度，有任一查询词不在文档中时返回-1
+     */
+    private double score(List<Postings> lists, long id, Document document, double averageLength) {
+        double score = 0;
+        double norm = K1 * (1 - B + B * document.length / averageLength);
+        for (Postings list : lists) {
+            float weight = list.weight(id);
+            if (weight == 0) {
+                return -1;
+            }
+            double idf = Math.log(1 + (documents.size() - list.size + 0.5) / (list.size + 0.5));
+            score += idf * weight * (K1 + 1) / (weight + norm);
+        }
+        return score;
+    }
+    
+    private void removeDocument(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String token : weigh(document.fields).keySet()) {
+            Postings list = postings.get(token);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(token);
+            }
+        }
+    }
+    
+    /**
+     * 词 -> 权重（各字段出现次数乘以字段权重之和）
+     */
+    private Map<String, Float> weigh(String[] fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            float fieldWeight = fieldWeights[Math.min(i, fieldWeights.length - 1)];
+            for (String token : tokenizer.tokenize(fields[i], false)) {
+                weights.merge(token, fieldWeight, Float::sum);
+            }
+        }
+        return weights;
+    }
+    
+    /**
+     * 已索引的文档：规范化后的字段原文（用于删除时重新切分与查询结果校验）及长度
+     */
+    private record Document(String[] fields, float length) {
+        
+        boolean containsAll(String[] terms) {
+            for (String term : terms) {
+                if (!contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private boolean contains(String term) {
+            for (String field : fields) {
+                if (field.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * 匹配等级：2为某字段与查询词完全相同，1为某字段以查询词开头
+         */
+        int tier(String term) {
+            int tier = 0;
+            for (String field : fields) {
+                if (field.equals(term)) {
+                    return 2;
+                }
+                if (field.startsWith(term)) {
+                    tier = 1;
+                }
+            }
+            return tier;
+        }
+    }
+    
+    /**
+     * 命中的文档，ORDER为从差到好的顺序，便于用小顶堆保留前limit个
+     */
+    private record Hit(long id, int tier, double score) {
+        
+        static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::tier)
+            .thenComparingDouble(Hit::score)
+            .thenComparingLong(Hit::id);
+    }
+    
+    /**
+     * 倒排表：按文档ID升序的ID与权重
+     */
+    private static final class Postings {
+        
+        private long[] ids = new long[4];
+        private float[] weights = new float[4];
+        private int size;
+        
+        void put(long id, float weight) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+        
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+        
+        /**
+         * 文档中该词的权重，不包含该词时返回0
+         */
+        float weight(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? weights[index] : 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.drmp.cases.search;
+
+import java.util.List;
+
+/**
+ * 借据编号关键词的匹配方式
+ * 数据库始终保留借据编号前缀条件，覆盖尚未进入搜索索引的新案件；ids为搜索索引按子串命中的案件ID，
+ * id小于substringBelowId的案件不在索引覆盖范围内（或索引命中数超过上限），由数据库按子串匹配
+ * 
+ * @param ids              搜索索引命中的案件ID，为null时不按ID匹配
+ * @param substringBelowId 由数据库按子串匹配的案件ID上界（不含），为0时不按子串匹配
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public record ReceiptNumberMatch(List<Long> ids, long substringBelowId) {
+    
+    /**
+     * 只按前缀匹配：索引不可用，或关键词过短无法通过索引检索
+     */
+    public static final ReceiptNumberMatch PREFIX = new ReceiptNumberMatch(null, 0);
+    
+    /**
+     * 全部由数据库按子串匹配：索引命中数超过上限，截断后再叠加其他条件会漏掉结果
+     */
+    public static final ReceiptNumberMatch SUBSTRING = new ReceiptNumberMatch(null, Long.MAX_VALUE);
+    
+    /**
+     * 按索引命中的案件ID匹配，索引覆盖全部案件
+     */
+    public static ReceiptNumberMatch of(List<Long> ids) {
+        return new ReceiptNumberMatch(ids, 0);
+    }
+    
+    /**
+     * 是否全部案件都由数据库按子串匹配
+     */
+    public boolean substringAll() {
+        return substringBelowId == Long.MAX_VALUE;
+    }
+}
\ No newline at end of file
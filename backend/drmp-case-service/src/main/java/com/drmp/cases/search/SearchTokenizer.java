@@ -0,0 +1,104 @@
+package com.drmp.cases.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索分词规则
+ * 文档与查询使用同一规则切分，输入均为已规范化（去除首尾空白、转小写）的文本
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public enum SearchTokenizer {
+    
+    /**
+     * 按字符n-gram切分，用于借据编号等编码类字段，支持任意位置的子串匹配；
+     * 长度不足n的文本整体作为一个词，查询词长度不足n时无法通过索引检索
+     */
+    NGRAM {
+        @Override
+        List<String> tokenize(String text, boolean query) {
+            if (text.length() < NGRAM_LENGTH) {
+                return query || text.isEmpty() ? List.of() : List.of(text);
+            }
+            List<String> tokens = new ArrayList<>(text.length() - NGRAM_LENGTH + 1);
+            for (int i = 0; i + NGRAM_LENGTH <= text.length(); i++) {
+                tokens.add(text.substring(i, i + NGRAM_LENGTH));
+            }
+            return tokens;
+        }
+    },
+    
+    /**
+     * 中日韩文字连续片段按单字与相邻二字切分，支持任意位置的子串匹配；字母与数字按连续片段整词切分。
+     * 查询时片段长度不少于2的只使用二字词，减少需要求交的倒排表
+     */
+    WORD {
+        @Override
+        List<String> tokenize(String text, boolean query) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < text.length()) {
+                int codePoint = text.codePointAt(i);
+                int end = i;
+                if (isCjk(codePoint)) {
+                    List<String> chars = new ArrayList<>();
+                    while (end < text.length() && isCjk(text.codePointAt(end))) {
+                        int next = end + Character.charCount(text.codePointAt(end));
+                        chars.add(text.substring(end, next));
+                        end = next;
+                    }
+                    addCjkTokens(tokens, chars, query);
+                } else if (Character.isLetterOrDigit(codePoint)) {
+                    while (end < text.length() && Character.isLetterOrDigit(text.codePointAt(end))
+                            && !isCjk(text.codePointAt(end))) {
+                        end += Character.charCount(text.codePointAt(end));
+                    }
+                    tokens.add(text.substring(i, end));
+                } else {
+                    end += Character.charCount(codePoint);
+                }
+                i = end;
+            }
+            return tokens;
+        }
+    };
+    
+    /**
+     * n-gram长度
+     */
+    public static final int NGRAM_LENGTH = 3;
+    
+    /**
+     * 切分文本
+     * 
+     * @param text  规范化后的文本
+     * @param query 是否为查询词
+     * @return 词列表，文档中重复出现的词保留重复
+     */
+    abstract List<String> tokenize(String text, boolean query);
+    
+    /**
+     * 规范化：去除首尾空白并转小写
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+    
+    private static void addCjkTokens(List<String> tokens, List<String> chars, boolean query) {
+        if (!query || chars.size() == 1) {
+            tokens.addAll(chars);
+        }
+        for (int i = 0; i + 1 < chars.size(); i++) {
+            tokens.add(chars.get(i) + chars.get(i + 1));
+        }
+    }
+    
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+}
\ No newline at end of file
@@ -6,9 +6,9 @@ import com.drmp.cases.entity.CasePackage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
-
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * 案件包服务接口
@@ -67,15 +67,31 @@ public interface CasePackageService {
     void closeCasePackage(Long id);
     
     /**
-     * 批量导入案件
+     * 批量导入案件，导入在后台执行，立即返回包含taskId的初始结果；
+     * 同一案件包重复上传相同内容的文件时返回已有的导入结果
      */
-    CompletableFuture<BatchImportResult> importCases(Long casePackageId, MultipartFile file);
+    BatchImportResult importCases(Long casePackageId, MultipartFile file);
+    
+    /**
+     * 从最后提交的数据块继续导入（失败或超时的导入），立即返回包含taskId的初始结果
+     */
+    BatchImportResult resumeImport(Long casePackageId);
     
     /**
      * 获取导入进度
      */
     BatchImportResult getImportProgress(String taskId);
     
+    /**
+     * 检查最近一次导入的错误报告是否存在，不存在时抛出异常
+     */
+    void checkImportErrorReport(Long casePackageId);
+    
+    /**
+     * 以CSV格式写出最近一次导入的完整错误报告
+     */
+    void writeImportErrorReport(Long casePackageId, OutputStream out) throws IOException;
+    
     /**
      * 更新案件包统计信息
      */
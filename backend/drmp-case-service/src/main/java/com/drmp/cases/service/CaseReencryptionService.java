@@ -0,0 +1,31 @@
+package com.drmp.cases.service;
+
+import com.drmp.cases.dto.ReencryptionStatusDTO;
+
+/**
+ * 案件敏感字段重加密服务接口
+ * 密钥轮换后在后台将旧版本密文逐批改用当前版本密钥加密，服务无需停机
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public interface CaseReencryptionService {
+    
+    /**
+     * 启动重加密任务，已有任务在执行时抛出异常
+     * 
+     * @param reindex 为true时处理全部行，用于盲索引密钥变更后重算索引；
+     *                否则只处理密钥版本落后或尚未生成盲索引的行
+     */
+    ReencryptionStatusDTO start(boolean reindex);
+    
+    /**
+     * 请求停止正在执行的任务，当前批次完成后停止
+     */
+    ReencryptionStatusDTO stop();
+    
+    /**
+     * 获取任务状态
+     */
+    ReencryptionStatusDTO getStatus();
+}
\ No newline at end of file
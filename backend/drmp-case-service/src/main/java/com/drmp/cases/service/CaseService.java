@@ -2,12 +2,19 @@ package com.drmp.cases.service;
 
 import com.drmp.cases.dto.CaseDTO;
 import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.importer.ReceiptNumberDuplicateChecker;
+import com.drmp.common.dto.PageResult;
 import com.drmp.common.enums.CaseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 案件服务接口
@@ -24,13 +31,16 @@ public interface CaseService {
     
     /**
      * 更新案件
+     * 敏感字段不接受脱敏值，返回脱敏视图
      */
     CaseDTO updateCase(Long id, CaseDTO caseDTO);
     
     /**
      * 根据ID获取案件
+     * 
+     * @param plaintext 为true时返回解密后的身份证号、姓名、手机号，否则返回脱敏值
      */
-    CaseDTO getCaseById(Long id);
+    CaseDTO getCaseById(Long id, boolean plaintext);
     
     /**
      * 删除案件
@@ -39,11 +49,14 @@ public interface CaseService {
     
     /**
      * 根据借据编号获取案件
+     * 
+     * @param plaintext 为true时返回解密后的身份证号、姓名、手机号，否则返回脱敏值
      */
-    CaseDTO getCaseByReceiptNumber(String receiptNumber);
+    CaseDTO getCaseByReceiptNumber(String receiptNumber, boolean plaintext);
     
     /**
      * 分页查询案件
+     * 列表视图，身份证号、姓名、手机号返回脱敏值
      */
     Page<CaseDTO> getCases(Long casePackageId,
                           CaseStatus status,
@@ -53,6 +66,7 @@ public interface CaseService {
     
     /**
      * 根据案件包ID查询案件
+     * 列表视图，身份证号、姓名、手机号返回脱敏值
      */
     Page<CaseDTO> getCasesByCasePackageId(Long casePackageId,
                                          CaseStatus status,
@@ -66,6 +80,37 @@ public interface CaseService {
                                        CaseStatus status,
                                        Pageable pageable);
     
+    /**
+     * 键集分页查询案件，不统计总数，翻页耗时与页深无关
+     * 列表视图，身份证号、姓名、手机号返回脱敏值
+     * 
+     * @param cursor 上一页返回的nextCursor，为空时查询第一页
+     */
+    PageResult<CaseDTO> scrollCases(Long casePackageId,
+                                    CaseStatus status,
+                                    Long assignedOrgId,
+                                    String keyword,
+                                    String cursor,
+                                    int size);
+    
+    /**
+     * 键集分页查询案件包下的案件，不统计总数
+     * 列表视图，身份证号、姓名、手机号返回脱敏值
+     */
+    PageResult<CaseDTO> scrollCasesByCasePackageId(Long casePackageId,
+                                                   CaseStatus status,
+                                                   String keyword,
+                                                   String cursor,
+                                                   int size);
+    
+    /**
+     * 键集分页查询处置机构的案件，不统计总数
+     */
+    PageResult<CaseDTO> scrollCasesByAssignedOrg(Long orgId,
+                                                 CaseStatus status,
+                                                 String cursor,
+                                                 int size);
+    
     /**
      * 分配案件给处置机构
      */
@@ -82,34 +127,98 @@ public interface CaseService {
     void updateRecoveryInfo(Long id, BigDecimal totalRecovered, BigDecimal recoveryRate);
     
     /**
-     * 批量导入案件数据
+     * 批量导入案件数据，加入调用方事务，以便与导入断点一并提交
+     * 
+     * @return 成功导入的条数，失败的行会被标记为无效并附带错误信息
+     */
+    int batchImportCases(Long casePackageId, List<CaseImportDTO> importData);
+    
+    /**
+     * 将校验通过的导入数据转换为待写入实体，并加密敏感字段
      */
-    List<CaseDTO> batchImportCases(Long casePackageId, List<CaseImportDTO> importData);
+    List<Case> encryptImportCases(Long casePackageId, List<CaseImportDTO> validData);
+    
+    /**
+     * 批量写入已加密的导入实体，加入调用方事务
+     * 
+     * @param validData 校验通过的导入数据，写入失败的行会被标记为无效
+     * @param cases     与validData一一对应的实体
+     * @return 成功写入的条数
+     */
+    int writeImportCases(List<CaseImportDTO> validData, List<Case> cases);
     
     /**
      * 验证案件导入数据
      */
     List<CaseImportDTO> validateImportData(List<CaseImportDTO> importData);
     
+    /**
+     * 验证案件导入数据，分块导入时各块共用同一个查重器以识别文件内重复
+     */
+    List<CaseImportDTO> validateImportData(List<CaseImportDTO> importData,
+                                           ReceiptNumberDuplicateChecker duplicateChecker);
+    
+    /**
+     * 创建借据编号查重器，一次导入使用一个
+     */
+    ReceiptNumberDuplicateChecker createDuplicateChecker();
+    
+    /**
+     * 估算导入文件的数据行数，用于计算导入进度；无法估算时返回-1
+     */
+    int estimateImportRows(String filePath, String fileName);
+    
     /**
      * 解析Excel/CSV文件
      */
     List<CaseImportDTO> parseImportFile(String filePath, String fileName);
     
+    /**
+     * 流式解析Excel/CSV文件，按块回调
+     * 
+     * @return 解析出的数据行总数
+     */
+    int parseImportFile(String filePath, String fileName, int chunkSize,
+                        Consumer<List<CaseImportDTO>> chunkHandler);
+    
     /**
      * 检查借据编号是否存在
      */
     boolean existsByReceiptNumber(String receiptNumber, Long excludeId);
     
     /**
-     * 获取待分案的案件
+     * 获取待分案的案件，最多返回前1000条，hasNext为true表示结果已截断，完整结果使用分页或流式查询
+     */
+    Slice<CaseDTO> getPendingAssignmentCases();
+    
+    /**
+     * 分页获取待分案的案件
+     */
+    Page<CaseDTO> getPendingAssignmentCases(Pageable pageable);
+    
+    /**
+     * 以NDJSON逐行输出全部待分案的案件
+     * 
+     * @param out 输出流（由调用方负责关闭）
+     */
+    void streamPendingAssignmentCases(OutputStream out) throws IOException;
+    
+    /**
+     * 获取超期未处理的案件，最多返回前1000条，hasNext为true表示结果已截断，完整结果使用分页或流式查询
+     */
+    Slice<CaseDTO> getOverdueCases(int timeoutDays);
+    
+    /**
+     * 分页获取超期未处理的案件
      */
-    List<CaseDTO> getPendingAssignmentCases();
+    Page<CaseDTO> getOverdueCases(int timeoutDays, Pageable pageable);
     
     /**
-     * 获取超期未处理的案件
+     * 以NDJSON逐行输出全部超期未处理的案件
+     * 
+     * @param out 输出流（由调用方负责关闭）
      */
-    List<CaseDTO> getOverdueCases(int timeoutDays);
+    void streamOverdueCases(int timeoutDays, OutputStream out) throws IOException;
     
     /**
      * 统计案件状态分布
@@ -127,9 +236,21 @@ public interface CaseService {
     Object[] getRecoveryStatistics(Long orgId);
     
     /**
-     * 根据逾期天数范围查询案件
+     * 根据逾期天数范围查询案件，最多返回前1000条，hasNext为true表示结果已截断，完整结果使用分页或流式查询
+     */
+    Slice<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays);
+    
+    /**
+     * 根据逾期天数范围分页查询案件
+     */
+    Page<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays, Pageable pageable);
+    
+    /**
+     * 以NDJSON逐行输出逾期天数范围内的全部案件
+     * 
+     * @param out 输出流（由调用方负责关闭）
      */
-    List<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays);
+    void streamCasesByOverdueDaysRange(Integer minDays, Integer maxDays, OutputStream out) throws IOException;
     
     /**
      * 计算逾期等级
@@ -4,8 +4,16 @@ import com.drmp.cases.dto.CasePackageDTO;
 import com.drmp.cases.dto.BatchImportResult;
 import com.drmp.cases.dto.CaseImportDTO;
 import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.importer.CaseImportPipeline;
+import com.drmp.cases.importer.ImportChunk;
+import com.drmp.cases.importer.ImportErrorReport;
+import com.drmp.cases.importer.ImportFileSpooler;
+import com.drmp.cases.importer.ImportSummaryAccumulator;
+import com.drmp.cases.importer.ImportTaskRegistry;
+import com.drmp.cases.importer.ReceiptNumberDuplicateChecker;
 import com.drmp.cases.repository.CasePackageRepository;
 import com.drmp.cases.repository.CaseRepository;
+import com.drmp.cases.search.CaseSearchIndex;
 import com.drmp.cases.service.CasePackageService;
 import com.drmp.cases.service.CaseService;
 import com.drmp.common.exception.BusinessException;
@@ -13,20 +21,35 @@ import com.drmp.common.exception.ErrorCode;
 import com.drmp.common.util.JsonUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * 案件包服务实现类
@@ -43,9 +66,31 @@ public class CasePackageServiceImpl implements CasePackageService {
     private final CasePackageRepository casePackageRepository;
     private final CaseRepository caseRepository;
     private final CaseService caseService;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("caseImportExecutor")
+    private final Executor caseImportExecutor;
+    @Qualifier("caseImportTaskExecutor")
+    private final Executor caseImportTaskExecutor;
+    private final ImportTaskRegistry importTaskRegistry;
+    private final ImportFileSpooler importFileSpooler;
+    private final ImportErrorReport importErrorReport;
+    private final CaseSearchIndex caseSearchIndex;
     
-    // 导入任务缓存
-    private final Map<String, BatchImportResult> importTaskCache = new ConcurrentHashMap<>();
+    // 导入流水线阶段之间的队列容量（数据块个数）
+    private static final int PIPELINE_QUEUE_CAPACITY = 2;
+    
+    // 导入阶段在总进度中的起止百分比，其后为统计更新
+    private static final int IMPORT_PROGRESS_START = 10;
+    private static final int IMPORT_PROGRESS_END = 90;
+    
+    @Value("${drmp.case.import.batch-size:1000}")
+    private int importBatchSize;
+    
+    @Value("${drmp.case.import.max-error-count:100}")
+    private int maxErrorCount;
+    
+    @Value("${drmp.case.import.timeout-minutes:120}")
+    private int importTimeoutMinutes;
     
     @Override
     @Transactional
@@ -79,6 +124,7 @@ public class CasePackageServiceImpl implements CasePackageService {
         casePackage.setImportProgress(0);
         
         casePackage = casePackageRepository.save(casePackage);
+        caseSearchIndex.indexPackage(casePackage);
         
         log.info("案件包创建成功, ID: {}", casePackage.getId());
         return convertToDTO(casePackage);
@@ -116,6 +162,7 @@ public class CasePackageServiceImpl implements CasePackageService {
         casePackage.setAssignmentStrategy(JsonUtils.toJsonString(casePackageDTO.getAssignmentStrategy()));
         
         casePackage = casePackageRepository.save(casePackage);
+        caseSearchIndex.indexPackage(casePackage);
         
         log.info("案件包更新成功, ID: {}", id);
         return convertToDTO(casePackage);
@@ -145,6 +192,7 @@ public class CasePackageServiceImpl implements CasePackageService {
         // 软删除
         casePackage.setDeleted(true);
         casePackageRepository.save(casePackage);
+        caseSearchIndex.indexPackage(casePackage);
         
         log.info("案件包删除成功, ID: {}", id);
     }
@@ -154,6 +202,12 @@ public class CasePackageServiceImpl implements CasePackageService {
                                               CasePackage.CasePackageStatus status,
                                               String keyword,
                                               Pageable pageable) {
+        List<Long> ranked = caseSearchIndex.searchPackages(keyword);
+        if (ranked != null) {
+            return toRankedPage(casePackageRepository.findByIdInAndConditions(ranked, sourceOrgId, status),
+                ranked, pageable);
+        }
+        
         Page<CasePackage> casePackages = casePackageRepository.findByConditions(
             sourceOrgId, status, keyword, pageable);
         return casePackages.map(this::convertToDTO);
@@ -226,100 +280,339 @@ public class CasePackageServiceImpl implements CasePackageService {
         log.info("案件包关闭成功, ID: {}", id);
     }
     
+    /**
+     * 上传文件在请求线程中落盘并计算哈希，异步导入只读取落盘后的文件；
+     * 同一案件包重复上传相同内容的文件时（按案件包记录的文件哈希判断）返回已有的导入结果，不再重新解析；
+     * 导入在后台执行，立即返回包含taskId的初始结果
+     */
     @Override
-    @Async
-    public CompletableFuture<BatchImportResult> importCases(Long casePackageId, MultipartFile file) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchImportResult importCases(Long casePackageId, MultipartFile file) {
+        // 检查案件包是否存在
+        CasePackage casePackage = casePackageRepository.findById(casePackageId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.CASE_PACKAGE_NOT_FOUND));
+        
+        // 保存文件，文件保留至导入结束以便续传
+        ImportFileSpooler.SpooledFile spooled = importFileSpooler.spool(file);
+        BatchImportResult existing = findExistingImport(casePackage, spooled.getSha256());
+        if (existing != null) {
+            log.info("重复上传的导入文件，返回已有导入结果: casePackageId={}, taskId={}, sha256={}", 
+                    casePackageId, existing.getTaskId(), spooled.getSha256());
+            importFileSpooler.delete(spooled.getPath());
+            return existing;
+        }
+        
         String taskId = UUID.randomUUID().toString();
-        log.info("开始批量导入案件: casePackageId={}, taskId={}, fileName={}", 
-                casePackageId, taskId, file.getOriginalFilename());
+        String filePath = spooled.getPath().toString();
+        String fileName = spooled.getOriginalFilename();
+        
+        // 记录导入文件并重置断点；已有未超时的导入正在进行时不再开始
+        LocalDateTime now = LocalDateTime.now();
+        if (casePackageRepository.startImport(casePackageId, taskId, filePath, fileName, 
+                spooled.getSha256(), now, now.minusMinutes(importTimeoutMinutes)) == 0) {
+            importFileSpooler.delete(spooled.getPath());
+            throw new BusinessException(ErrorCode.IMPORT_IN_PROGRESS);
+        }
+        // 新导入已重置断点，上一次导入的文件不再用于续传
+        if (casePackage.getImportFilePath() != null) {
+            importFileSpooler.delete(Paths.get(casePackage.getImportFilePath()));
+        }
+        log.info("开始批量导入案件: casePackageId={}, taskId={}, fileName={}, size={}", 
+                casePackageId, taskId, fileName, spooled.getSize());
         
-        // 初始化导入结果
-        BatchImportResult result = new BatchImportResult();
-        result.setTaskId(taskId);
-        result.setFileName(file.getOriginalFilename());
-        result.setStatus(BatchImportResult.ImportStatus.PROCESSING);
-        result.setProgress(0);
-        result.setStartTime(LocalDateTime.now());
-        importTaskCache.put(taskId, result);
+        // 初始化导入结果，清除上一次导入的错误报告
+        BatchImportResult result = newImportResult(taskId, fileName);
+        importErrorReport.delete(casePackageId);
+        
+        submitImport(result, casePackageId, 
+            () -> runImport(result, casePackageId, filePath, fileName, 0, 0, 0, null));
+        return result;
+    }
+    
+    /**
+     * 查找同一文件已有的导入：进行中或已完成时返回其结果，任务进度已过期时按案件包记录构造
+     */
+    private BatchImportResult findExistingImport(CasePackage casePackage, String fileHash) {
+        CasePackage.ImportStatus status = casePackage.getImportStatus();
+        if (!fileHash.equals(casePackage.getImportFileHash())
+                || (status != CasePackage.ImportStatus.PROCESSING
+                    && status != CasePackage.ImportStatus.SUCCESS
+                    && status != CasePackage.ImportStatus.PARTIAL_SUCCESS)) {
+            return null;
+        }
         
+        BatchImportResult result = casePackage.getImportTaskId() != null
+            ? importTaskRegistry.get(casePackage.getImportTaskId()) : null;
+        if (result != null) {
+            return result;
+        }
+        
+        result = new BatchImportResult();
+        result.setTaskId(casePackage.getImportTaskId());
+        result.setFileName(casePackage.getImportFileName());
+        result.setStatus(BatchImportResult.ImportStatus.valueOf(status.name()));
+        result.setProgress(casePackage.getImportProgress());
+        result.setSuccessCount(casePackage.getImportSuccessCount());
+        result.setFailureCount(casePackage.getImportFailureCount());
+        result.setTotalRecords(casePackage.getImportSuccessCount() + casePackage.getImportFailureCount());
+        result.setSkipCount(0);
+        result.setErrorMessage(casePackage.getImportErrorMsg());
+        if (casePackage.getImportSummary() != null) {
+            result.setSummary(ImportSummaryAccumulator.fromJson(casePackage.getImportSummary()).toSummary());
+        }
+        return result;
+    }
+    
+    /**
+     * 在调用线程中认领续传，导入在后台执行，立即返回包含taskId的初始结果
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchImportResult resumeImport(Long casePackageId) {
+        CasePackage casePackage = casePackageRepository.findById(casePackageId)
+            .orElseThrow(() -> new BusinessException(ErrorCode.CASE_PACKAGE_NOT_FOUND));
+        
+        String filePath = casePackage.getImportFilePath();
+        if (filePath == null || !Files.exists(Paths.get(filePath))) {
+            throw new BusinessException(ErrorCode.IMPORT_CANNOT_RESUME, "导入文件不存在，无法从断点继续");
+        }
+        
+        String taskId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        if (casePackageRepository.claimImportResume(casePackageId, taskId, now, 
+                now.minusMinutes(importTimeoutMinutes)) == 0) {
+            throw new BusinessException(ErrorCode.IMPORT_CANNOT_RESUME);
+        }
+        
+        log.info("从断点继续导入案件: casePackageId={}, taskId={}, checkpoint={}", 
+                casePackageId, taskId, casePackage.getImportCheckpoint());
+        
+        // 断点之后的错误文件来自未提交的数据块，续传时重新生成
+        importErrorReport.discardFrom(casePackageId, casePackage.getImportCheckpoint());
+        
+        BatchImportResult result = newImportResult(taskId, casePackage.getImportFileName());
+        submitImport(result, casePackageId, 
+            () -> runImport(result, casePackageId, filePath, casePackage.getImportFileName(),
+                casePackage.getImportCheckpoint(), casePackage.getImportSuccessCount(),
+                casePackage.getImportFailureCount(), casePackage.getImportSummary()));
+        return result;
+    }
+    
+    /**
+     * 提交已认领的导入到导入任务线程池；线程池已满时不在请求线程中执行，
+     * 将导入标记为失败（断点保留，可稍后续传）并返回繁忙错误
+     */
+    private void submitImport(BatchImportResult result, Long casePackageId, Runnable importTask) {
         try {
-            // 检查案件包是否存在
-            CasePackage casePackage = casePackageRepository.findById(casePackageId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.CASE_PACKAGE_NOT_FOUND));
-            
-            // 更新导入状态
-            casePackageRepository.updateImportStatus(casePackageId, 
-                CasePackage.ImportStatus.PROCESSING, 0, null);
-            
-            // 解析文件
-            String filePath = saveUploadedFile(file);
-            List<CaseImportDTO> importData = caseService.parseImportFile(filePath, file.getOriginalFilename());
-            result.setTotalRecords(importData.size());
-            result.setProgress(20);
-            importTaskCache.put(taskId, result);
-            
-            // 验证数据
-            List<CaseImportDTO> validatedData = caseService.validateImportData(importData);
-            result.setProgress(40);
-            importTaskCache.put(taskId, result);
-            
-            // 导入数据
-            caseService.batchImportCases(casePackageId, validatedData);
-            result.setProgress(80);
-            importTaskCache.put(taskId, result);
-            
-            // 更新统计信息
-            updateCasePackageStatistics(casePackageId);
-            result.setProgress(100);
-            
-            // 计算结果
-            int successCount = (int) validatedData.stream().filter(d -> d.getValid()).count();
-            int failureCount = validatedData.size() - successCount;
-            
-            result.setSuccessCount(successCount);
-            result.setFailureCount(failureCount);
-            result.setSkipCount(0);
-            result.setEndTime(LocalDateTime.now());
-            result.setDuration(java.time.Duration.between(result.getStartTime(), result.getEndTime()).getSeconds());
-            
-            if (failureCount == 0) {
-                result.setStatus(BatchImportResult.ImportStatus.SUCCESS);
-                casePackageRepository.updateImportStatus(casePackageId, 
-                    CasePackage.ImportStatus.SUCCESS, 100, null);
-            } else if (successCount > 0) {
-                result.setStatus(BatchImportResult.ImportStatus.PARTIAL_SUCCESS);
-                casePackageRepository.updateImportStatus(casePackageId, 
-                    CasePackage.ImportStatus.PARTIAL_SUCCESS, 100, 
-                    String.format("成功导入%d条，失败%d条", successCount, failureCount));
-            } else {
-                result.setStatus(BatchImportResult.ImportStatus.FAILED);
-                casePackageRepository.updateImportStatus(casePackageId, 
-                    CasePackage.ImportStatus.FAILED, 100, "所有数据导入失败");
-            }
-            
-            importTaskCache.put(taskId, result);
-            log.info("批量导入案件完成: taskId={}, success={}, failure={}", 
-                    taskId, successCount, failureCount);
-            
-        } catch (Exception e) {
-            log.error("批量导入案件失败: taskId={}", taskId, e);
+            caseImportTaskExecutor.execute(() -> {
+                try {
+                    importTask.run();
+                } catch (Exception e) {
+                    failImport(result, casePackageId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("导入任务线程池已满，拒绝导入: casePackageId={}, taskId={}", casePackageId, result.getTaskId());
             
+            String message = ErrorCode.IMPORT_BUSY.getMessage();
             result.setStatus(BatchImportResult.ImportStatus.FAILED);
-            result.setErrorMessage(e.getMessage());
+            result.setErrorMessage(message);
             result.setEndTime(LocalDateTime.now());
-            result.setProgress(0);
-            importTaskCache.put(taskId, result);
-            
+            importTaskRegistry.save(result);
+            casePackageRepository.updateImportStatus(casePackageId, CasePackage.ImportStatus.FAILED, 0, message);
+            throw new BusinessException(ErrorCode.IMPORT_BUSY);
+        }
+    }
+    
+    /**
+     * 执行导入：逐块校验、写入，每块数据与导入断点在同一事务中提交；
+     * 断点之前的行已在此前的执行中提交，只参与文件内查重，不再写入；
+     * 导入摘要在写入阶段随成功写入的行累计，与断点一起保存，无需导入后再聚合查询案件表
+     */
+    private void runImport(BatchImportResult result, Long casePackageId, String filePath, String fileName,
+                           int checkpoint, int priorSuccessCount, int priorFailureCount, String priorSummary) {
+        AtomicInteger processedRows = new AtomicInteger(checkpoint);
+        AtomicInteger successCounter = new AtomicInteger(priorSuccessCount);
+        AtomicInteger failureCounter = new AtomicInteger(priorFailureCount);
+        List<BatchImportResult.ImportError> errors = Collections.synchronizedList(new ArrayList<>());
+        result.setErrors(errors);
+        result.setProgress(IMPORT_PROGRESS_START);
+        importTaskRegistry.save(result);
+        
+        int estimatedRows = caseService.estimateImportRows(filePath, fileName);
+        ReceiptNumberDuplicateChecker duplicateChecker = caseService.createDuplicateChecker();
+        ImportSummaryAccumulator summary = ImportSummaryAccumulator.fromJson(priorSummary);
+        
+        // 每个数据块在独立的新事务中提交，不加入调用方可能存在的事务
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        // 解析 -> 校验 -> 加密 -> 写入，阶段之间通过有界队列衔接，内存中只保留少量数据块
+        CaseImportPipeline pipeline = new CaseImportPipeline(caseImportExecutor, PIPELINE_QUEUE_CAPACITY)
+            .stage("validate", chunk -> {
+                // 断点之前的行已在此前的执行中提交，只参与文件内查重
+                List<CaseImportDTO> rows = chunk.getRows();
+                int committed = Math.min(Math.max(checkpoint - chunk.getStartRow(), 0), rows.size());
+                if (committed > 0) {
+                    duplicateChecker.remember(rows.subList(0, committed));
+                }
+                if (committed < rows.size()) {
+                    chunk.setPendingRows(caseService.validateImportData(
+                        rows.subList(committed, rows.size()), duplicateChecker));
+                }
+            })
+            .stage("encrypt", chunk -> {
+                List<CaseImportDTO> validRows = chunk.getPendingRows().stream()
+                    .filter(data -> Boolean.TRUE.equals(data.getValid()))
+                    .collect(Collectors.toList());
+                chunk.setValidRows(validRows);
+                chunk.setCases(caseService.encryptImportCases(casePackageId, validRows));
+            })
+            .stage("write", chunk -> {
+                List<CaseImportDTO> pendingRows = chunk.getPendingRows();
+                if (pendingRows.isEmpty()) {
+                    return;
+                }
+                
+                // 数据块与断点在同一事务中提交；全部错误行在断点提交前写入以首个待写入行命名的错误文件，
+                // 中断后不会丢失，回滚后重试时覆盖同名文件；导入结果中只保留前max-error-count条样例
+                int progress = importProgress(chunk.getEndRow(), estimatedRows);
+                List<BatchImportResult.ImportError> chunkErrors = new ArrayList<>();
+                int imported = chunkTransaction.execute(status -> {
+                    int written = caseService.writeImportCases(chunk.getValidRows(), chunk.getCases());
+                    for (CaseImportDTO data : chunk.getValidRows()) {
+                        if (Boolean.TRUE.equals(data.getValid())) {
+                            summary.add(data, caseService.calculateOverdueLevel(data.getOverdueDays()));
+                        }
+                    }
+                    for (CaseImportDTO data : pendingRows) {
+                        if (!Boolean.TRUE.equals(data.getValid())) {
+                            chunkErrors.add(toImportError(data));
+                        }
+                    }
+                    importErrorReport.append(casePackageId, chunk.getEndRow() - pendingRows.size(), chunkErrors);
+                    casePackageRepository.updateImportCheckpoint(casePackageId, chunk.getEndRow(),
+                        successCounter.get() + written,
+                        failureCounter.get() + pendingRows.size() - written,
+                        summary.toJson(), progress, LocalDateTime.now());
+                    return written;
+                });
+                
+                processedRows.set(chunk.getEndRow());
+                successCounter.addAndGet(imported);
+                failureCounter.addAndGet(pendingRows.size() - imported);
+                List<BatchImportResult.ImportError> samples = chunkErrors.subList(0, 
+                    Math.min(chunkErrors.size(), Math.max(maxErrorCount - errors.size(), 0)));
+                errors.addAll(samples);
+                importTaskRegistry.appendErrors(result.getTaskId(), samples);
+                
+                result.setTotalRecords(processedRows.get());
+                result.setSuccessCount(successCounter.get());
+                result.setFailureCount(failureCounter.get());
+                result.setProgress(progress);
+                importTaskRegistry.save(result);
+            });
+        
+        AtomicInteger parsedRows = new AtomicInteger();
+        pipeline.run(sink -> caseService.parseImportFile(filePath, fileName, importBatchSize,
+            rows -> sink.accept(new ImportChunk(parsedRows.getAndAdd(rows.size()), rows))));
+        result.setStageMillis(pipeline.getStageMillis());
+        log.info("导入流水线各阶段耗时(ms): taskId={}, {}", result.getTaskId(), result.getStageMillis());
+        
+        result.setProgress(IMPORT_PROGRESS_END);
+        importTaskRegistry.save(result);
+        
+        // 更新统计信息
+        updateCasePackageStatistics(casePackageId);
+        result.setProgress(100);
+        
+        // 计算结果
+        int successCount = successCounter.get();
+        int failureCount = failureCounter.get();
+        
+        result.setTotalRecords(parsedRows.get());
+        result.setSuccessCount(successCount);
+        result.setFailureCount(failureCount);
+        result.setSkipCount(0);
+        result.setSummary(summary.toSummary());
+        result.setEndTime(LocalDateTime.now());
+        result.setDuration(java.time.Duration.between(result.getStartTime(), result.getEndTime()).getSeconds());
+        
+        if (failureCount == 0) {
+            result.setStatus(BatchImportResult.ImportStatus.SUCCESS);
+            casePackageRepository.updateImportStatus(casePackageId, 
+                CasePackage.ImportStatus.SUCCESS, 100, null);
+        } else if (successCount > 0) {
+            result.setStatus(BatchImportResult.ImportStatus.PARTIAL_SUCCESS);
+            casePackageRepository.updateImportStatus(casePackageId, 
+                CasePackage.ImportStatus.PARTIAL_SUCCESS, 100, 
+                String.format("成功导入%d条，失败%d条", successCount, failureCount));
+        } else {
+            result.setStatus(BatchImportResult.ImportStatus.FAILED);
             casePackageRepository.updateImportStatus(casePackageId, 
-                CasePackage.ImportStatus.FAILED, 0, e.getMessage());
+                CasePackage.ImportStatus.FAILED, 100, "所有数据导入失败");
         }
         
-        return CompletableFuture.completedFuture(result);
+        importTaskRegistry.save(result);
+        importFileSpooler.delete(Paths.get(filePath));
+        log.info("批量导入案件完成: taskId={}, success={}, failure={}", 
+                result.getTaskId(), successCount, failureCount);
+    }
+    
+    /**
+     * 按已提交行数与估算总行数计算进度，导入阶段占10%-90%，未完成前不超过89%
+     */
+    private int importProgress(int committedRows, int estimatedRows) {
+        if (estimatedRows <= 0) {
+            return IMPORT_PROGRESS_START;
+        }
+        int span = IMPORT_PROGRESS_END - IMPORT_PROGRESS_START;
+        long progress = IMPORT_PROGRESS_START + (long) span * committedRows / estimatedRows;
+        return (int) Math.min(progress, IMPORT_PROGRESS_END - 1);
+    }
+    
+    private BatchImportResult newImportResult(String taskId, String fileName) {
+        BatchImportResult result = new BatchImportResult();
+        result.setTaskId(taskId);
+        result.setFileName(fileName);
+        result.setStatus(BatchImportResult.ImportStatus.PROCESSING);
+        result.setProgress(0);
+        result.setStartTime(LocalDateTime.now());
+        importTaskRegistry.save(result);
+        return result;
+    }
+    
+    /**
+     * 导入失败处理，已提交的数据块与断点保留，可通过resumeImport继续
+     */
+    private void failImport(BatchImportResult result, Long casePackageId, Exception e) {
+        log.error("批量导入案件失败: taskId={}", result.getTaskId(), e);
+        
+        result.setStatus(BatchImportResult.ImportStatus.FAILED);
+        result.setErrorMessage(e.getMessage());
+        result.setEndTime(LocalDateTime.now());
+        result.setProgress(0);
+        importTaskRegistry.save(result);
+        
+        casePackageRepository.updateImportStatus(casePackageId, 
+            CasePackage.ImportStatus.FAILED, 0, e.getMessage());
     }
     
     @Override
     public BatchImportResult getImportProgress(String taskId) {
-        return importTaskCache.get(taskId);
+        return importTaskRegistry.get(taskId);
+    }
+    
+    @Override
+    public void checkImportErrorReport(Long casePackageId) {
+        if (!importErrorReport.exists(casePackageId)) {
+            throw new BusinessException(ErrorCode.IMPORT_ERROR_REPORT_NOT_FOUND);
+        }
+    }
+    
+    @Override
+    public void writeImportErrorReport(Long casePackageId, OutputStream out) throws IOException {
+        importErrorReport.writeCsv(casePackageId, out);
     }
     
     @Override
@@ -360,16 +653,37 @@ public class CasePackageServiceImpl implements CasePackageService {
         return casePackageRepository.countByStatus();
     }
     
+    /**
+     * 不在事务中执行：每个案件包的续传认领与状态更新各自提交，
+     * 续传在后台执行，扫描期间不持有案件包的行锁
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void processTimeoutImports() {
-        LocalDateTime timeoutTime = LocalDateTime.now().minusHours(2); // 2小时超时
+        LocalDateTime timeoutTime = LocalDateTime.now().minusMinutes(importTimeoutMinutes);
         List<CasePackage> timeoutImports = casePackageRepository.findTimeoutImports(timeoutTime);
         
         for (CasePackage casePackage : timeoutImports) {
-            log.warn("导入任务超时: casePackageId={}", casePackage.getId());
-            casePackageRepository.updateImportStatus(casePackage.getId(), 
-                CasePackage.ImportStatus.FAILED, 0, "导入任务超时");
+            String filePath = casePackage.getImportFilePath();
+            if (filePath != null && Files.exists(Paths.get(filePath))) {
+                // 导入节点重启或卡死，从最后提交的数据块继续
+                log.warn("导入任务超时，从断点继续: casePackageId={}, checkpoint={}", 
+                        casePackage.getId(), casePackage.getImportCheckpoint());
+                resumeTimeoutImport(casePackage.getId());
+            } else {
+                log.warn("导入任务超时: casePackageId={}", casePackage.getId());
+                casePackageRepository.updateImportStatus(casePackage.getId(), 
+                    CasePackage.ImportStatus.FAILED, 0, "导入任务超时");
+            }
+        }
+    }
+    
+    private void resumeTimeoutImport(Long casePackageId) {
+        try {
+            resumeImport(casePackageId);
+        } catch (BusinessException e) {
+            // 已被其他节点认领
+            log.info("跳过超时导入续传: casePackageId={}, reason={}", casePackageId, e.getMessage());
         }
     }
     
@@ -399,6 +713,25 @@ public class CasePackageServiceImpl implements CasePackageService {
         }
     }
     
+    /**
+     * 关键词查询命中的案件包按搜索索引的相关度排序后分页
+     */
+    private Page<CasePackageDTO> toRankedPage(List<CasePackage> matched, List<Long> ranked, Pageable pageable) {
+        Map<Long, Integer> positions = new HashMap<>(ranked.size() * 2);
+        for (int i = 0; i < ranked.size(); i++) {
+            positions.put(ranked.get(i), i);
+        }
+        List<CasePackage> sorted = new ArrayList<>(matched);
+        sorted.sort(Comparator.comparing(casePackage -> positions.get(casePackage.getId())));
+        
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        List<CasePackageDTO> content = sorted.subList(from, to).stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, sorted.size());
+    }
+    
     /**
      * 实体转DTO
      */
@@ -420,6 +753,9 @@ public class CasePackageServiceImpl implements CasePackageService {
         dto.setImportStatus(casePackage.getImportStatus());
         dto.setImportProgress(casePackage.getImportProgress());
         dto.setImportErrorMsg(casePackage.getImportErrorMsg());
+        if (casePackage.getImportSummary() != null) {
+            dto.setImportSummary(ImportSummaryAccumulator.fromJson(casePackage.getImportSummary()).toSummary());
+        }
         dto.setPublishTime(casePackage.getPublishTime());
         dto.setCreateTime(casePackage.getCreateTime());
         dto.setUpdateTime(casePackage.getUpdateTime());
@@ -427,11 +763,15 @@ public class CasePackageServiceImpl implements CasePackageService {
     }
     
     /**
-     * 保存上传的文件
+     * 转换为导入错误详情
      */
-    private String saveUploadedFile(MultipartFile file) {
-        // 实现文件保存逻辑，返回文件路径
-        // 这里暂时返回一个模拟路径
-        return "/tmp/uploads/" + UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+    private BatchImportResult.ImportError toImportError(CaseImportDTO data) {
+        BatchImportResult.ImportError error = new BatchImportResult.ImportError();
+        error.setRowNumber(data.getRowNumber());
+        error.setReceiptNumber(data.getReceiptNumber());
+        error.setErrorType(data.getErrorType() != null
+            ? data.getErrorType() : BatchImportResult.ImportError.TYPE_VALIDATION);
+        error.setErrorMessage(data.getErrorMessage());
+        return error;
     }
 }
\ No newline at end of file
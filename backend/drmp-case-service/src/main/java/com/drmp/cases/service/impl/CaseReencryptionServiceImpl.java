@@ -0,0 +1,246 @@
+package com.drmp.cases.service.impl;
+
+import com.drmp.cases.config.EncryptProperties;
+import com.drmp.cases.dto.ReencryptionStatusDTO;
+import com.drmp.cases.repository.CaseReencryptionRepository;
+import com.drmp.cases.repository.CaseReencryptionRepository.EncryptedRow;
+import com.drmp.cases.service.CaseReencryptionService;
+import com.drmp.common.exception.BusinessException;
+import com.drmp.common.exception.ErrorCode;
+import com.drmp.common.util.EncryptUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 案件敏感字段重加密服务实现
+ * 按主键游标分批读取密钥版本落后或尚未生成盲索引的行，解密后以当前版本密钥重新加密并写回，
+ * 同时补齐盲索引与脱敏值；重建索引模式处理全部行；按配置的每秒行数限速，处理进度与速度通过指标暴露
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaseReencryptionServiceImpl implements CaseReencryptionService {
+    
+    private static final String METRIC_PREFIX = "drmp.case.reencryption";
+    
+    private final CaseReencryptionRepository reencryptionRepository;
+    private final EncryptProperties encryptProperties;
+    @Qualifier("taskExecutor")
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong reencryptedRows = new AtomicLong();
+    private final AtomicLong conflictRows = new AtomicLong();
+    private final AtomicLong undecryptableRows = new AtomicLong();
+    
+    private volatile boolean stopRequested;
+    private volatile int targetVersion;
+    private volatile boolean reindex;
+    private volatile long totalRows;
+    private volatile long lastId;
+    private volatile double rowsPerSecond;
+    private volatile LocalDateTime startTime;
+    private volatile LocalDateTime finishTime;
+    private volatile String errorMessage;
+    
+    private Counter reencryptedCounter;
+    private Counter conflictCounter;
+    private Counter undecryptableCounter;
+    private Timer batchTimer;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        reencryptedCounter = Counter.builder(METRIC_PREFIX + ".rows")
+            .description("重加密处理的行数").tag("result", "reencrypted").register(meterRegistry);
+        conflictCounter = Counter.builder(METRIC_PREFIX + ".rows")
+            .description("重加密处理的行数").tag("result", "conflict").register(meterRegistry);
+        undecryptableCounter = Counter.builder(METRIC_PREFIX + ".rows")
+            .description("重加密处理的行数").tag("result", "undecryptable").register(meterRegistry);
+        batchTimer = Timer.builder(METRIC_PREFIX + ".batch")
+            .description("单批重加密耗时（含读取与写回）").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".running", running, flag -> flag.get() ? 1 : 0)
+            .description("重加密任务是否正在执行").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".remaining", this, service -> service.remainingRows())
+            .description("本次任务剩余待处理的行数").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".throughput", this, service -> service.rowsPerSecond)
+            .description("重加密处理速度（行/秒）").register(meterRegistry);
+    }
+    
+    @Override
+    public ReencryptionStatusDTO start(boolean reindex) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.CASE_REENCRYPTION_RUNNING);
+        }
+        
+        try {
+            targetVersion = EncryptUtils.activeKeyVersion();
+            this.reindex = reindex;
+            stopRequested = false;
+            reencryptedRows.set(0);
+            conflictRows.set(0);
+            undecryptableRows.set(0);
+            lastId = 0;
+            rowsPerSecond = 0;
+            startTime = LocalDateTime.now();
+            finishTime = null;
+            errorMessage = null;
+            totalRows = reencryptionRepository.countPending(targetVersion, reindex);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        
+        log.info("启动敏感字段重加密: targetVersion={}, reindex={}, pendingRows={}", targetVersion, reindex, totalRows);
+        CompletableFuture.runAsync(this::run, taskExecutor);
+        return getStatus();
+    }
+    
+    @Override
+    public ReencryptionStatusDTO stop() {
+        if (running.get()) {
+            stopRequested = true;
+            log.info("请求停止敏感字段重加密: lastId={}", lastId);
+        }
+        return getStatus();
+    }
+    
+    @Override
+    public ReencryptionStatusDTO getStatus() {
+        ReencryptionStatusDTO status = new ReencryptionStatusDTO();
+        status.setRunning(running.get());
+        status.setTargetVersion(targetVersion);
+        status.setReindex(reindex);
+        status.setTotalRows(totalRows);
+        status.setReencryptedRows(reencryptedRows.get());
+        status.setConflictRows(conflictRows.get());
+        status.setUndecryptableRows(undecryptableRows.get());
+        status.setLastId(lastId);
+        status.setRowsPerSecond(rowsPerSecond);
+        status.setStartTime(startTime);
+        status.setFinishTime(finishTime);
+        status.setErrorMessage(errorMessage);
+        return status;
+    }
+    
+    private void run() {
+        int batchSize = Math.max(encryptProperties.getReencrypt().getBatchSize(), 1);
+        int maxRowsPerSecond = encryptProperties.getReencrypt().getMaxRowsPerSecond();
+        long startNanos = System.nanoTime();
+        long processed = 0;
+        
+        try {
+            while (!stopRequested) {
+                long batchStart = System.nanoTime();
+                List<EncryptedRow> rows = reencryptionRepository.findBatch(lastId, targetVersion, batchSize, reindex);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                
+                List<EncryptedRow> decryptable = new ArrayList<>(rows.size());
+                for (EncryptedRow row : rows) {
+                    if (reencrypt(row)) {
+                        decryptable.add(row);
+                    }
+                }
+                int skipped = rows.size() - decryptable.size();
+                int updated = decryptable.isEmpty() ? 0 : reencryptionRepository.update(decryptable, targetVersion);
+                batchTimer.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+                
+                reencryptedRows.addAndGet(updated);
+                conflictRows.addAndGet(decryptable.size() - updated);
+                undecryptableRows.addAndGet(skipped);
+                reencryptedCounter.increment(updated);
+                conflictCounter.increment(decryptable.size() - updated);
+                undecryptableCounter.increment(skipped);
+                
+                lastId = rows.get(rows.size() - 1).getId();
+                processed += rows.size();
+                rowsPerSecond = processed * 1_000_000_000.0 / Math.max(System.nanoTime() - startNanos, 1);
+                
+                throttle(startNanos, processed, maxRowsPerSecond);
+            }
+            
+            log.info("敏感字段重加密{}: reencrypted={}, conflict={}, undecryptable={}, rowsPerSecond={}",
+                stopRequested ? "已停止" : "完成", reencryptedRows.get(), conflictRows.get(),
+                undecryptableRows.get(), String.format("%.1f", rowsPerSecond));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorMessage = "任务被中断";
+            log.warn("敏感字段重加密被中断: lastId={}", lastId);
+        } catch (RuntimeException e) {
+            errorMessage = e.getMessage();
+            log.error("敏感字段重加密失败: lastId={}", lastId, e);
+        } finally {
+            finishTime = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+    
+    /**
+     * 解密并以当前版本密钥重新加密，同时计算盲索引与脱敏值
+     * 
+     * @return 密钥版本未配置或任一字段解密失败时返回false，不能把密文当作明文重新加密
+     */
+    private boolean reencrypt(EncryptedRow row) {
+        String idCard = EncryptUtils.tryDecrypt(row.getDebtorIdCard());
+        String name = EncryptUtils.tryDecrypt(row.getDebtorName());
+        String phone = EncryptUtils.tryDecrypt(row.getDebtorPhone());
+        if ((idCard == null && row.getDebtorIdCard() != null) || (name == null && row.getDebtorName() != null)
+                || (phone == null && row.getDebtorPhone() != null)) {
+            return false;
+        }
+        
+        row.setDebtorIdCard(EncryptUtils.encrypt(idCard));
+        row.setDebtorName(EncryptUtils.encrypt(name));
+        row.setDebtorPhone(EncryptUtils.encrypt(phone));
+        row.setDebtorIdCardIndex(EncryptUtils.idCardIndex(idCard));
+        row.setDebtorNameIndex(EncryptUtils.nameIndex(name));
+        row.setDebtorPhoneIndex(EncryptUtils.phoneIndex(phone));
+        row.setDebtorPhoneSuffixIndex(EncryptUtils.phoneSuffixIndex(phone));
+        row.setDebtorIdCardMasked(EncryptUtils.maskIdCard(idCard));
+        row.setDebtorNameMasked(EncryptUtils.maskName(name));
+        row.setDebtorPhoneMasked(EncryptUtils.maskPhone(phone));
+        return true;
+    }
+    
+    /**
+     * 处理速度超过上限时休眠，使平均速度不超过maxRowsPerSecond；上限不大于0时不限速
+     */
+    private void throttle(long startNanos, long processed, int maxRowsPerSecond) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = processed * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+    
+    private double remainingRows() {
+        if (!running.get()) {
+            return 0;
+        }
+        return Math.max(totalRows - reencryptedRows.get() - conflictRows.get() - undecryptableRows.get(), 0);
+    }
+}
\ No newline at end of file
@@ -3,26 +3,56 @@ package com.drmp.cases.service.impl;
 import com.drmp.cases.dto.CaseDTO;
 import com.drmp.cases.dto.CaseImportDTO;
 import com.drmp.cases.entity.Case;
+import com.drmp.cases.entity.CompactJson;
+import com.drmp.cases.importer.CaseImportReader;
+import com.drmp.cases.importer.ReceiptNumberDuplicateChecker;
+import com.drmp.cases.repository.CaseBatchWriter;
 import com.drmp.cases.repository.CaseRepository;
+import com.drmp.cases.search.CaseSearchIndex;
 import com.drmp.cases.service.CaseService;
+import com.drmp.common.dto.KeysetCursor;
+import com.drmp.common.dto.PageResult;
 import com.drmp.common.enums.CaseStatus;
 import com.drmp.common.exception.BusinessException;
 import com.drmp.common.exception.ErrorCode;
 import com.drmp.common.util.EncryptUtils;
+import com.drmp.common.util.JsonCodec;
 import com.drmp.common.util.JsonUtils;
+import com.drmp.common.util.LazyJson;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 案件服务实现类
@@ -37,6 +67,32 @@ import java.util.stream.Collectors;
 public class CaseServiceImpl implements CaseService {
     
     private final CaseRepository caseRepository;
+    private final List<CaseImportReader> importReaders;
+    private final CaseBatchWriter caseBatchWriter;
+    private final ForkJoinPool caseValidationPool;
+    private final CaseSearchIndex caseSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    
+    @Value("${drmp.case.import.parallel-validation:true}")
+    private boolean parallelValidation;
+    
+    // 未指定分块大小时的默认值
+    private static final int DEFAULT_IMPORT_CHUNK_SIZE = 1000;
+    
+    // 单次JDBC批处理的行数
+    private static final int JDBC_BATCH_SIZE = 500;
+    
+    // 不分页的列表查询最多返回的行数
+    private static final int MAX_LIST_SIZE = 1000;
+    
+    // 流式查询每次转换并写出的行数，写出后即从持久化上下文中清除
+    private static final int STREAM_CHUNK_SIZE = 500;
+    
+    private static final JsonCodec<CaseDTO> CASE_CODEC = JsonUtils.codec(CaseDTO.class);
+    
+    // 并行校验时单个任务的最大行数，数据量不超过该值时直接串行校验
+    private static final int VALIDATION_TASK_SIZE = 256;
     
     // 身份证号正则表达式
     private static final Pattern ID_CARD_PATTERN = Pattern.compile(
@@ -45,6 +101,12 @@ public class CaseServiceImpl implements CaseService {
     // 手机号正则表达式
     private static final Pattern PHONE_PATTERN = Pattern.compile("^1[3-9]\\d{9}$");
     
+    // 手机尾号搜索关键词
+    private static final Pattern PHONE_SUFFIX_PATTERN = Pattern.compile("^\\d{4}$");
+    
+    // 脱敏字符
+    private static final char MASK_CHAR = '*';
+    
     @Override
     @Transactional
     public CaseDTO createCase(CaseDTO caseDTO) {
@@ -68,6 +130,7 @@ public class CaseServiceImpl implements CaseService {
         caseEntity.setRecoveryRate(BigDecimal.ZERO);
         
         caseEntity = caseRepository.save(caseEntity);
+        caseSearchIndex.indexCase(caseEntity);
         
         log.info("案件创建成功, ID: {}", caseEntity.getId());
         return convertToDTO(caseEntity);
@@ -81,6 +144,9 @@ public class CaseServiceImpl implements CaseService {
         Case caseEntity = caseRepository.findById(id)
             .orElseThrow(() -> new BusinessException(ErrorCode.CASE_NOT_FOUND));
         
+        // 客户端回传的脱敏值不能当作新值加密入库
+        rejectMaskedFields(caseDTO);
+        
         // 验证数据
         validateCase(caseDTO);
         
@@ -93,16 +159,17 @@ public class CaseServiceImpl implements CaseService {
         copyDTOToEntity(caseDTO, caseEntity);
         
         caseEntity = caseRepository.save(caseEntity);
+        caseSearchIndex.indexCase(caseEntity);
         
         log.info("案件更新成功, ID: {}", id);
-        return convertToDTO(caseEntity);
+        return convertToMaskedDTO(caseEntity);
     }
     
     @Override
-    public CaseDTO getCaseById(Long id) {
+    public CaseDTO getCaseById(Long id, boolean plaintext) {
         Case caseEntity = caseRepository.findById(id)
             .orElseThrow(() -> new BusinessException(ErrorCode.CASE_NOT_FOUND));
-        return convertToDTO(caseEntity);
+        return plaintext ? convertToDTO(caseEntity) : convertToMaskedDTO(caseEntity);
     }
     
     @Override
@@ -122,15 +189,16 @@ public class CaseServiceImpl implements CaseService {
         // 软删除
         caseEntity.setDeleted(true);
         caseRepository.save(caseEntity);
+        caseSearchIndex.indexCase(caseEntity);
         
         log.info("案件删除成功, ID: {}", id);
     }
     
     @Override
-    public CaseDTO getCaseByReceiptNumber(String receiptNumber) {
+    public CaseDTO getCaseByReceiptNumber(String receiptNumber, boolean plaintext) {
         Case caseEntity = caseRepository.findByReceiptNumberAndDeletedFalse(receiptNumber)
             .orElseThrow(() -> new BusinessException(ErrorCode.CASE_NOT_FOUND));
-        return convertToDTO(caseEntity);
+        return plaintext ? convertToDTO(caseEntity) : convertToMaskedDTO(caseEntity);
     }
     
     @Override
@@ -139,9 +207,12 @@ public class CaseServiceImpl implements CaseService {
                                  Long assignedOrgId,
                                  String keyword,
                                  Pageable pageable) {
+        String term = searchTerm(keyword);
         Page<Case> cases = caseRepository.findByConditions(
-            casePackageId, status, assignedOrgId, keyword, pageable);
-        return cases.map(this::convertToDTO);
+            casePackageId, status, assignedOrgId, term, caseSearchIndex.searchCases(term),
+            EncryptUtils.idCardIndex(term), EncryptUtils.nameIndex(term),
+            EncryptUtils.phoneIndex(term), phoneSuffixIndex(term), pageable);
+        return convertToDTOs(cases);
     }
     
     @Override
@@ -149,9 +220,12 @@ public class CaseServiceImpl implements CaseService {
                                                 CaseStatus status,
                                                 String keyword,
                                                 Pageable pageable) {
+        String term = searchTerm(keyword);
         Page<Case> cases = caseRepository.findByCasePackageIdAndConditions(
-            casePackageId, status, keyword, pageable);
-        return cases.map(this::convertToDTO);
+            casePackageId, status, term, caseSearchIndex.searchCases(term),
+            EncryptUtils.idCardIndex(term), EncryptUtils.nameIndex(term),
+            EncryptUtils.phoneIndex(term), phoneSuffixIndex(term), pageable);
+        return convertToDTOs(cases);
     }
     
     @Override
@@ -159,7 +233,51 @@ public class CaseServiceImpl implements CaseService {
                                               CaseStatus status,
                                               Pageable pageable) {
         Page<Case> cases = caseRepository.findByAssignedOrgId(orgId, status, pageable);
-        return cases.map(this::convertToDTO);
+        return convertToDTOs(cases);
+    }
+    
+    @Override
+    public PageResult<CaseDTO> scrollCases(Long casePackageId,
+                                           CaseStatus status,
+                                           Long assignedOrgId,
+                                           String keyword,
+                                           String cursor,
+                                           int size) {
+        String term = searchTerm(keyword);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<Case> cases = caseRepository.findSliceByConditions(
+            casePackageId, status, assignedOrgId, term, caseSearchIndex.searchCases(term),
+            EncryptUtils.idCardIndex(term), EncryptUtils.nameIndex(term),
+            EncryptUtils.phoneIndex(term), phoneSuffixIndex(term),
+            cursorTime(position), cursorId(position), PageRequest.of(0, size));
+        return convertToSlice(cases, size, Case::getCreateTime);
+    }
+    
+    @Override
+    public PageResult<CaseDTO> scrollCasesByCasePackageId(Long casePackageId,
+                                                          CaseStatus status,
+                                                          String keyword,
+                                                          String cursor,
+                                                          int size) {
+        String term = searchTerm(keyword);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<Case> cases = caseRepository.findSliceByCasePackageIdAndConditions(
+            casePackageId, status, term, caseSearchIndex.searchCases(term),
+            EncryptUtils.idCardIndex(term), EncryptUtils.nameIndex(term),
+            EncryptUtils.phoneIndex(term), phoneSuffixIndex(term),
+            cursorTime(position), cursorId(position), PageRequest.of(0, size));
+        return convertToSlice(cases, size, Case::getCreateTime);
+    }
+    
+    @Override
+    public PageResult<CaseDTO> scrollCasesByAssignedOrg(Long orgId,
+                                                        CaseStatus status,
+                                                        String cursor,
+                                                        int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<Case> cases = caseRepository.findSliceByAssignedOrgId(
+            orgId, status, cursorTime(position), cursorId(position), PageRequest.of(0, size));
+        return convertToSlice(cases, size, Case::getAssignedAt);
     }
     
     @Override
@@ -219,83 +337,167 @@ public class CaseServiceImpl implements CaseService {
     
     @Override
     @Transactional
-    public List<CaseDTO> batchImportCases(Long casePackageId, List<CaseImportDTO> importData) {
+    public int batchImportCases(Long casePackageId, List<CaseImportDTO> importData) {
         log.info("批量导入案件: casePackageId={}, count={}", casePackageId, importData.size());
         
-        List<CaseDTO> results = new ArrayList<>();
-        
         // 过滤有效数据
         List<CaseImportDTO> validData = importData.stream()
             .filter(data -> data.getValid() != null && data.getValid())
             .collect(Collectors.toList());
         
-        // 批量插入
-        for (CaseImportDTO importDTO : validData) {
-            try {
-                CaseDTO caseDTO = convertImportDTOToCaseDTO(importDTO, casePackageId);
-                CaseDTO savedCase = createCase(caseDTO);
-                results.add(savedCase);
-            } catch (Exception e) {
-                log.error("导入案件失败: receiptNumber={}", importDTO.getReceiptNumber(), e);
-                importDTO.setValid(false);
-                importDTO.addError("保存失败: " + e.getMessage());
+        int successCount = writeImportCases(validData, encryptImportCases(casePackageId, validData));
+        log.info("批量导入案件完成: 成功 {} 条, 失败 {} 条", successCount, validData.size() - successCount);
+        return successCount;
+    }
+    
+    @Override
+    public List<Case> encryptImportCases(Long casePackageId, List<CaseImportDTO> validData) {
+        // 敏感字段按列批量加密
+        List<String> idCards = EncryptUtils.encryptAll(column(validData, CaseImportDTO::getDebtorIdCard));
+        List<String> names = EncryptUtils.encryptAll(column(validData, CaseImportDTO::getDebtorName));
+        List<String> phones = EncryptUtils.encryptAll(column(validData, CaseImportDTO::getDebtorPhone));
+        
+        List<Case> cases = new ArrayList<>(validData.size());
+        for (int i = 0; i < validData.size(); i++) {
+            Case caseEntity = new Case();
+            copyDTOToEntity(convertImportDTOToCaseDTO(validData.get(i), casePackageId), caseEntity,
+                idCards.get(i), names.get(i), phones.get(i));
+            cases.add(caseEntity);
+        }
+        return cases;
+    }
+    
+    @Override
+    @Transactional
+    public int writeImportCases(List<CaseImportDTO> validData, List<Case> cases) {
+        // JDBC批量插入，失败行回写到导入数据中
+        Map<Integer, String> failures = caseBatchWriter.insert(cases, JDBC_BATCH_SIZE);
+        failures.forEach((index, message) -> {
+            CaseImportDTO importDTO = validData.get(index);
+            importDTO.setValid(false);
+            importDTO.addError(message);
+        });
+        
+        List<String> receiptNumbers = new ArrayList<>(cases.size() - failures.size());
+        for (int i = 0; i < cases.size(); i++) {
+            if (!failures.containsKey(i)) {
+                receiptNumbers.add(cases.get(i).getReceiptNumber());
             }
         }
-        
-        log.info("批量导入案件完成: 成功 {} 条", results.size());
-        return results;
+        caseSearchIndex.indexImportedCases(receiptNumbers);
+        return cases.size() - failures.size();
     }
     
     @Override
     public List<CaseImportDTO> validateImportData(List<CaseImportDTO> importData) {
+        return validateImportData(importData, createDuplicateChecker());
+    }
+    
+    @Override
+    public List<CaseImportDTO> validateImportData(List<CaseImportDTO> importData,
+                                                  ReceiptNumberDuplicateChecker duplicateChecker) {
         log.info("验证导入数据: count={}", importData.size());
         
-        for (CaseImportDTO importDTO : importData) {
-            validateImportDTO(importDTO);
+        if (parallelValidation && importData.size() > VALIDATION_TASK_SIZE) {
+            // 原地校验各行，不改变列表顺序，错误报告仍按行号排列
+            List<CaseImportDTO> rows = importData instanceof RandomAccess ? importData : new ArrayList<>(importData);
+            caseValidationPool.invoke(new ValidationTask(rows, 0, rows.size()));
+        } else {
+            for (CaseImportDTO importDTO : importData) {
+                validateImportDTO(importDTO);
+            }
         }
         
+        // 借据编号查重：文件内哈希判重 + 批量IN查询，不逐行访问数据库
+        duplicateChecker.check(importData);
+        
         long validCount = importData.stream().filter(d -> d.getValid()).count();
         log.info("数据验证完成: 有效 {} 条，无效 {} 条", validCount, importData.size() - validCount);
         
         return importData;
     }
     
+    @Override
+    public ReceiptNumberDuplicateChecker createDuplicateChecker() {
+        return new ReceiptNumberDuplicateChecker(caseRepository::findExistingReceiptNumbers);
+    }
+    
+    @Override
+    public int estimateImportRows(String filePath, String fileName) {
+        try {
+            return findImportReader(fileName).estimateRows(Paths.get(filePath));
+        } catch (IOException e) {
+            log.warn("估算导入文件行数失败: filePath={}, error={}", filePath, e.getMessage());
+            return -1;
+        }
+    }
+    
     @Override
     public List<CaseImportDTO> parseImportFile(String filePath, String fileName) {
-        log.info("解析导入文件: filePath={}, fileName={}", filePath, fileName);
-        
-        // 这里应该实现具体的文件解析逻辑
-        // 根据文件扩展名选择相应的解析器（Excel/CSV等）
-        // 暂时返回一个空列表
         List<CaseImportDTO> result = new ArrayList<>();
-        
-        // TODO: 实现文件解析逻辑
-        // if (fileName.endsWith(".xlsx") || fileName.endsWith(".xls")) {
-        //     result = parseExcelFile(filePath);
-        // } else if (fileName.endsWith(".csv")) {
-        //     result = parseCsvFile(filePath);
-        // }
-        
-        log.info("文件解析完成: 解析出 {} 条记录", result.size());
+        parseImportFile(filePath, fileName, DEFAULT_IMPORT_CHUNK_SIZE, result::addAll);
         return result;
     }
     
+    /**
+     * 解析期间不持有事务，回调中的数据块写入各自开启并提交独立事务
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int parseImportFile(String filePath, String fileName, int chunkSize,
+                               Consumer<List<CaseImportDTO>> chunkHandler) {
+        log.info("解析导入文件: filePath={}, fileName={}, chunkSize={}", filePath, fileName, chunkSize);
+        
+        CaseImportReader reader = findImportReader(fileName);
+        
+        int total;
+        try {
+            total = reader.read(Paths.get(filePath), chunkSize, chunkHandler);
+        } catch (IOException e) {
+            log.error("读取导入文件失败: filePath={}", filePath, e);
+            throw new BusinessException(ErrorCode.IMPORT_FILE_FORMAT_ERROR, "读取导入文件失败: " + e.getMessage());
+        }
+        
+        log.info("文件解析完成: 解析出 {} 条记录", total);
+        return total;
+    }
+    
     @Override
     public boolean existsByReceiptNumber(String receiptNumber, Long excludeId) {
         return caseRepository.existsByReceiptNumberAndIdNot(receiptNumber, excludeId);
     }
     
     @Override
-    public List<CaseDTO> getPendingAssignmentCases() {
-        List<Case> cases = caseRepository.findPendingAssignmentCases();
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public Slice<CaseDTO> getPendingAssignmentCases() {
+        return capped(caseRepository.findPendingAssignmentSlice(PageRequest.of(0, MAX_LIST_SIZE)), "待分案案件");
+    }
+    
+    @Override
+    public Page<CaseDTO> getPendingAssignmentCases(Pageable pageable) {
+        return convertToDTOs(caseRepository.findPendingAssignmentCases(pageable));
+    }
+    
+    @Override
+    public void streamPendingAssignmentCases(OutputStream out) throws IOException {
+        streamDTOs(caseRepository::streamPendingAssignmentCases, out);
+    }
+    
+    @Override
+    public Slice<CaseDTO> getOverdueCases(int timeoutDays) {
+        LocalDateTime timeoutTime = LocalDateTime.now().minusDays(timeoutDays);
+        return capped(caseRepository.findOverdueSlice(timeoutTime, PageRequest.of(0, MAX_LIST_SIZE)), "超期案件");
+    }
+    
+    @Override
+    public Page<CaseDTO> getOverdueCases(int timeoutDays, Pageable pageable) {
+        LocalDateTime timeoutTime = LocalDateTime.now().minusDays(timeoutDays);
+        return convertToDTOs(caseRepository.findOverdueCases(timeoutTime, pageable));
     }
     
     @Override
-    public List<CaseDTO> getOverdueCases(int timeoutDays) {
+    public void streamOverdueCases(int timeoutDays, OutputStream out) throws IOException {
         LocalDateTime timeoutTime = LocalDateTime.now().minusDays(timeoutDays);
-        List<Case> cases = caseRepository.findOverdueCases(timeoutTime);
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+        streamDTOs(() -> caseRepository.streamOverdueCases(timeoutTime), out);
     }
     
     @Override
@@ -314,9 +516,19 @@ public class CaseServiceImpl implements CaseService {
     }
     
     @Override
-    public List<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays) {
-        List<Case> cases = caseRepository.findByOverdueDaysRange(minDays, maxDays);
-        return cases.stream().map(this::convertToDTO).collect(Collectors.toList());
+    public Slice<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays) {
+        return capped(caseRepository.findSliceByOverdueDaysRange(minDays, maxDays, PageRequest.of(0, MAX_LIST_SIZE)),
+            "逾期天数范围案件");
+    }
+    
+    @Override
+    public Page<CaseDTO> getCasesByOverdueDaysRange(Integer minDays, Integer maxDays, Pageable pageable) {
+        return convertToDTOs(caseRepository.findByOverdueDaysRange(minDays, maxDays, pageable));
+    }
+    
+    @Override
+    public void streamCasesByOverdueDaysRange(Integer minDays, Integer maxDays, OutputStream out) throws IOException {
+        streamDTOs(() -> caseRepository.streamByOverdueDaysRange(minDays, maxDays), out);
     }
     
     @Override
@@ -435,7 +647,8 @@ public class CaseServiceImpl implements CaseService {
      * 验证导入数据
      */
     private void validateImportDTO(CaseImportDTO importDTO) {
-        importDTO.setValid(true);
+        // 解析阶段已记录的格式错误（如金额、日期无法识别）保持无效
+        importDTO.setValid(importDTO.getErrorMessage() == null);
         
         // 验证必填字段
         if (importDTO.getReceiptNumber() == null || importDTO.getReceiptNumber().trim().isEmpty()) {
@@ -494,11 +707,6 @@ public class CaseServiceImpl implements CaseService {
         if (importDTO.getFundProvider() == null || importDTO.getFundProvider().trim().isEmpty()) {
             importDTO.addError("资方名称不能为空");
         }
-        
-        // 检查借据编号是否重复
-        if (importDTO.getReceiptNumber() != null && existsByReceiptNumber(importDTO.getReceiptNumber(), null)) {
-            importDTO.addError("借据编号已存在");
-        }
     }
     
     /**
@@ -536,6 +744,13 @@ public class CaseServiceImpl implements CaseService {
         }
     }
     
+    private CaseImportReader findImportReader(String fileName) {
+        return importReaders.stream()
+            .filter(r -> r.supports(fileName))
+            .findFirst()
+            .orElseThrow(() -> new BusinessException(ErrorCode.UNSUPPORTED_FILE_TYPE));
+    }
+    
     /**
      * 导入DTO转案件DTO
      */
@@ -557,16 +772,16 @@ public class CaseServiceImpl implements CaseService {
         
         // 设置JSON字段
         if (importDTO.getDebtFields() != null) {
-            caseDTO.setDebtInfo(JsonUtils.toJsonString(importDTO.getDebtFields()));
+            caseDTO.setDebtInfo(LazyJson.of(JsonUtils.fieldsToJson(importDTO.getDebtFields())));
         }
         if (importDTO.getDebtorFields() != null) {
-            caseDTO.setDebtorInfo(JsonUtils.toJsonString(importDTO.getDebtorFields()));
+            caseDTO.setDebtorInfo(LazyJson.of(JsonUtils.fieldsToJson(importDTO.getDebtorFields())));
         }
         if (importDTO.getContactFields() != null) {
-            caseDTO.setContactInfo(JsonUtils.toJsonString(importDTO.getContactFields()));
+            caseDTO.setContactInfo(LazyJson.of(JsonUtils.fieldsToJson(importDTO.getContactFields())));
         }
         if (importDTO.getCustomFields() != null) {
-            caseDTO.setCustomFields(JsonUtils.toJsonString(importDTO.getCustomFields()));
+            caseDTO.setCustomFields(LazyJson.of(JsonUtils.fieldsToJson(importDTO.getCustomFields())));
         }
         
         return caseDTO;
@@ -576,13 +791,29 @@ public class CaseServiceImpl implements CaseService {
      * DTO复制到实体
      */
     private void copyDTOToEntity(CaseDTO caseDTO, Case caseEntity) {
+        // 加密敏感信息
+        copyDTOToEntity(caseDTO, caseEntity, EncryptUtils.encrypt(caseDTO.getDebtorIdCard()),
+            EncryptUtils.encrypt(caseDTO.getDebtorName()), EncryptUtils.encrypt(caseDTO.getDebtorPhone()));
+    }
+    
+    /**
+     * 复制DTO到实体，敏感字段使用已加密的值
+     */
+    private void copyDTOToEntity(CaseDTO caseDTO, Case caseEntity,
+                                 String encryptedIdCard, String encryptedName, String encryptedPhone) {
         caseEntity.setCasePackageId(caseDTO.getCasePackageId());
         caseEntity.setReceiptNumber(caseDTO.getReceiptNumber());
-        
-        // 加密敏感信息
-        caseEntity.setDebtorIdCard(EncryptUtils.encrypt(caseDTO.getDebtorIdCard()));
-        caseEntity.setDebtorName(EncryptUtils.encrypt(caseDTO.getDebtorName()));
-        caseEntity.setDebtorPhone(EncryptUtils.encrypt(caseDTO.getDebtorPhone()));
+        caseEntity.setDebtorIdCard(encryptedIdCard);
+        caseEntity.setDebtorName(encryptedName);
+        caseEntity.setDebtorPhone(encryptedPhone);
+        caseEntity.setKeyVersion(EncryptUtils.activeKeyVersion());
+        caseEntity.setDebtorIdCardIndex(EncryptUtils.idCardIndex(caseDTO.getDebtorIdCard()));
+        caseEntity.setDebtorNameIndex(EncryptUtils.nameIndex(caseDTO.getDebtorName()));
+        caseEntity.setDebtorPhoneIndex(EncryptUtils.phoneIndex(caseDTO.getDebtorPhone()));
+        caseEntity.setDebtorPhoneSuffixIndex(EncryptUtils.phoneSuffixIndex(caseDTO.getDebtorPhone()));
+        caseEntity.setDebtorIdCardMasked(EncryptUtils.maskIdCard(caseDTO.getDebtorIdCard()));
+        caseEntity.setDebtorNameMasked(EncryptUtils.maskName(caseDTO.getDebtorName()));
+        caseEntity.setDebtorPhoneMasked(EncryptUtils.maskPhone(caseDTO.getDebtorPhone()));
         
         caseEntity.setLoanProduct(caseDTO.getLoanProduct());
         caseEntity.setLoanAmount(caseDTO.getLoanAmount());
@@ -592,27 +823,202 @@ public class CaseServiceImpl implements CaseService {
         caseEntity.setConsignStartDate(caseDTO.getConsignStartDate());
         caseEntity.setConsignEndDate(caseDTO.getConsignEndDate());
         caseEntity.setFundProvider(caseDTO.getFundProvider());
-        caseEntity.setDebtInfo(caseDTO.getDebtInfo());
-        caseEntity.setDebtorInfo(caseDTO.getDebtorInfo());
-        caseEntity.setContactInfo(caseDTO.getContactInfo());
-        caseEntity.setCustomFields(caseDTO.getCustomFields());
+        caseEntity.setDebtInfo(CompactJson.of(LazyJson.jsonOf(caseDTO.getDebtInfo())));
+        caseEntity.setDebtorInfo(CompactJson.of(LazyJson.jsonOf(caseDTO.getDebtorInfo())));
+        caseEntity.setContactInfo(CompactJson.of(LazyJson.jsonOf(caseDTO.getContactInfo())));
+        caseEntity.setCustomFields(CompactJson.of(LazyJson.jsonOf(caseDTO.getCustomFields())));
         caseEntity.setLatestProgress(caseDTO.getLatestProgress());
-        caseEntity.setAttachments(JsonUtils.toJsonString(caseDTO.getAttachments()));
+        caseEntity.setAttachments(LazyJson.jsonOf(caseDTO.getAttachments()));
     }
     
     /**
-     * 实体转DTO
+     * 敏感字段含脱敏字符时拒绝，详情接口默认返回脱敏值，客户端原样回传会把脱敏值加密入库
+     */
+    private void rejectMaskedFields(CaseDTO caseDTO) {
+        rejectMasked("身份证号", caseDTO.getDebtorIdCard());
+        rejectMasked("客户姓名", caseDTO.getDebtorName());
+        rejectMasked("手机号", caseDTO.getDebtorPhone());
+    }
+    
+    private void rejectMasked(String fieldName, String value) {
+        if (value != null && value.indexOf(MASK_CHAR) >= 0) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, fieldName + "不能提交脱敏值，请先获取明文后修改");
+        }
+    }
+    
+    /**
+     * 实体转DTO（详情视图，解密敏感字段）
      */
     private CaseDTO convertToDTO(Case caseEntity) {
+        // 解密敏感信息
+        return convertToDTO(caseEntity, EncryptUtils.decrypt(caseEntity.getDebtorIdCard()),
+            EncryptUtils.decrypt(caseEntity.getDebtorName()), EncryptUtils.decrypt(caseEntity.getDebtorPhone()));
+    }
+    
+    /**
+     * 实体转DTO（脱敏视图）
+     */
+    private CaseDTO convertToMaskedDTO(Case caseEntity) {
+        return convertToDTOs(List.of(caseEntity)).get(0);
+    }
+    
+    /**
+     * 批量转换为列表视图DTO，敏感字段直接使用入库时保存的脱敏值，不做解密；
+     * 尚未保存脱敏值的历史数据按列批量解密后再脱敏
+     */
+    private List<CaseDTO> convertToDTOs(List<Case> cases) {
+        List<CaseDTO> dtos = new ArrayList<>(cases.size());
+        List<Integer> unmasked = new ArrayList<>();
+        for (int i = 0; i < cases.size(); i++) {
+            Case caseEntity = cases.get(i);
+            if (caseEntity.getDebtorIdCardMasked() != null && caseEntity.getDebtorNameMasked() != null
+                    && caseEntity.getDebtorPhoneMasked() != null) {
+                dtos.add(convertToDTO(caseEntity, caseEntity.getDebtorIdCardMasked(),
+                    caseEntity.getDebtorNameMasked(), caseEntity.getDebtorPhoneMasked()));
+            } else {
+                dtos.add(null);
+                unmasked.add(i);
+            }
+        }
+        
+        if (!unmasked.isEmpty()) {
+            List<Case> legacyCases = new ArrayList<>(unmasked.size());
+            for (Integer index : unmasked) {
+                legacyCases.add(cases.get(index));
+            }
+            List<String> idCards = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorIdCard));
+            List<String> names = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorName));
+            List<String> phones = EncryptUtils.decryptAll(column(legacyCases, Case::getDebtorPhone));
+            for (int i = 0; i < legacyCases.size(); i++) {
+                dtos.set(unmasked.get(i), convertToDTO(legacyCases.get(i), EncryptUtils.maskIdCard(idCards.get(i)),
+                    EncryptUtils.maskName(names.get(i)), EncryptUtils.maskPhone(phones.get(i))));
+            }
+        }
+        
+        for (CaseDTO dto : dtos) {
+            dto.setMasked(true);
+        }
+        return dtos;
+    }
+    
+    /**
+     * 不分页列表查询的结果，超出上限的部分不返回；以Slice多读一条判断是否超出，不执行count查询，
+     * 截断与否保留在返回的Slice中由调用方告知客户端
+     */
+    private Slice<CaseDTO> capped(Slice<Case> cases, String name) {
+        if (cases.hasNext()) {
+            log.warn("{}超过{}条，超出部分未返回，完整结果请使用分页或流式接口", name, cases.getNumberOfElements());
+        }
+        return new SliceImpl<>(convertToDTOs(cases.getContent()), cases.getPageable(), cases.hasNext());
+    }
+    
+    /**
+     * 以NDJSON逐行写出流式查询的结果
+     * 在只读事务内消费游标，按块转换为列表视图DTO，每块写出后清空持久化上下文，内存占用与结果行数无关
+     */
+    private void streamDTOs(Supplier<Stream<Case>> query, OutputStream out) throws IOException {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        try (JsonGenerator generator = JsonUtils.createLineGenerator(out)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Case> cases = query.get()) {
+                    List<Case> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+                    cases.forEachOrdered(caseEntity -> {
+                        chunk.add(caseEntity);
+                        if (chunk.size() == STREAM_CHUNK_SIZE) {
+                            writeLines(generator, out, chunk);
+                        }
+                    });
+                    writeLines(generator, out, chunk);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 客户端断开等写出异常，原样抛出以便容器按连接中断处理
+            throw e.getCause();
+        }
+    }
+    
+    private void writeLines(JsonGenerator generator, OutputStream out, List<Case> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            for (CaseDTO dto : convertToDTOs(chunk)) {
+                CASE_CODEC.write(generator, dto);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+        // 已写出的实体不再需要，从持久化上下文中移除，避免随结果行数累积
+        entityManager.clear();
+    }
+    
+    private Page<CaseDTO> convertToDTOs(Page<Case> cases) {
+        return new PageImpl<>(convertToDTOs(cases.getContent()), cases.getPageable(), cases.getTotalElements());
+    }
+    
+    /**
+     * 转换为键集分页结果，以本页最后一行的排序时间与主键作为下一页游标
+     */
+    private PageResult<CaseDTO> convertToSlice(Slice<Case> cases, int size, Function<Case, LocalDateTime> sortTime) {
+        List<Case> content = cases.getContent();
+        String nextCursor = null;
+        if (cases.hasNext() && !content.isEmpty()) {
+            Case last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(sortTime.apply(last), last.getId()).encode();
+        }
+        return PageResult.slice(convertToDTOs(content), (long) size, nextCursor);
+    }
+    
+    private static LocalDateTime cursorTime(KeysetCursor cursor) {
+        return cursor != null ? cursor.getTime() : null;
+    }
+    
+    private static Long cursorId(KeysetCursor cursor) {
+        return cursor != null ? cursor.getId() : null;
+    }
+    
+    private static String searchTerm(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : keyword.trim();
+    }
+    
+    /**
+     * 关键词为4位数字时按手机尾号匹配
+     */
+    private static String phoneSuffixIndex(String term) {
+        return term != null && PHONE_SUFFIX_PATTERN.matcher(term).matches() ? EncryptUtils.phoneSuffixIndex(term) : null;
+    }
+    
+    /**
+     * 扩展字段的响应视图，序列化时才解码列值
+     */
+    private static LazyJson jsonView(CompactJson value) {
+        return value == null ? null : LazyJson.of(value::toJson);
+    }
+    
+    private static <T> List<String> column(List<T> rows, Function<T, String> getter) {
+        List<String> values = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            values.add(getter.apply(row));
+        }
+        return values;
+    }
+    
+    /**
+     * 转换为DTO，敏感字段使用给定的值（解密后的明文或脱敏值）
+     */
+    private CaseDTO convertToDTO(Case caseEntity, String idCard, String name, String phone) {
         CaseDTO dto = new CaseDTO();
         dto.setId(caseEntity.getId());
         dto.setCasePackageId(caseEntity.getCasePackageId());
         dto.setReceiptNumber(caseEntity.getReceiptNumber());
-        
-        // 解密敏感信息
-        dto.setDebtorIdCard(EncryptUtils.decrypt(caseEntity.getDebtorIdCard()));
-        dto.setDebtorName(EncryptUtils.decrypt(caseEntity.getDebtorName()));
-        dto.setDebtorPhone(EncryptUtils.decrypt(caseEntity.getDebtorPhone()));
+        dto.setDebtorIdCard(idCard);
+        dto.setDebtorName(name);
+        dto.setDebtorPhone(phone);
         
         dto.setLoanProduct(caseEntity.getLoanProduct());
         dto.setLoanAmount(caseEntity.getLoanAmount());
@@ -623,27 +1029,56 @@ public class CaseServiceImpl implements CaseService {
         dto.setConsignStartDate(caseEntity.getConsignStartDate());
         dto.setConsignEndDate(caseEntity.getConsignEndDate());
         dto.setFundProvider(caseEntity.getFundProvider());
-        dto.setDebtInfo(caseEntity.getDebtInfo());
-        dto.setDebtorInfo(caseEntity.getDebtorInfo());
-        dto.setContactInfo(caseEntity.getContactInfo());
-        dto.setCustomFields(caseEntity.getCustomFields());
+        dto.setDebtInfo(jsonView(caseEntity.getDebtInfo()));
+        dto.setDebtorInfo(jsonView(caseEntity.getDebtorInfo()));
+        dto.setContactInfo(jsonView(caseEntity.getContactInfo()));
+        dto.setCustomFields(jsonView(caseEntity.getCustomFields()));
         dto.setCurrentStatus(caseEntity.getCurrentStatus());
         dto.setAssignedOrgId(caseEntity.getAssignedOrgId());
         dto.setAssignedAt(caseEntity.getAssignedAt());
         dto.setLatestProgress(caseEntity.getLatestProgress());
         dto.setTotalRecovered(caseEntity.getTotalRecovered());
         dto.setRecoveryRate(caseEntity.getRecoveryRate());
-        dto.setAttachments(JsonUtils.parseJsonList(caseEntity.getAttachments(), String.class));
+        dto.setAttachments(LazyJson.of(caseEntity.getAttachments()));
         dto.setRiskLevel(calculateRiskLevel(dto));
         
         // 设置状态标志
         dto.setAssigned(caseEntity.getAssignedOrgId() != null);
         dto.setProcessing(caseEntity.getCurrentStatus() == CaseStatus.PROCESSING);
         dto.setClosed(caseEntity.getCurrentStatus() == CaseStatus.CLOSED);
+        dto.setMasked(false);
         
         dto.setCreateTime(caseEntity.getCreateTime());
         dto.setUpdateTime(caseEntity.getUpdateTime());
         
         return dto;
     }
+    
+    /**
+     * 并行校验任务：按下标区间二分拆分，各子任务校验互不重叠的行
+     */
+    private class ValidationTask extends RecursiveAction {
+        
+        private final List<CaseImportDTO> rows;
+        private final int from;
+        private final int to;
+        
+        ValidationTask(List<CaseImportDTO> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= VALIDATION_TASK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    validateImportDTO(rows.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ValidationTask(rows, from, mid), new ValidationTask(rows, mid, to));
+        }
+    }
 }
\ No newline at end of file
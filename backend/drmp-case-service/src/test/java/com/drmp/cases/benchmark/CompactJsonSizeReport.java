@@ -0,0 +1,100 @@
+package com.drmp.cases.benchmark;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.cases.entity.CompactJsonCodec;
+import com.drmp.cases.importer.CsvCaseImportReader;
+import com.drmp.common.util.JsonUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 案件扩展字段存储大小报告
+ * 用合成案件包（与导入基准相同的种子数据）生成导入文件并按导入流程解析，
+ * 统计debt_info等四列按JSON文本与紧凑二进制存储的字节数，并给出紧凑格式的解码耗时。
+ * 位于测试源码中，无需启动应用，以测试类路径直接运行main方法，参数为行数（默认10000）
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class CompactJsonSizeReport {
+    
+    private static final String[] COLUMNS = {"debt_info", "debtor_info", "contact_info", "custom_fields"};
+    
+    private static final int DECODE_ROUNDS = 20;
+    
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        
+        Path file = Files.createTempFile("compact-json-report-", ".csv");
+        List<byte[]> encoded = new ArrayList<>(rows * COLUMNS.length);
+        long[] jsonBytes = new long[COLUMNS.length];
+        long[] compactBytes = new long[COLUMNS.length];
+        int[] rowCount = new int[1];
+        try {
+            new SyntheticCasePackageGenerator("SZ", rows, 0, 0, 42).writeCsv(file);
+            try (InputStream in = Files.newInputStream(file)) {
+                new CsvCaseImportReader().read(in, 1000, chunk -> {
+                    for (CaseImportDTO dto : chunk) {
+                        List<Map<String, Object>> values = List.of(
+                            dto.getDebtFields(), dto.getDebtorFields(), dto.getContactFields(), dto.getCustomFields());
+                        for (int i = 0; i < COLUMNS.length; i++) {
+                            String json = JsonUtils.fieldsToJson(values.get(i));
+                            if (json == null) {
+                                continue;
+                            }
+                            byte[] compact = CompactJsonCodec.encode(json);
+                            if (!CompactJsonCodec.decode(compact).equals(json)) {
+                                throw new IllegalStateException("紧凑格式往返不一致: " + json);
+                            }
+                            jsonBytes[i] += json.getBytes(StandardCharsets.UTF_8).length;
+                            compactBytes[i] += compact.length;
+                            encoded.add(compact);
+                        }
+                        rowCount[0]++;
+                    }
+                });
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        
+        long totalJson = 0;
+        long totalCompact = 0;
+        System.out.printf("行数: %d%n", rowCount[0]);
+        System.out.printf("%-14s %14s %14s %8s%n", "列", "JSON(字节/行)", "紧凑(字节/行)", "比例");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            totalJson += jsonBytes[i];
+            totalCompact += compactBytes[i];
+            printRow(COLUMNS[i], jsonBytes[i], compactBytes[i], rowCount[0]);
+        }
+        printRow("合计", totalJson, totalCompact, rowCount[0]);
+        
+        for (int i = 0; i < DECODE_ROUNDS / 2; i++) {
+            decodeAll(encoded);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < DECODE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            decodeAll(encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("紧凑格式解码: 最佳 %.1f ns/值（仅在读取字段内容时发生）%n", (double) best / encoded.size());
+    }
+    
+    private static void printRow(String column, long json, long compact, int rows) {
+        System.out.printf("%-14s %14.1f %14.1f %7.1f%%%n",
+            column, (double) json / rows, (double) compact / rows, json == 0 ? 0 : compact * 100.0 / json);
+    }
+    
+    private static void decodeAll(List<byte[]> encoded) {
+        for (byte[] data : encoded) {
+            CompactJsonCodec.decode(data);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.drmp.cases.benchmark;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.repository.CasePackageRepository;
+import com.drmp.cases.service.CasePackageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 导入吞吐量基准
+ * 仅在import-benchmark profile下启用：生成合成案件包，经CasePackageService.importCases完整导入，
+ * 输出每秒导入行数、各阶段耗时与堆内存峰值，运行结束后退出应用。
+ * 位于测试源码中，需以测试类路径启动应用；数据库使用application-import-benchmark.yml中配置的内嵌数据库
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Profile("import-benchmark")
+@RequiredArgsConstructor
+public class ImportBenchmarkRunner implements ApplicationRunner {
+    
+    private static final long POLL_INTERVAL_MILLIS = 50L;
+    
+    private final CasePackageService casePackageService;
+    private final CasePackageRepository casePackageRepository;
+    private final ConfigurableApplicationContext applicationContext;
+    
+    @Value("${drmp.case.import.benchmark.rows:100000}")
+    private int rows;
+    
+    @Value("${drmp.case.import.benchmark.format:csv}")
+    private String format;
+    
+    @Value("${drmp.case.import.benchmark.invalid-ratio:0.01}")
+    private double invalidRatio;
+    
+    @Value("${drmp.case.import.benchmark.duplicate-ratio:0.005}")
+    private double duplicateRatio;
+    
+    @Value("${drmp.case.import.benchmark.warmup-rounds:1}")
+    private int warmupRounds;
+    
+    @Value("${drmp.case.import.benchmark.rounds:3}")
+    private int rounds;
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path dir = Files.createTempDirectory("drmp-import-benchmark");
+        try {
+            for (int round = 1; round <= warmupRounds + rounds; round++) {
+                boolean warmup = round <= warmupRounds;
+                runRound(dir, round, warmup);
+            }
+        } finally {
+            try (var files = Files.list(dir)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        }
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+    
+    private void runRound(Path dir, int round, boolean warmup) throws IOException, InterruptedException {
+        String fileName = "benchmark-" + round + "." + format;
+        Path file = dir.resolve(fileName);
+        SyntheticCasePackageGenerator generator = new SyntheticCasePackageGenerator(
+            "BM" + System.currentTimeMillis() + "R" + round + "-", rows, invalidRatio, duplicateRatio, round);
+        if ("xlsx".equalsIgnoreCase(format)) {
+            generator.writeXlsx(file);
+        } else {
+            generator.writeCsv(file);
+        }
+        
+        CasePackage casePackage = new CasePackage();
+        casePackage.setName("导入基准-" + round);
+        casePackage.setSourceOrgId(1L);
+        casePackage = casePackageRepository.save(casePackage);
+        
+        System.gc();
+        resetPeakHeap();
+        long start = System.nanoTime();
+        BatchImportResult result = awaitImport(casePackageService.importCases(casePackage.getId(),
+            new PathMultipartFile(file, fileName)));
+        long elapsedMillis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        
+        log.info("导入基准{}: round={}, format={}, rows={}, status={}, success={}, failure={}, " +
+                "elapsed={}ms, rowsPerSecond={}, stageMillis={}, peakHeap={}MB",
+            warmup ? "(预热)" : "", round, format, rows, result.getStatus(), result.getSuccessCount(),
+            result.getFailureCount(), elapsedMillis, rows * 1000L / elapsedMillis, result.getStageMillis(),
+            peakHeapBytes() / (1024 * 1024));
+    }
+    
+    /**
+     * 导入在后台执行，轮询进度直到导入结束
+     */
+    private BatchImportResult awaitImport(BatchImportResult result) throws InterruptedException {
+        while (result.getStatus() == BatchImportResult.ImportStatus.PROCESSING) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            result = casePackageService.getImportProgress(result.getTaskId());
+        }
+        return result;
+    }
+    
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+    
+    /**
+     * 各堆内存池峰值之和（各池峰值不一定同时出现，结果偏保守）
+     */
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+    
+    /**
+     * 以本地文件模拟上传文件
+     */
+    private static class PathMultipartFile implements MultipartFile {
+        
+        private final Path file;
+        private final String fileName;
+        
+        PathMultipartFile(Path file, String fileName) {
+            this.file = file;
+            this.fileName = fileName;
+        }
+        
+        @Override
+        public String getName() {
+            return "file";
+        }
+        
+        @Override
+        public String getOriginalFilename() {
+            return fileName;
+        }
+        
+        @Override
+        public String getContentType() {
+            return null;
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+        
+        @Override
+        public long getSize() {
+            return file.toFile().length();
+        }
+        
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(file);
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+        
+        @Override
+        public void transferTo(File dest) throws IOException {
+            transferTo(dest.toPath());
+        }
+        
+        @Override
+        public void transferTo(Path dest) throws IOException {
+            Files.copy(file, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.drmp.cases.benchmark;
+
+import com.drmp.common.util.JsonUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 案件JSON字段编解码微基准
+ * 对比每次调用都解析目标类型的旧实现与JsonUtils缓存编解码器、流式字段输出的单次耗时，
+ * 覆盖列表转换时解析attachments、导入时序列化四个扩展字段Map两条路径。
+ * 位于测试源码中，无需启动应用，以测试类路径直接运行main方法，参数依次为每轮记录数（默认1000）与测量轮数（默认20）
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class JsonCodecBenchmark {
+    
+    private static final int WARMUP_ROUNDS = 10;
+    
+    /**
+     * 旧实现：未注册模块的ObjectMapper，每次调用构造目标类型
+     */
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper();
+    
+    public static void main(String[] args) throws Exception {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        
+        Random random = new Random(42);
+        List<String> attachments = new ArrayList<>(records);
+        List<String> mapJsons = new ArrayList<>(records);
+        List<Map<String, Object>> fieldMaps = new ArrayList<>(records * 4);
+        for (int i = 0; i < records; i++) {
+            attachments.add(LEGACY_MAPPER.writeValueAsString(List.of(
+                "/files/case/" + random.nextInt(1_000_000) + "/contract.pdf",
+                "/files/case/" + random.nextInt(1_000_000) + "/id-card.jpg")));
+            Map<String, Object> debtFields = syntheticFields(random, "debt", 6);
+            mapJsons.add(LEGACY_MAPPER.writeValueAsString(debtFields));
+            fieldMaps.add(debtFields);
+            fieldMaps.add(syntheticFields(random, "debtor", 5));
+            fieldMaps.add(syntheticFields(random, "contact", 8));
+            fieldMaps.add(syntheticFields(random, "custom", 10));
+        }
+        
+        report("解析List-每次构造类型", records, rounds, () -> {
+            for (String json : attachments) {
+                LEGACY_MAPPER.readValue(json,
+                    LEGACY_MAPPER.getTypeFactory().constructCollectionType(List.class, String.class));
+            }
+        });
+        report("解析List-缓存编解码器", records, rounds, () -> {
+            for (String json : attachments) {
+                JsonUtils.parseJsonList(json, String.class);
+            }
+        });
+        
+        report("解析Map-每次构造类型", records, rounds, () -> {
+            for (String json : mapJsons) {
+                LEGACY_MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+            }
+        });
+        report("解析Map-缓存编解码器", records, rounds, () -> {
+            for (String json : mapJsons) {
+                JsonUtils.parseJsonMap(json);
+            }
+        });
+        
+        report("序列化字段-writeValueAsString", fieldMaps.size(), rounds, () -> {
+            for (Map<String, Object> fields : fieldMaps) {
+                LEGACY_MAPPER.writeValueAsString(fields);
+            }
+        });
+        report("序列化字段-缓存编解码器", fieldMaps.size(), rounds, () -> {
+            for (Map<String, Object> fields : fieldMaps) {
+                JsonUtils.toJsonString(fields);
+            }
+        });
+        report("序列化字段-流式生成器", fieldMaps.size(), rounds, () -> {
+            for (Map<String, Object> fields : fieldMaps) {
+                JsonUtils.fieldsToJson(fields);
+            }
+        });
+    }
+    
+    private static void report(String name, int operations, int rounds, Task task) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            task.run();
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+        }
+        System.out.printf("%-28s 平均 %8.1f ns/次, 最佳 %8.1f ns/次%n",
+            name, (double) total / rounds / operations, (double) best / operations);
+    }
+    
+    /**
+     * 导入扩展字段：以字符串为主，夹杂数值
+     */
+    private static Map<String, Object> syntheticFields(Random random, String prefix, int count) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 3 == 2) {
+                fields.put(prefix + "_" + i, random.nextInt(100_000));
+            } else {
+                fields.put(prefix + "_" + i, "值" + random.nextInt(100_000));
+            }
+        }
+        return fields;
+    }
+    
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+}
\ No newline at end of file
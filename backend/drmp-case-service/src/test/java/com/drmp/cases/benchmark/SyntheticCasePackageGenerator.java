@@ -0,0 +1,279 @@
+package com.drmp.cases.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 合成案件包生成器
+ * 按PRD数据字典生成CSV/XLSX导入文件（必填列及债务、债务人、联系人、自定义字段中的部分建议填写列）：
+ * 身份证号带合法校验位、手机号号段真实，可按比例混入校验不通过的行与重复借据编号。逐行写出，文件大小不受内存限制
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class SyntheticCasePackageGenerator {
+    
+    private static final String[] HEADER = {
+        "借据编号", "身份证号", "客户姓名", "手机号", "借款项目/产品线", "贷款金额", "剩余应还金额",
+        "逾期天数", "委托方", "委托开始时间", "委托到期时间", "资方名称", "性别", "现居地址",
+        "合同号", "总期数", "月还款额", "还款方式", "逾期M值", "户籍所在省", "单位名称",
+        "联系人1", "联系人1电话", "与联系人1关系", "自定义字段1"
+    };
+    
+    private static final String[] REGION_CODES = {
+        "110101", "310104", "440106", "440305", "330106", "320102", "510107", "420106", "610113", "370202"
+    };
+    
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周", "徐", "孙"};
+    
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "强", "磊", "军", "洋", "勇", "艳", "杰", "涛", "明", "超"};
+    
+    private static final String[] PHONE_PREFIXES = {"130", "135", "138", "150", "158", "177", "186", "189", "199"};
+    
+    private static final String[] PRODUCTS = {"消费贷", "现金贷", "信用卡分期", "车贷", "经营贷"};
+    
+    private static final String[] CONSIGNERS = {"某某银行信用卡中心", "某某消费金融", "某某小贷"};
+    
+    private static final String[] FUND_PROVIDERS = {"资方A", "资方B", "资方C", "资方D"};
+    
+    private static final String[] ADDRESSES = {"北京市朝阳区建国路", "上海市浦东新区世纪大道", "广州市天河区天河路", "深圳市南山区科技园"};
+    
+    private static final String[] PROVINCES = {"北京市", "上海市", "广东省", "浙江省", "江苏省", "四川省", "湖北省", "陕西省", "山东省"};
+    
+    private static final String[] REPAYMENT_METHODS = {"等额本息", "等额本金", "先息后本", "到期一次还本付息"};
+    
+    private static final String[] EMPLOYERS = {"某某科技有限公司", "某某贸易有限公司", "某某餐饮管理有限公司", "个体经营"};
+    
+    private static final String[] RELATIONS = {"配偶", "父母", "子女", "兄弟姐妹", "同事", "朋友"};
+    
+    private static final String[] CHANNELS = {"线上", "线下门店", "合作渠道"};
+    
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+    
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+    
+    private final String receiptPrefix;
+    private final int rows;
+    private final double invalidRatio;
+    private final double duplicateRatio;
+    private final Random random;
+    
+    /**
+     * @param receiptPrefix  借据编号前缀，多次导入同一库时需各不相同
+     * @param rows           数据行数（不含表头）
+     * @param invalidRatio   校验不通过的行所占比例
+     * @param duplicateRatio 借据编号与之前某行重复的行所占比例
+     * @param seed           随机种子，相同参数生成相同文件
+     */
+    public SyntheticCasePackageGenerator(String receiptPrefix, int rows, double invalidRatio,
+                                         double duplicateRatio, long seed) {
+        this.receiptPrefix = receiptPrefix;
+        this.rows = rows;
+        this.invalidRatio = invalidRatio;
+        this.duplicateRatio = duplicateRatio;
+        this.random = new Random(seed);
+    }
+    
+    /**
+     * 生成CSV文件（UTF-8）
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeCsvRow(writer, List.of(HEADER));
+            for (int i = 0; i < rows; i++) {
+                writeCsvRow(writer, nextRow(i));
+            }
+        }
+    }
+    
+    /**
+     * 生成只含一个工作表的XLSX文件，单元格使用内联字符串，不需要共享字符串表
+     */
+    public void writeXlsx(Path file) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            writeEntry(zip, "[Content_Types].xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                + "</Types>");
+            writeEntry(zip, "_rels/.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" "
+                + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" "
+                + "Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+            writeEntry(zip, "xl/workbook.xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets><sheet name=\"案件\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+                + "</workbook>");
+            writeEntry(zip, "xl/_rels/workbook.xml.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" "
+                + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" "
+                + "Target=\"worksheets/sheet1.xml\"/>"
+                + "</Relationships>");
+            
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<dimension ref=\"A1:" + (char) ('A' + HEADER.length - 1) + (rows + 1) + "\"/><sheetData>");
+            writeXlsxRow(writer, 1, List.of(HEADER));
+            for (int i = 0; i < rows; i++) {
+                writeXlsxRow(writer, i + 2, nextRow(i));
+            }
+            writer.write("</sheetData></worksheet>");
+            // 只刷新不关闭，关闭Writer会关闭整个ZIP输出流
+            writer.flush();
+            zip.closeEntry();
+        }
+    }
+    
+    /**
+     * 生成第index行（从0开始）的数据
+     */
+    private List<String> nextRow(int index) {
+        String receiptNumber = index > 0 && random.nextDouble() < duplicateRatio
+            ? receiptNumber(random.nextInt(index))
+            : receiptNumber(index);
+        
+        BigDecimal loanAmount = BigDecimal.valueOf(1000 + random.nextInt(199_000));
+        BigDecimal remainingAmount = loanAmount.multiply(BigDecimal.valueOf(0.2 + random.nextDouble() * 0.8))
+            .setScale(2, RoundingMode.HALF_UP);
+        LocalDate consignStart = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+        String idCard = idCard();
+        
+        List<String> row = new ArrayList<>(HEADER.length);
+        row.add(receiptNumber);
+        row.add(idCard);
+        row.add(pick(SURNAMES) + pick(GIVEN_NAMES) + (random.nextBoolean() ? pick(GIVEN_NAMES) : ""));
+        row.add(pick(PHONE_PREFIXES) + String.format("%08d", random.nextInt(100_000_000)));
+        row.add(pick(PRODUCTS));
+        row.add(loanAmount.toPlainString());
+        row.add(remainingAmount.toPlainString());
+        row.add(String.valueOf(1 + random.nextInt(720)));
+        row.add(pick(CONSIGNERS));
+        row.add(consignStart.toString());
+        row.add(consignStart.plusMonths(3 + random.nextInt(10)).toString());
+        row.add(pick(FUND_PROVIDERS));
+        row.add((idCard.charAt(16) - '0') % 2 == 1 ? "男" : "女");
+        row.add(pick(ADDRESSES) + (1 + random.nextInt(999)) + "号");
+        int periods = 6 * (1 + random.nextInt(6));
+        row.add("HT" + receiptNumber);
+        row.add(String.valueOf(periods));
+        row.add(loanAmount.divide(BigDecimal.valueOf(periods), 2, RoundingMode.HALF_UP).toPlainString());
+        row.add(pick(REPAYMENT_METHODS));
+        row.add(String.valueOf(1 + random.nextInt(24)));
+        row.add(pick(PROVINCES));
+        row.add(pick(EMPLOYERS));
+        row.add(pick(SURNAMES) + pick(GIVEN_NAMES));
+        row.add(pick(PHONE_PREFIXES) + String.format("%08d", random.nextInt(100_000_000)));
+        row.add(pick(RELATIONS));
+        row.add(pick(CHANNELS));
+        
+        if (random.nextDouble() < invalidRatio) {
+            corrupt(row);
+        }
+        return row;
+    }
+    
+    /**
+     * 随机破坏一个字段，使该行校验不通过
+     */
+    private void corrupt(List<String> row) {
+        switch (random.nextInt(5)) {
+            case 0 -> row.set(3, "1" + random.nextInt(100_000));
+            case 1 -> row.set(1, row.get(1).substring(0, 10));
+            case 2 -> row.set(2, "");
+            case 3 -> row.set(7, "-1");
+            default -> {
+                String start = row.get(9);
+                row.set(9, row.get(10));
+                row.set(10, start);
+            }
+        }
+    }
+    
+    private String receiptNumber(int index) {
+        return receiptPrefix + String.format("%010d", index);
+    }
+    
+    /**
+     * 生成带GB 11643校验位的18位身份证号
+     */
+    private String idCard() {
+        LocalDate birthday = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(40 * 365));
+        StringBuilder idCard = new StringBuilder(18)
+            .append(pick(REGION_CODES))
+            .append(String.format("%04d%02d%02d", birthday.getYear(), birthday.getMonthValue(), birthday.getDayOfMonth()))
+            .append(String.format("%03d", random.nextInt(1000)));
+        int sum = 0;
+        for (int i = 0; i < ID_CARD_WEIGHTS.length; i++) {
+            sum += (idCard.charAt(i) - '0') * ID_CARD_WEIGHTS[i];
+        }
+        return idCard.append(ID_CARD_CHECK_CODES[sum % 11]).toString();
+    }
+    
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private static void writeCsvRow(Writer writer, List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String cell = cells.get(i);
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0) {
+                writer.write('"');
+                writer.write(cell.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(cell);
+            }
+        }
+        writer.write('\n');
+    }
+    
+    private static void writeXlsxRow(Writer writer, int rowNumber, List<String> cells) throws IOException {
+        writer.write("<row r=\"" + rowNumber + "\">");
+        for (String cell : cells) {
+            writer.write("<c t=\"inlineStr\"><is><t>");
+            writer.write(escapeXml(cell));
+            writer.write("</t></is></c>");
+        }
+        writer.write("</row>");
+    }
+    
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+    
+    private static void writeEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.drmp.cases.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 案件扩展字段紧凑编解码测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CompactJsonCodecTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    @AfterEach
+    void resetEnabled() {
+        CompactJsonCodec.setEnabled(false);
+    }
+    
+    @Test
+    void roundTripsAllValueTypes() throws Exception {
+        String json = "{\"性别\":\"男\",\"未登记列\":\"值\",\"逾期期数\":-12,\"大整数\":123456789012345678901234567890,"
+            + "\"利率\":0.0350,\"已结清\":false,\"担保\":true,\"备注\":null,"
+            + "\"嵌套\":{\"a\":[1,\"b\",{\"c\":null}]},\"列表\":[1,2,3]}";
+        
+        byte[] encoded = CompactJsonCodec.encode(json);
+        
+        assertThat(CompactJsonCodec.isCompact(encoded)).isTrue();
+        String decoded = CompactJsonCodec.decode(encoded);
+        assertThat(MAPPER.readTree(decoded)).isEqualTo(MAPPER.readTree(json));
+        // 小数保留原始文本
+        assertThat(decoded).contains("0.0350").contains("123456789012345678901234567890");
+    }
+    
+    @Test
+    void encodesDictionaryKeysShorterThanText() {
+        String json = "{\"户籍详细地址\":\"北京市\",\"联系人1电话\":\"13800000000\",\"自定义字段10\":\"x\"}";
+        
+        byte[] encoded = CompactJsonCodec.encode(json);
+        
+        // 版本字节 + 字段数 + 每个字段1字节键序号、1字节类型标记、长度前缀的值
+        int values = "北京市".getBytes(StandardCharsets.UTF_8).length + "13800000000".length() + 1;
+        assertThat(encoded).hasSize(2 + 3 * 3 + values);
+        assertThat(CompactJsonCodec.decode(encoded)).isEqualTo(json);
+    }
+    
+    @Test
+    void keepsNonObjectOrInvalidJsonAsText() {
+        for (String json : new String[] {"[1,2]", "\"text\"", "{\"a\":1", "{\"a\":1} trailing", "not json"}) {
+            byte[] encoded = CompactJsonCodec.encode(json);
+            
+            assertThat(CompactJsonCodec.isCompact(encoded)).isFalse();
+            assertThat(CompactJsonCodec.decode(encoded)).isEqualTo(json);
+        }
+    }
+    
+    @Test
+    void decodesLegacyJsonTextColumns() {
+        String json = "{\"性别\": \"女\"}";
+        
+        assertThat(CompactJsonCodec.decode(json.getBytes(StandardCharsets.UTF_8))).isEqualTo(json);
+    }
+    
+    @Test
+    void toColumnFollowsConfiguration() {
+        String json = "{\"性别\":\"女\"}";
+        
+        assertThat(CompactJsonCodec.toColumn(json)).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+        CompactJsonCodec.setEnabled(true);
+        assertThat(CompactJsonCodec.isCompact(CompactJsonCodec.toColumn(json))).isTrue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.drmp.cases.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 案件扩展字段值测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CompactJsonTest {
+    
+    private static final String JSON = "{\"性别\":\"男\",\"学历\":\"本科\"}";
+    
+    @Test
+    void columnValuesCompareWithoutDecoding() {
+        byte[] column = CompactJsonCodec.encode(JSON);
+        // 列值无法解码时，若比较触发解码会抛出异常
+        byte[] corrupt = {CompactJsonCodec.FORMAT_V1, 5, 99};
+        
+        assertThat(CompactJson.fromColumn(column)).isEqualTo(CompactJson.fromColumn(column.clone()))
+            .hasSameHashCodeAs(CompactJson.fromColumn(column.clone()));
+        assertThat(CompactJson.fromColumn(corrupt)).isEqualTo(CompactJson.fromColumn(corrupt.clone()))
+            .isNotEqualTo(CompactJson.fromColumn(column));
+    }
+    
+    @Test
+    void jsonValueEqualsColumnValueOfSameEncoding() {
+        CompactJson fromJson = CompactJson.of(JSON);
+        CompactJson fromColumn = CompactJson.fromColumn(JSON.getBytes(StandardCharsets.UTF_8));
+        
+        assertThat(fromJson).isEqualTo(fromColumn).hasSameHashCodeAs(fromColumn);
+        assertThat(fromJson.toColumn()).isSameAs(fromJson.toColumn());
+    }
+    
+    @Test
+    void decodesColumnLazily() {
+        CompactJson value = CompactJson.fromColumn(CompactJsonCodec.encode(JSON));
+        
+        assertThat(value.toJson()).isEqualTo(JSON);
+        assertThat(CompactJson.jsonOf(null)).isNull();
+        assertThat(CompactJson.of(null)).isNull();
+        assertThat(CompactJson.fromColumn(null)).isNull();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.drmp.cases.exporter;
+
+import com.drmp.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 流式响应并发许可测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CaseStreamPermitsTest {
+    
+    private final CaseStreamPermits permits = new CaseStreamPermits(1);
+    
+    @Test
+    void bodiesThatNeverRunHoldNoPermit() throws IOException {
+        permits.limit(out -> out.write('a'));
+        permits.limit(out -> out.write('b'));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        permits.limit(o -> o.write('c')).writeTo(out);
+        
+        assertThat(out.toString()).isEqualTo("c");
+    }
+    
+    @Test
+    void rejectsWhilePermitsAreInUse() throws IOException {
+        StreamingResponseBody[] inner = new StreamingResponseBody[1];
+        StreamingResponseBody outer = permits.limit(out -> {
+            assertThatThrownBy(() -> permits.limit(o -> o.write('x')))
+                .isInstanceOf(BusinessException.class);
+            // 创建时仍有许可、执行时已被占满的响应体在写出前拒绝
+            assertThatThrownBy(() -> inner[0].writeTo(out))
+                .isInstanceOf(BusinessException.class);
+        });
+        inner[0] = permits.limit(out -> out.write('y'));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        outer.writeTo(out);
+        
+        assertThat(out.size()).isZero();
+    }
+    
+    @Test
+    void releasesPermitWhenBodyFails() throws IOException {
+        StreamingResponseBody failing = permits.limit(out -> {
+            throw new IOException("client disconnected");
+        });
+        assertThatThrownBy(() -> failing.writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        permits.limit(o -> o.write('z')).writeTo(out);
+        
+        assertThat(out.toString()).isEqualTo("z");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.drmp.cases.exporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV导出写入器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CsvCaseExportWriterTest {
+    
+    private final CsvCaseExportWriter writer = new CsvCaseExportWriter();
+    
+    @Test
+    void writesBomHeaderAndRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("借据编号", "金额"))) {
+            rows.writeRow(List.of("R001", new BigDecimal("100.50")));
+            rows.writeRow(Arrays.asList("R002", null));
+        }
+        
+        assertThat(out.toString(StandardCharsets.UTF_8))
+            .isEqualTo("\uFEFF借据编号,金额\r\nR001,100.50\r\nR002,\r\n");
+    }
+    
+    @Test
+    void escapesTextCells() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("借据编号", "备注"))) {
+            rows.writeRow(List.of("=SUM(A1)", "a,b"));
+            rows.writeRow(List.of("+86", "say \"hi\""));
+        }
+        
+        assertThat(out.toString(StandardCharsets.UTF_8))
+            .endsWith("\r\n'=SUM(A1),\"a,b\"\r\n'+86,\"say \"\"hi\"\"\"\r\n");
+    }
+    
+    @Test
+    void writesNumbersWithoutFormulaGuard() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("逾期天数"))) {
+            rows.writeRow(List.of(-5));
+        }
+        
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\r\n-5\r\n");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.drmp.cases.exporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * XLSX导出写入器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class XlsxCaseExportWriterTest {
+    
+    private final XlsxCaseExportWriter writer = new XlsxCaseExportWriter();
+    
+    @Test
+    void writesWorkbookParts() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("借据编号", "金额"))) {
+            rows.writeRow(List.of("R001", 100));
+        }
+        
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(entries).containsOnlyKeys("xl/worksheets/sheet1.xml", "xl/workbook.xml",
+            "xl/_rels/workbook.xml.rels", "_rels/.rels", "[Content_Types].xml");
+        assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"案件\" sheetId=\"1\" r:id=\"rId1\"/>");
+        assertThat(entries.get("[Content_Types].xml")).contains("/xl/worksheets/sheet1.xml");
+    }
+    
+    @Test
+    void writesInlineStringsNumbersAndEmptyCells() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("借据编号"))) {
+            rows.writeRow(Arrays.asList("A&B <x>", 12.5, null));
+        }
+        
+        String sheet = unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml");
+        assertThat(sheet).contains("<row r=\"1\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">借据编号</t></is></c></row>");
+        assertThat(sheet).contains("<row r=\"2\"><c t=\"inlineStr\"><is><t xml:space=\"preserve\">A&amp;B &lt;x&gt;</t></is></c>"
+            + "<c><v>12.5</v></c><c/></row>");
+    }
+    
+    @Test
+    void dropsControlCharactersNotAllowedInXml() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        try (CaseExportWriter.RowWriter rows = writer.open(out, List.of("备注"))) {
+            rows.writeRow(List.of("a\u0001b\tc"));
+        }
+        
+        assertThat(unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml")).contains(">ab\tc</t>");
+    }
+    
+    @Test
+    void leavesOutputStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.open(out, List.of("借据编号")).close();
+        int size = out.size();
+        
+        out.write('x');
+        
+        assertThat(out.size()).isEqualTo(size + 1);
+    }
+    
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import com.drmp.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CSV导入文件流式读取器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CsvCaseImportReaderTest {
+    
+    private static final String HEADER = "借据编号,身份证号,客户姓名,手机号,借款项目/产品线,贷款金额,剩余应还金额,"
+        + "逾期天数,委托方,委托开始时间,委托到期时间,资方名称,性别,联系人1姓名,自定义字段1,还款账号";
+    
+    private final CsvCaseImportReader reader = new CsvCaseImportReader();
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void mapsColumnsToImportFields() throws IOException {
+        List<CaseImportDTO> rows = readAll(bytes(HEADER + "\n" + row("R001", "张三"), StandardCharsets.UTF_8), 10);
+        
+        assertThat(rows).hasSize(1);
+        CaseImportDTO dto = rows.get(0);
+        assertThat(dto.getRowNumber()).isEqualTo(2);
+        assertThat(dto.getReceiptNumber()).isEqualTo("R001");
+        assertThat(dto.getDebtorIdCard()).isEqualTo("11010119900101123X");
+        assertThat(dto.getDebtorName()).isEqualTo("张三");
+        assertThat(dto.getLoanAmount()).isEqualByComparingTo(new BigDecimal("10000.50"));
+        assertThat(dto.getOverdueDays()).isEqualTo(30);
+        assertThat(dto.getConsignStartDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(dto.getConsignEndDate()).isEqualTo(LocalDate.of(2024, 6, 30));
+        assertThat(dto.getDebtorField("性别")).isEqualTo("男");
+        assertThat(dto.getContactField("联系人1姓名")).isEqualTo("李四");
+        assertThat(dto.getCustomFields()).containsEntry("自定义字段1", "A");
+        assertThat(dto.getDebtField("还款账号")).isEqualTo("6222");
+        assertThat(dto.getValid()).isNull();
+    }
+    
+    @Test
+    void deliversRowsInChunksOfConfiguredSize() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append("\r\n");
+        for (int i = 0; i < 7; i++) {
+            csv.append(row("R" + i, "客户" + i)).append("\r\n");
+        }
+        
+        List<Integer> chunkSizes = new ArrayList<>();
+        int total = reader.read(bytes(csv.toString(), StandardCharsets.UTF_8), 3, chunk -> chunkSizes.add(chunk.size()));
+        
+        assertThat(total).isEqualTo(7);
+        assertThat(chunkSizes).containsExactly(3, 3, 1);
+    }
+    
+    @Test
+    void handlesQuotedFieldsWithEscapedQuotesAndLineBreaks() throws IOException {
+        String csv = HEADER + "\n"
+            + row("R001", "\"张\"\"三\"\"\n二行\"") + "\n"
+            + row("R002", "\"王五, 先生\"") + "\n";
+        
+        List<CaseImportDTO> rows = readAll(bytes(csv, StandardCharsets.UTF_8), 10);
+        
+        assertThat(rows).extracting(CaseImportDTO::getDebtorName).containsExactly("张\"三\"\n二行", "王五, 先生");
+        // 第二条记录的行号跳过第一条记录字段内的换行
+        assertThat(rows).extracting(CaseImportDTO::getRowNumber).containsExactly(2, 4);
+    }
+    
+    @Test
+    void skipsBlankRowsAndReadsUtf8Bom() throws IOException {
+        String csv = "\uFEFF" + HEADER + "\n,,,\n\n" + row("R001", "张三") + "\n";
+        
+        List<CaseImportDTO> rows = readAll(bytes(csv, StandardCharsets.UTF_8), 10);
+        
+        assertThat(rows).extracting(CaseImportDTO::getReceiptNumber).containsExactly("R001");
+        assertThat(rows.get(0).getRowNumber()).isEqualTo(4);
+    }
+    
+    @Test
+    void detectsGbkEncoding() throws IOException {
+        String csv = HEADER + "\n" + row("R001", "张三") + "\n";
+        
+        List<CaseImportDTO> rows = readAll(bytes(csv, Charset.forName("GBK")), 10);
+        
+        assertThat(rows.get(0).getDebtorName()).isEqualTo("张三");
+        assertThat(rows.get(0).getDebtorField("性别")).isEqualTo("男");
+    }
+    
+    @Test
+    void marksUnparseableValuesAsInvalid() throws IOException {
+        String csv = HEADER + "\n" + row("R001", "张三").replace("\"10,000.50\"", "一万") + "\n";
+        
+        CaseImportDTO dto = readAll(bytes(csv, StandardCharsets.UTF_8), 10).get(0);
+        
+        assertThat(dto.getValid()).isFalse();
+        assertThat(dto.getErrorMessage()).contains("贷款金额格式不正确");
+    }
+    
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        String csv = "借据编号,客户姓名\nR001,张三\n";
+        
+        assertThatThrownBy(() -> readAll(bytes(csv, StandardCharsets.UTF_8), 10))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("身份证号");
+    }
+    
+    @Test
+    void estimatesRowsExcludingHeader() throws IOException {
+        Path file = tempDir.resolve("cases.csv");
+        Files.writeString(file, HEADER + "\n" + row("R001", "张三") + "\n" + row("R002", "李四"));
+        
+        assertThat(reader.estimateRows(file)).isEqualTo(2);
+    }
+    
+    private List<CaseImportDTO> readAll(ByteArrayInputStream in, int chunkSize) throws IOException {
+        List<CaseImportDTO> rows = new ArrayList<>();
+        reader.read(in, chunkSize, rows::addAll);
+        return rows;
+    }
+    
+    private static ByteArrayInputStream bytes(String csv, Charset charset) {
+        return new ByteArrayInputStream(csv.getBytes(charset));
+    }
+    
+    private static String row(String receiptNumber, String debtorName) {
+        return receiptNumber + ",11010119900101123x," + debtorName + ",13800000000,消费贷,\"10,000.50\",8000,30,"
+            + "委托方A,2024-01-01,2024/6/30,资方B,男,李四,A,6222";
+    }
+}
\ No newline at end of file
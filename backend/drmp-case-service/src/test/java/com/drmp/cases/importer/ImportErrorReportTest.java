@@ -0,0 +1,91 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 导入错误报告测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class ImportErrorReportTest {
+    
+    private static final String HEADER = "\uFEFF行号,借据编号,错误类型,错误信息\n";
+    
+    @TempDir
+    Path uploadPath;
+    
+    private ImportErrorReport report;
+    
+    @BeforeEach
+    void setUp() {
+        report = new ImportErrorReport();
+        ReflectionTestUtils.setField(report, "uploadPath", uploadPath.toString());
+    }
+    
+    @Test
+    void writesChunksInRowOrderAndEscapesCells() throws Exception {
+        report.append(1L, 1000, List.of(error(1002, "=HYPERLINK(\"x\")", "DUPLICATE", "借据编号重复, 已存在")));
+        report.append(1L, 0, List.of(error(2, "R001", "VALIDATION", "金额不能为空")));
+        
+        assertThat(csv(1L)).isEqualTo(HEADER
+            + "2,R001,VALIDATION,金额不能为空\n"
+            + "1002,\"'=HYPERLINK(\"\"x\"\")\",DUPLICATE,\"借据编号重复, 已存在\"\n");
+    }
+    
+    @Test
+    void retriedChunkReplacesItsErrorsInsteadOfRepeatingThem() throws Exception {
+        report.append(1L, 0, List.of(error(2, "R001", "VALIDATION", "金额不能为空")));
+        report.append(1L, 0, List.of(error(2, "R001", "VALIDATION", "金额不能为空")));
+        
+        assertThat(csv(1L)).isEqualTo(HEADER + "2,R001,VALIDATION,金额不能为空\n");
+    }
+    
+    @Test
+    void discardFromDropsChunksAfterCheckpoint() throws Exception {
+        report.append(1L, 0, List.of(error(2, "R001", "VALIDATION", "金额不能为空")));
+        report.append(1L, 1000, List.of(error(1002, "R002", "VALIDATION", "金额不能为空")));
+        
+        // 第二个数据块未提交，续传前丢弃其错误行
+        report.discardFrom(1L, 1000);
+        
+        assertThat(csv(1L)).isEqualTo(HEADER + "2,R001,VALIDATION,金额不能为空\n");
+    }
+    
+    @Test
+    void deleteRemovesReport() {
+        report.append(1L, 0, List.of(error(2, "R001", "VALIDATION", "金额不能为空")));
+        assertThat(report.exists(1L)).isTrue();
+        assertThat(report.exists(2L)).isFalse();
+        
+        report.delete(1L);
+        assertThat(report.exists(1L)).isFalse();
+    }
+    
+    private String csv(Long casePackageId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        report.writeCsv(casePackageId, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+    
+    private static BatchImportResult.ImportError error(int rowNumber, String receiptNumber,
+                                                       String errorType, String errorMessage) {
+        BatchImportResult.ImportError error = new BatchImportResult.ImportError();
+        error.setRowNumber(rowNumber);
+        error.setReceiptNumber(receiptNumber);
+        error.setErrorType(errorType);
+        error.setErrorMessage(errorMessage);
+        return error;
+    }
+}
\ No newline at end of file
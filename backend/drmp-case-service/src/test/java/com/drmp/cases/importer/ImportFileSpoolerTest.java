@@ -0,0 +1,92 @@
+package com.drmp.cases.importer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 导入文件落盘测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class ImportFileSpoolerTest {
+    
+    private final ImportFileSpooler spooler = new ImportFileSpooler();
+    
+    @TempDir
+    Path uploadDir;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(spooler, "uploadPath", uploadDir.toString());
+    }
+    
+    @Test
+    void computesSha256AndSizeWhileSpooling() throws IOException {
+        ImportFileSpooler.SpooledFile spooled = spooler.spool(upload("cases.csv", "abc"));
+        
+        assertThat(spooled.getSha256()).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(spooled.getSize()).isEqualTo(3);
+        assertThat(spooled.getOriginalFilename()).isEqualTo("cases.csv");
+        assertThat(spooled.getPath().getParent()).isEqualTo(uploadDir);
+        assertThat(Files.readString(spooled.getPath())).isEqualTo("abc");
+    }
+    
+    @Test
+    void spoolsIdenticalUploadsToSeparateFiles() throws IOException {
+        ImportFileSpooler.SpooledFile first = spooler.spool(upload("cases.csv", "借据编号\nR001"));
+        ImportFileSpooler.SpooledFile second = spooler.spool(upload("cases.csv", "借据编号\nR001"));
+        
+        assertThat(second.getSha256()).isEqualTo(first.getSha256());
+        assertThat(second.getPath()).isNotEqualTo(first.getPath());
+        
+        // 删除一次上传的文件不影响另一次导入
+        spooler.delete(first.getPath());
+        
+        assertThat(first.getPath()).doesNotExist();
+        assertThat(Files.readString(second.getPath())).isEqualTo("借据编号\nR001");
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).containsExactly(second.getPath());
+        }
+    }
+    
+    @Test
+    void keepsPlainFilename() {
+        assertThat(ImportFileSpooler.safeFilename("案件导入.xlsx")).isEqualTo("案件导入.xlsx");
+    }
+    
+    @Test
+    void defaultsMissingOrEmptyFilename() {
+        assertThat(ImportFileSpooler.safeFilename(null)).isEqualTo("upload");
+        assertThat(ImportFileSpooler.safeFilename("")).isEqualTo("upload");
+        assertThat(ImportFileSpooler.safeFilename("..")).isEqualTo("upload");
+        assertThat(ImportFileSpooler.safeFilename("dir/")).isEqualTo("upload");
+    }
+    
+    @Test
+    void stripsDirectoriesAndUnsafeCharacters() {
+        assertThat(ImportFileSpooler.safeFilename("../../etc/passwd")).isEqualTo("passwd");
+        assertThat(ImportFileSpooler.safeFilename("C:\\Users\\a\\cases.csv")).isEqualTo("cases.csv");
+        assertThat(ImportFileSpooler.safeFilename("a:b*c?\"<>|\u0000.csv")).isEqualTo("a_b_c______.csv");
+    }
+    
+    @Test
+    void truncatesLongFilenameKeepingExtension() {
+        String name = ImportFileSpooler.safeFilename("x".repeat(300) + ".xlsx");
+        assertThat(name).hasSize(100).endsWith(".xlsx");
+    }
+    
+    private static MockMultipartFile upload(String fileName, String content) {
+        return new MockMultipartFile("file", fileName, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.cases.dto.CaseImportDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 借据编号批量查重器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class ReceiptNumberDuplicateCheckerTest {
+    
+    @Test
+    void invalidRowDoesNotMakeLaterValidRowDuplicate() {
+        ReceiptNumberDuplicateChecker checker = new ReceiptNumberDuplicateChecker(numbers -> List.of());
+        CaseImportDTO invalid = row(2, "R001", false);
+        CaseImportDTO valid = row(3, "R001", true);
+        CaseImportDTO duplicate = row(4, "R001", true);
+        
+        checker.check(List.of(invalid));
+        checker.check(List.of(valid, duplicate));
+        
+        assertThat(invalid.getErrorType()).isNull();
+        assertThat(valid.getValid()).isTrue();
+        assertThat(duplicate.getValid()).isFalse();
+        assertThat(duplicate.getErrorType()).isEqualTo(BatchImportResult.ImportError.TYPE_DUPLICATE_IN_FILE);
+        assertThat(duplicate.getErrorMessage()).contains("第3行");
+    }
+    
+    @Test
+    void marksReceiptNumbersAlreadyInDatabase() {
+        ReceiptNumberDuplicateChecker checker = new ReceiptNumberDuplicateChecker(numbers -> 
+            numbers.stream().filter("R002"::equals).collect(Collectors.toList()));
+        CaseImportDTO fresh = row(2, "R001", true);
+        CaseImportDTO existing = row(3, "R002", true);
+        
+        checker.check(List.of(fresh, existing));
+        
+        assertThat(fresh.getValid()).isTrue();
+        assertThat(existing.getValid()).isFalse();
+        assertThat(existing.getErrorType()).isEqualTo(BatchImportResult.ImportError.TYPE_ALREADY_EXISTS);
+    }
+    
+    @Test
+    void remembersOnlyCommittedRowsFoundInDatabase() {
+        Set<String> committed = Set.of("R001");
+        ReceiptNumberDuplicateChecker checker = new ReceiptNumberDuplicateChecker(numbers -> 
+            numbers.stream().filter(committed::contains).collect(Collectors.toList()));
+        
+        // 断点之前：R001写入成功，R002校验失败未写入
+        checker.remember(List.of(row(2, "R001", null), row(3, "R002", null)));
+        CaseImportDTO repeated = row(4, "R001", true);
+        CaseImportDTO retried = row(5, "R002", true);
+        checker.check(List.of(repeated, retried));
+        
+        assertThat(repeated.getErrorType()).isEqualTo(BatchImportResult.ImportError.TYPE_DUPLICATE_IN_FILE);
+        assertThat(retried.getValid()).isTrue();
+    }
+    
+    private static CaseImportDTO row(int rowNumber, String receiptNumber, Boolean valid) {
+        CaseImportDTO dto = new CaseImportDTO();
+        dto.setRowNumber(rowNumber);
+        dto.setReceiptNumber(receiptNumber);
+        if (Boolean.TRUE.equals(valid)) {
+            dto.setValid();
+        } else if (Boolean.FALSE.equals(valid)) {
+            dto.addError("客户姓名不能为空");
+        }
+        return dto;
+    }
+}
\ No newline at end of file
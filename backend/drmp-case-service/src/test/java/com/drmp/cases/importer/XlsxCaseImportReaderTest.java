@@ -0,0 +1,185 @@
+package com.drmp.cases.importer;
+
+import com.drmp.cases.dto.CaseImportDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * XLSX导入文件流式读取器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class XlsxCaseImportReaderTest {
+    
+    private static final List<String> HEADER = List.of("借据编号", "身份证号", "客户姓名", "手机号", "借款项目/产品线",
+        "贷款金额", "剩余应还金额", "逾期天数", "委托方", "委托开始时间", "委托到期时间", "资方名称");
+    
+    private static final String WORKBOOK = "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+        + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+        + "<sheets><sheet name=\"案件\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>";
+    
+    private static final String WORKBOOK_RELS = "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+        + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" "
+        + "Target=\"worksheets/cases.xml\"/></Relationships>";
+    
+    private final XlsxCaseImportReader reader = new XlsxCaseImportReader();
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void readsSharedStringsNumbersAndDates() throws IOException {
+        Path file = writeWorkbook(List.of(
+            HEADER,
+            List.of("R001", "11010119900101123X", "张三", "1.38E10", "消费贷", "10000.5", "8000", "30.0",
+                "委托方A", "45292", "2024-06-30", "资方B")));
+        
+        List<CaseImportDTO> rows = readAll(file, 10);
+        
+        assertThat(rows).hasSize(1);
+        CaseImportDTO dto = rows.get(0);
+        assertThat(dto.getRowNumber()).isEqualTo(2);
+        assertThat(dto.getDebtorName()).isEqualTo("张三");
+        assertThat(dto.getDebtorPhone()).isEqualTo("13800000000");
+        assertThat(dto.getLoanAmount()).isEqualByComparingTo(new BigDecimal("10000.5"));
+        assertThat(dto.getOverdueDays()).isEqualTo(30);
+        assertThat(dto.getConsignStartDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(dto.getConsignEndDate()).isEqualTo(LocalDate.of(2024, 6, 30));
+        assertThat(dto.getValid()).isNull();
+    }
+    
+    @Test
+    void alignsSparseCellsByReference() throws IOException {
+        // 第二行缺少客户姓名单元格，后续单元格仍应按列引用对齐
+        List<String> row = new ArrayList<>(List.of("R001", "11010119900101123X", "", "13800000000", "消费贷",
+            "10000", "8000", "30", "委托方A", "2024-01-01", "2024-06-30", "资方B"));
+        Path file = writeWorkbook(List.of(HEADER, row));
+        
+        CaseImportDTO dto = readAll(file, 10).get(0);
+        
+        assertThat(dto.getDebtorName()).isNull();
+        assertThat(dto.getDebtorPhone()).isEqualTo("13800000000");
+        assertThat(dto.getFundProvider()).isEqualTo("资方B");
+    }
+    
+    @Test
+    void deliversRowsInChunksAndSkipsBlankRows() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(HEADER);
+        for (int i = 0; i < 5; i++) {
+            rows.add(List.of("R" + i, "11010119900101123X", "客户" + i, "13800000000", "消费贷",
+                "10000", "8000", "30", "委托方A", "2024-01-01", "2024-06-30", "资方B"));
+            rows.add(List.of("", ""));
+        }
+        Path file = writeWorkbook(rows);
+        
+        List<Integer> chunkSizes = new ArrayList<>();
+        int total = reader.read(file, 2, chunk -> chunkSizes.add(chunk.size()));
+        
+        assertThat(total).isEqualTo(5);
+        assertThat(chunkSizes).containsExactly(2, 2, 1);
+    }
+    
+    @Test
+    void reportsMalformedSharedStringReferenceAsRowError() throws IOException {
+        List<String> broken = new ArrayList<>(List.of("R002", "11010119900101123X", "#s:abc", "13800000000", "消费贷",
+            "10000", "8000", "30", "委托方A", "2024-01-01", "2024-06-30", "资方B"));
+        List<String> outOfRange = new ArrayList<>(broken);
+        outOfRange.set(0, "R003");
+        outOfRange.set(2, "#s:99999");
+        Path file = writeWorkbook(List.of(HEADER,
+            List.of("R001", "11010119900101123X", "张三", "13800000000", "消费贷",
+                "10000", "8000", "30", "委托方A", "2024-01-01", "2024-06-30", "资方B"),
+            broken, outOfRange));
+        
+        List<CaseImportDTO> rows = readAll(file, 10);
+        
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).getValid()).isNull();
+        assertThat(rows.get(1).getValid()).isFalse();
+        assertThat(rows.get(1).getErrorMessage()).contains("第3列");
+        assertThat(rows.get(1).getDebtorName()).isNull();
+        assertThat(rows.get(2).getValid()).isFalse();
+        assertThat(rows.get(2).getReceiptNumber()).isEqualTo("R003");
+    }
+    
+    @Test
+    void estimatesRowsFromDimension() throws IOException {
+        Path file = writeWorkbook(List.of(HEADER, HEADER, HEADER));
+        
+        assertThat(reader.estimateRows(file)).isEqualTo(2);
+    }
+    
+    private List<CaseImportDTO> readAll(Path file, int chunkSize) throws IOException {
+        List<CaseImportDTO> rows = new ArrayList<>();
+        reader.read(file, chunkSize, rows::addAll);
+        return rows;
+    }
+    
+    /**
+     * 生成最小工作簿：文本使用共享字符串表，数字写为数值单元格，空值不输出单元格；
+     * 以"#s:"开头的值原样写为共享字符串下标，用于构造损坏的引用
+     */
+    private Path writeWorkbook(List<List<String>> rows) throws IOException {
+        List<String> sharedStrings = new ArrayList<>();
+        StringBuilder sheet = new StringBuilder("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">")
+            .append("<dimension ref=\"A1:L").append(rows.size()).append("\"/><sheetData>");
+        for (int r = 0; r < rows.size(); r++) {
+            sheet.append("<row r=\"").append(r + 1).append("\">");
+            List<String> cells = rows.get(r);
+            for (int c = 0; c < cells.size(); c++) {
+                String value = cells.get(c);
+                if (value.isEmpty()) {
+                    continue;
+                }
+                String ref = (char) ('A' + c) + String.valueOf(r + 1);
+                if (value.startsWith("#s:")) {
+                    sheet.append("<c r=\"").append(ref).append("\" t=\"s\"><v>").append(value.substring(3)).append("</v></c>");
+                } else if (value.matches("[0-9.E]+") && !value.startsWith("R")) {
+                    sheet.append("<c r=\"").append(ref).append("\"><v>").append(value).append("</v></c>");
+                } else {
+                    sheet.append("<c r=\"").append(ref).append("\" t=\"s\"><v>").append(sharedStrings.size()).append("</v></c>");
+                    sharedStrings.add(value);
+                }
+            }
+            sheet.append("</row>");
+        }
+        sheet.append("</sheetData></worksheet>");
+        
+        StringBuilder sst = new StringBuilder("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        for (String value : sharedStrings) {
+            sst.append("<si><t>").append(value).append("</t></si>");
+        }
+        sst.append("</sst>");
+        
+        Path file = tempDir.resolve("cases-" + System.nanoTime() + ".xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : Map.of(
+                    "xl/workbook.xml", WORKBOOK,
+                    "xl/_rels/workbook.xml.rels", WORKBOOK_RELS,
+                    "xl/sharedStrings.xml", sst.toString(),
+                    "xl/worksheets/cases.xml", sheet.toString()).entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.drmp.cases.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * XLSX共享字符串表测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class XlsxSharedStringsTest {
+    
+    @Test
+    void readsBackStringsByIndexAfterSeal() throws IOException {
+        try (XlsxSharedStrings strings = new XlsxSharedStrings()) {
+            for (int i = 0; i < 3000; i++) {
+                strings.add("客户" + i);
+            }
+            strings.add("");
+            strings.seal();
+            
+            assertThat(strings.size()).isEqualTo(3001);
+            assertThat(strings.get(0)).isEqualTo("客户0");
+            assertThat(strings.get(2999)).isEqualTo("客户2999");
+            assertThat(strings.get(3000)).isEmpty();
+        }
+    }
+    
+    @Test
+    void rejectsIndexOutsideTable() throws IOException {
+        try (XlsxSharedStrings strings = new XlsxSharedStrings()) {
+            strings.add("张三");
+            strings.seal();
+            
+            assertThatThrownBy(() -> strings.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+            assertThatThrownBy(() -> strings.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+}
\ No newline at end of file
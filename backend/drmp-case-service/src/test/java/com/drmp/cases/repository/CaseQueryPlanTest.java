@@ -0,0 +1,190 @@
+package com.drmp.cases.repository;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.search.ReceiptNumberMatch;
+import com.drmp.common.enums.CaseStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 动态查询条件的执行计划测试
+ * 在H2（MySQL兼容模式）上建立与init.sql一致的索引，对常用条件组合生成的SQL执行EXPLAIN，
+ * 验证未传入的条件不生成谓词，且实际条件能命中对应的复合索引
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:plan;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.drmp.cases.repository.CaseQueryPlanTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql("/plan-indexes.sql")
+class CaseQueryPlanTest {
+    
+    private static final Long PACKAGE_ID = 1L;
+    
+    private static final Long ORG_ID = 2L;
+    
+    @Autowired
+    private CaseRepository caseRepository;
+    
+    @Autowired
+    private CasePackageRepository casePackageRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clearRecordedSql() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+    
+    @Test
+    void packageFilterUsesPackageIndex() {
+        caseRepository.findByConditions(PACKAGE_ID, null, null, null, null, null, null, null, null,
+            PageRequest.of(0, 20));
+        
+        assertUsesIndexOn(planOfFirstSelect(), "case_package_id");
+    }
+    
+    @Test
+    void packageAndStatusFilterUsesPackageStatusIndex() {
+        caseRepository.findByCasePackageIdAndConditions(PACKAGE_ID, CaseStatus.ASSIGNED, null, null, null, null,
+            null, null, PageRequest.of(0, 20));
+        
+        assertThat(planOfFirstSelect()).containsIgnoringCase("idx_case_package_status");
+    }
+    
+    @Test
+    void assignedOrgFilterUsesAssignedOrgIndex() {
+        caseRepository.findByAssignedOrgId(ORG_ID, CaseStatus.ASSIGNED, PageRequest.of(0, 20));
+        caseRepository.findByConditions(null, null, ORG_ID, null, null, null, null, null, null, PageRequest.of(0, 20));
+        
+        assertThat(plansOfSelects()).allSatisfy(plan -> assertThat(plan).containsIgnoringCase("idx_assigned_org_assigned_at"));
+    }
+    
+    @Test
+    void keywordSearchKeepsPackageIndex() {
+        caseRepository.findByCasePackageIdAndConditions(PACKAGE_ID, null, "R2024",
+            new ReceiptNumberMatch(List.of(10L, 11L), 5L), "id-card", "name", null, null, PageRequest.of(0, 20));
+        
+        assertThat(RecordingInspector.STATEMENTS.get(0)).contains("c1_0.id<5");
+        assertUsesIndexOn(planOfFirstSelect(), "case_package_id");
+    }
+    
+    @Test
+    void substringKeywordSearchKeepsPackageIndex() {
+        caseRepository.findByCasePackageIdAndConditions(PACKAGE_ID, null, "2024", ReceiptNumberMatch.SUBSTRING,
+            null, null, null, null, PageRequest.of(0, 20));
+        
+        assertThat(RecordingInspector.STATEMENTS.get(0)).contains("like '%2024%'").doesNotContain("like '2024%'");
+        assertUsesIndexOn(planOfFirstSelect(), "case_package_id");
+    }
+    
+    @Test
+    void keysetSliceUsesPackageIndex() {
+        caseRepository.findSliceByConditions(PACKAGE_ID, null, null, null, null, null, null, null, null,
+            LocalDateTime.of(2024, 1, 1, 0, 0), 100L, PageRequest.of(0, 20));
+        caseRepository.findSliceByAssignedOrgId(ORG_ID, null, LocalDateTime.of(2024, 1, 1, 0, 0), 100L,
+            PageRequest.of(0, 20));
+        
+        List<String> plans = plansOfSelects();
+        assertThat(plans).hasSize(2);
+        assertUsesIndexOn(plans.get(0), "case_package_id");
+        assertThat(plans.get(1)).containsIgnoringCase("idx_assigned_org_assigned_at");
+    }
+    
+    @Test
+    void casePackageFilterUsesSourceOrgStatusIndex() {
+        casePackageRepository.findByConditions(ORG_ID, CasePackage.CasePackageStatus.PUBLISHED, null,
+            PageRequest.of(0, 20));
+        
+        assertThat(planOfFirstSelect()).containsIgnoringCase("idx_source_org_status");
+    }
+    
+    @Test
+    void omittedConditionsGenerateNoPredicates() {
+        caseRepository.findByConditions(null, null, null, " ", null, null, null, null, null, PageRequest.of(0, 20));
+        casePackageRepository.findByConditions(null, null, null, PageRequest.of(0, 20));
+        
+        assertThat(RecordingInspector.STATEMENTS).isNotEmpty().allSatisfy(sql -> assertThat(sql)
+            .doesNotContainIgnoringCase("is null")
+            .doesNotContainIgnoringCase(" like ")
+            .doesNotContain("case_package_id=")
+            .doesNotContain("source_org_id="));
+    }
+    
+    @Test
+    void cappedListsRunNoCountQuery() {
+        caseRepository.findPendingAssignmentSlice(PageRequest.of(0, 1000));
+        caseRepository.findOverdueSlice(LocalDateTime.of(2024, 1, 1, 0, 0), PageRequest.of(0, 1000));
+        caseRepository.findSliceByOverdueDaysRange(30, 90, PageRequest.of(0, 1000));
+        
+        assertThat(RecordingInspector.STATEMENTS).hasSize(3).noneMatch(sql -> sql.contains("count("));
+    }
+    
+    /**
+     * H2的EXPLAIN在表名后以注释标注所用索引及索引条件，全表扫描时标注为tableScan
+     */
+    private static void assertUsesIndexOn(String plan, String column) {
+        assertThat(plan).doesNotContain("tableScan").contains(": " + column + " = ");
+    }
+    
+    private String planOfFirstSelect() {
+        return plansOfSelects().get(0);
+    }
+    
+    /**
+     * 对记录的数据查询（不含count）执行EXPLAIN，分页参数以字面量代入
+     */
+    private List<String> plansOfSelects() {
+        return RecordingInspector.STATEMENTS.stream()
+            .filter(sql -> !sql.contains("count("))
+            .map(sql -> jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("?", "20"), String.class))
+            .toList();
+    }
+    
+    /**
+     * 记录Hibernate发出的SQL
+     */
+    public static class RecordingInspector implements StatementInspector {
+        
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+    
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Case.class)
+    @EnableJpaRepositories(basePackageClasses = CaseRepository.class)
+    static class PlanTestConfiguration {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.drmp.cases.search;
+
+import com.drmp.cases.entity.Case;
+import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.repository.SearchIndexRepository;
+import com.drmp.common.util.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 案件搜索索引测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CaseSearchIndexTest {
+    
+    private StringRedisTemplate redisTemplate;
+    
+    private SearchIndexRepository repository;
+    
+    private CaseSearchIndex searchIndex;
+    
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        repository = mock(SearchIndexRepository.class);
+        searchIndex = new CaseSearchIndex(repository, Runnable::run, redisTemplate,
+            mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "maxResults", 2);
+        ReflectionTestUtils.setField(searchIndex, "ready", true);
+    }
+    
+    @Test
+    void fallsBackToDatabaseSubstringWhenHitsExceedLimit() {
+        searchIndex.indexCase(caseEntity(1L, "R2024001"));
+        searchIndex.indexCase(caseEntity(2L, "R2024002"));
+        
+        assertThat(searchIndex.searchCases("2024")).isEqualTo(ReceiptNumberMatch.of(List.of(2L, 1L)));
+        
+        searchIndex.indexCase(caseEntity(3L, "R2024003"));
+        
+        assertThat(searchIndex.searchCases("2024")).isEqualTo(ReceiptNumberMatch.SUBSTRING);
+        assertThat(searchIndex.searchCases("2024003").ids()).containsExactly(3L);
+    }
+    
+    @Test
+    void matchesOnlyByPrefixUntilReady() {
+        ReflectionTestUtils.setField(searchIndex, "ready", false);
+        
+        assertThat(searchIndex.searchCases("2024")).isEqualTo(ReceiptNumberMatch.PREFIX);
+    }
+    
+    @Test
+    void keepsOnlyNewestCasesAndLeavesOlderOnesToDatabase() {
+        when(repository.findCaseIdFloor(2)).thenReturn(2L);
+        when(repository.findCaseBatch(1L, 5000)).thenReturn(List.of(
+            new SearchIndexRepository.CaseRow(2L, "R2024002"), new SearchIndexRepository.CaseRow(3L, "R2024003")));
+        ReflectionTestUtils.setField(searchIndex, "maxCases", 2);
+        ReflectionTestUtils.setField(searchIndex, "rebuildBatchSize", 5000);
+        
+        searchIndex.rebuild();
+        searchIndex.indexCase(caseEntity(1L, "R2024001"));
+        
+        assertThat(searchIndex.getStatus().getCaseCount()).isEqualTo(2);
+        assertThat(searchIndex.searchCases("2024")).isEqualTo(new ReceiptNumberMatch(List.of(3L, 2L), 2L));
+    }
+    
+    @Test
+    void broadcastsLocalChanges() {
+        searchIndex.indexCase(caseEntity(1L, "R2024001"));
+        
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CaseSearchIndex.CHANGE_CHANNEL), message.capture());
+        CaseSearchIndex.IndexChange change = JsonUtils.parseJson(message.getValue(), CaseSearchIndex.IndexChange.class);
+        assertThat(change.getIds()).containsExactly(1L);
+        assertThat(change.getFields()).containsExactly(List.of("R2024001"));
+        assertThat(change.getNode()).isNotBlank();
+    }
+    
+    @Test
+    void appliesChangesFromOtherNodesOnly() {
+        searchIndex.onMessage(message("other-node", "package", 7L, List.of("不良资产包", "描述")), null);
+        
+        assertThat(searchIndex.searchPackages("资产")).containsExactly(7L);
+        
+        searchIndex.onMessage(message("other-node", "package", 7L, null), null);
+        
+        assertThat(searchIndex.searchPackages("资产")).isEmpty();
+        
+        searchIndex.indexPackage(casePackage(8L, "不良资产包"));
+        String own = (String) ReflectionTestUtils.getField(searchIndex, "nodeId");
+        searchIndex.onMessage(message(own, "package", 8L, null), null);
+        
+        assertThat(searchIndex.searchPackages("资产")).containsExactly(8L);
+    }
+    
+    private static DefaultMessage message(String node, String type, long id, List<String> fields) {
+        CaseSearchIndex.IndexChange change = new CaseSearchIndex.IndexChange();
+        change.setNode(node);
+        change.setType(type);
+        change.getIds().add(id);
+        change.getFields().add(fields);
+        return new DefaultMessage(CaseSearchIndex.CHANGE_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            JsonUtils.toJsonString(change).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static Case caseEntity(Long id, String receiptNumber) {
+        Case caseEntity = new Case();
+        caseEntity.setId(id);
+        caseEntity.setReceiptNumber(receiptNumber);
+        return caseEntity;
+    }
+    
+    private static CasePackage casePackage(Long id, String name) {
+        CasePackage casePackage = new CasePackage();
+        casePackage.setId(id);
+        casePackage.setName(name);
+        return casePackage;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.drmp.cases.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 内存倒排索引测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class InvertedIndexTest {
+    
+    @Test
+    void findsReceiptNumbersBySubstring() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        index.put(1, "R2024001");
+        index.put(2, "R2024002");
+        index.put(3, "X9999");
+        
+        assertThat(index.search("2024", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("r2024002", 10)).containsExactly(2L);
+        assertThat(index.search("8888", 10)).isEmpty();
+    }
+    
+    @Test
+    void ranksExactThenPrefixMatchesFirst() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        index.put(1, "abc1234");
+        index.put(2, "xabc123");
+        index.put(3, "abc123");
+        
+        assertThat(index.search("ABC123", 10)).containsExactly(3L, 1L, 2L);
+    }
+    
+    @Test
+    void dropsNgramFalsePositives() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        index.put(1, "abcxbcd");
+        index.put(2, "abcd");
+        
+        assertThat(index.search("abcd", 10)).containsExactly(2L);
+    }
+    
+    @Test
+    void returnsNullWhenQueryCannotUseIndex() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        index.put(1, "R2024001");
+        
+        assertThat(index.search("r2", 10)).isNull();
+        assertThat(index.search("  ", 10)).isNull();
+    }
+    
+    @Test
+    void replacesAndRemovesDocuments() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        index.put(1, "abc123");
+        index.put(1, "xyz789");
+        index.put(2, "abc456");
+        
+        assertThat(index.search("abc", 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 10)).containsExactly(1L);
+        
+        index.remove(2);
+        index.put(1, (String) null);
+        
+        assertThat(index.size()).isZero();
+        assertThat(index.search("abc", 10)).isEmpty();
+    }
+    
+    @Test
+    void keepsBestHitsUpToLimit() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.NGRAM);
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, "case-" + id);
+        }
+        
+        assertThat(index.search("case", 2)).containsExactly(5L, 4L);
+    }
+    
+    @Test
+    void weighsPackageNameAboveDescription() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.WORD, 2f, 1f);
+        index.put(1, "其他案件", "优质不良资产");
+        index.put(2, "优质不良资产包", null);
+        index.put(3, "信用卡", "不良");
+        
+        assertThat(index.search("不良资产", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("不良", 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+    
+    @Test
+    void requiresEveryTermAcrossFields() {
+        InvertedIndex index = new InvertedIndex(SearchTokenizer.WORD, 2f, 1f);
+        index.put(1, "消费贷资产包", "2024年第一批");
+        index.put(2, "消费贷资产包", "2023年");
+        
+        assertThat(index.search("资产 2024", 10)).containsExactly(1L);
+    }
+}
\ No newline at end of file
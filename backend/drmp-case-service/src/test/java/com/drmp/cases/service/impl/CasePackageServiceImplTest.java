@@ -0,0 +1,126 @@
+package com.drmp.cases.service.impl;
+
+import com.drmp.cases.dto.BatchImportResult;
+import com.drmp.cases.entity.CasePackage;
+import com.drmp.cases.importer.ImportErrorReport;
+import com.drmp.cases.importer.ImportFileSpooler;
+import com.drmp.cases.importer.ImportTaskRegistry;
+import com.drmp.cases.repository.CasePackageRepository;
+import com.drmp.cases.repository.CaseRepository;
+import com.drmp.cases.search.CaseSearchIndex;
+import com.drmp.cases.service.CaseService;
+import com.drmp.common.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 案件包导入文件落盘与判重测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CasePackageServiceImplTest {
+    
+    // "abc"的SHA-256
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+    
+    @TempDir
+    Path uploadDir;
+    
+    private CasePackageRepository casePackageRepository;
+    
+    private CasePackageServiceImpl service;
+    
+    private CasePackage casePackage;
+    
+    private Path previousFile;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        casePackageRepository = mock(CasePackageRepository.class);
+        ImportFileSpooler spooler = new ImportFileSpooler();
+        ReflectionTestUtils.setField(spooler, "uploadPath", uploadDir.toString());
+        service = new CasePackageServiceImpl(casePackageRepository, mock(CaseRepository.class), mock(CaseService.class),
+            mock(TransactionTemplate.class), mock(Executor.class), mock(Executor.class), mock(ImportTaskRegistry.class),
+            spooler, mock(ImportErrorReport.class), mock(CaseSearchIndex.class));
+        ReflectionTestUtils.setField(service, "importTimeoutMinutes", 120);
+        
+        // 案件包上一次导入的文件
+        previousFile = Files.writeString(uploadDir.resolve("previous_cases.csv"), "abc");
+        casePackage = new CasePackage();
+        casePackage.setId(1L);
+        casePackage.setImportFilePath(previousFile.toString());
+        casePackage.setImportFileName("cases.csv");
+        casePackage.setImportTaskId("task-1");
+        casePackage.setImportFileHash(ABC_SHA256);
+        casePackage.setImportStatus(CasePackage.ImportStatus.SUCCESS);
+        casePackage.setImportSuccessCount(10);
+        when(casePackageRepository.findById(1L)).thenReturn(Optional.of(casePackage));
+    }
+    
+    @Test
+    void returnsExistingResultForSameContentByStoredHash() throws IOException {
+        BatchImportResult result = service.importCases(1L, upload("abc"));
+        
+        assertThat(result.getTaskId()).isEqualTo("task-1");
+        assertThat(result.getStatus()).isEqualTo(BatchImportResult.ImportStatus.SUCCESS);
+        verify(casePackageRepository, never()).startImport(any(), any(), any(), any(), any(), any(), any());
+        // 本次上传的文件已删除，上一次导入的文件保留
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).containsExactly(previousFile);
+        }
+    }
+    
+    @Test
+    void startsImportWithOwnFileAndReleasesPreviousOne() throws IOException {
+        when(casePackageRepository.startImport(eq(1L), anyString(), anyString(), anyString(), anyString(), any(), any()))
+            .thenReturn(1);
+        
+        service.importCases(1L, upload("abcd"));
+        
+        ArgumentCaptor<String> filePath = ArgumentCaptor.forClass(String.class);
+        verify(casePackageRepository).startImport(eq(1L), anyString(), filePath.capture(), eq("cases.csv"),
+            anyString(), any(), any());
+        assertThat(Paths.get(filePath.getValue())).exists().isNotEqualTo(previousFile);
+        assertThat(previousFile).doesNotExist();
+    }
+    
+    @Test
+    void discardsOwnFileWhenImportAlreadyRunning() throws IOException {
+        when(casePackageRepository.startImport(eq(1L), anyString(), anyString(), anyString(), anyString(), any(), any()))
+            .thenReturn(0);
+        
+        assertThatThrownBy(() -> service.importCases(1L, upload("abcd"))).isInstanceOf(BusinessException.class);
+        
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).containsExactly(previousFile);
+        }
+    }
+    
+    private static MockMultipartFile upload(String content) {
+        return new MockMultipartFile("file", "cases.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- 与docs/database/init.sql中cases_template、case_packages的二级索引保持一致，供查询计划测试使用
+CREATE INDEX IF NOT EXISTS idx_case_package_status ON cases_template (case_package_id, current_status);
+CREATE INDEX IF NOT EXISTS idx_case_package_create_time ON cases_template (case_package_id, create_time);
+CREATE INDEX IF NOT EXISTS idx_assigned_org_assigned_at ON cases_template (assigned_org_id, assigned_at);
+CREATE INDEX IF NOT EXISTS idx_overdue_days ON cases_template (overdue_days);
+CREATE INDEX IF NOT EXISTS idx_remaining_amount ON cases_template (remaining_amount);
+CREATE INDEX IF NOT EXISTS idx_assigned_at ON cases_template (assigned_at);
+CREATE INDEX IF NOT EXISTS idx_create_time ON cases_template (create_time);
+CREATE INDEX IF NOT EXISTS idx_debtor_id_card_index ON cases_template (debtor_id_card_index);
+CREATE INDEX IF NOT EXISTS idx_debtor_name_index ON cases_template (debtor_name_index);
+CREATE INDEX IF NOT EXISTS idx_debtor_phone_index ON cases_template (debtor_phone_index);
+CREATE INDEX IF NOT EXISTS idx_debtor_phone_suffix_index ON cases_template (debtor_phone_suffix_index);
+CREATE INDEX IF NOT EXISTS idx_source_org_status ON case_packages (source_org_id, status);
+CREATE INDEX IF NOT EXISTS idx_publish_time ON case_packages (publish_time);
+CREATE INDEX IF NOT EXISTS idx_pkg_create_time ON case_packages (create_time);
+CREATE INDEX IF NOT EXISTS idx_import_status ON case_packages (import_status);
@@ -0,0 +1,60 @@
+package com.drmp.common.dto;
+
+import com.drmp.common.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 键集分页游标
+ * 记录上一页最后一行的排序时间与主键，下一页从该位置之后继续读取，不需要OFFSET跳过前面的行。
+ * 对外以不透明的URL安全字符串传递
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+    
+    private static final char SEPARATOR = '_';
+    
+    /**
+     * 排序时间
+     */
+    private LocalDateTime time;
+    
+    /**
+     * 主键
+     */
+    private Long id;
+    
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 解析游标字符串，为空时返回null（第一页）
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw BusinessException.validateError("无效的分页游标");
+        }
+    }
+}
\ No newline at end of file
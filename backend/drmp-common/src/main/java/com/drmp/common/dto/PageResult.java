@@ -2,12 +2,14 @@ package com.drmp.common.dto;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.io.Serializable;
 import java.util.List;
 
 /**
  * 分页响应结果类
+ * 键集分页（slice）不统计总数：total、current、pages为空，以nextCursor请求下一页
  * 
  * @author DRMP Team
  * @since 1.0.0
@@ -43,6 +45,16 @@ public class PageResult<T> implements Serializable {
      */
     private Long pages;
     
+    /**
+     * 是否还有下一页（键集分页）
+     */
+    private Boolean hasNext;
+    
+    /**
+     * 下一页游标，没有下一页时为空（键集分页）
+     */
+    private String nextCursor;
+    
     public PageResult(List<T> records, Long total, Long current, Long size) {
         this.records = records;
         this.total = total;
@@ -65,6 +77,28 @@ public class PageResult<T> implements Serializable {
         return new PageResult<>(records, total, current, size);
     }
     
+    /**
+     * 由Spring Data分页结果创建，页码从1开始
+     */
+    public static <T> PageResult<T> of(Page<T> page) {
+        return new PageResult<>(page.getContent(), page.getTotalElements(),
+            (long) page.getNumber() + 1, (long) page.getSize());
+    }
+    
+    /**
+     * 创建键集分页结果，不包含总数
+     * 
+     * @param nextCursor 下一页游标，为null表示没有下一页
+     */
+    public static <T> PageResult<T> slice(List<T> records, Long size, String nextCursor) {
+        PageResult<T> result = new PageResult<>();
+        result.records = records;
+        result.size = size;
+        result.hasNext = nextCursor != null;
+        result.nextCursor = nextCursor;
+        return result;
+    }
+    
     /**
      * 判断是否有数据
      */
@@ -56,6 +56,9 @@ public enum ErrorCode {
     CASE_ALREADY_CLOSED(14006, "案件已结案"),
     INVALID_STATUS_TRANSITION(14007, "无效的状态转换"),
     CASE_ASSIGNMENT_FAILED(14008, "案件分配失败"),
+    CASE_REENCRYPTION_RUNNING(14009, "敏感字段重加密任务正在执行"),
+    CASE_SEARCH_INDEX_REBUILDING(14010, "搜索索引正在重建"),
+    CASE_EXPORT_BUSY(14011, "导出或流式查询任务过多，请稍后重试"),
     
     // 导入相关错误码 (15000-15999)
     IMPORT_FILE_EMPTY(15001, "导入文件为空"),
@@ -64,6 +67,10 @@ public enum ErrorCode {
     IMPORT_DATA_VALIDATION_ERROR(15004, "导入数据验证失败"),
     IMPORT_TASK_NOT_FOUND(15005, "导入任务不存在"),
     IMPORT_TASK_TIMEOUT(15006, "导入任务超时"),
+    IMPORT_CANNOT_RESUME(15007, "导入任务无法从断点继续"),
+    IMPORT_IN_PROGRESS(15008, "案件包正在导入中"),
+    IMPORT_ERROR_REPORT_NOT_FOUND(15009, "导入错误报告不存在"),
+    IMPORT_BUSY(15010, "导入任务过多，请稍后重试"),
     
     // 分案相关错误码 (16000-16999)
     ASSIGNMENT_NOT_FOUND(16001, "分案记录不存在"),
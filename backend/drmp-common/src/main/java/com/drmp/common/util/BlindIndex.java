@@ -0,0 +1,120 @@
+package com.drmp.common.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * 加密字段盲索引
+ * 对规范化后的明文计算HMAC-SHA256（截取前16字节，32位十六进制），相同明文得到相同索引值，
+ * 可在加密列之外建立普通索引做等值查询，而不暴露明文。每个字段使用不同的域前缀，
+ * 不同字段的相同取值不会得到相同的索引值
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class BlindIndex {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    
+    /**
+     * 索引值字节数
+     */
+    private static final int INDEX_BYTES = 16;
+    
+    /**
+     * 手机尾号位数
+     */
+    private static final int PHONE_SUFFIX_LENGTH = 4;
+    
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    
+    /**
+     * @param secret 主密钥，盲索引密钥由其派生，与加密密钥相互独立
+     */
+    public BlindIndex(byte[] secret) {
+        this.key = new SecretKeySpec(deriveKey(secret), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+    
+    public BlindIndex(String secret) {
+        this(secret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 姓名索引：去除空白
+     */
+    public String name(String name) {
+        return name == null ? null : hash("name", name.replaceAll("\\s+", ""));
+    }
+    
+    /**
+     * 身份证号索引：去除首尾空白，校验位统一大写
+     */
+    public String idCard(String idCard) {
+        return idCard == null ? null : hash("id_card", idCard.trim().toUpperCase());
+    }
+    
+    /**
+     * 手机号索引：只保留数字，去掉86国家码
+     */
+    public String phone(String phone) {
+        return phone == null ? null : hash("phone", normalizePhone(phone));
+    }
+    
+    /**
+     * 手机尾号索引：取规范化后手机号的后4位，不足4位时返回null
+     */
+    public String phoneSuffix(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = normalizePhone(phone);
+        if (digits.length() < PHONE_SUFFIX_LENGTH) {
+            return null;
+        }
+        return hash("phone_suffix", digits.substring(digits.length() - PHONE_SUFFIX_LENGTH));
+    }
+    
+    private String hash(String field, String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        Mac mac = macs.get();
+        mac.update(field.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, INDEX_BYTES);
+    }
+    
+    private static String normalizePhone(String phone) {
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() == 13 && digits.startsWith("86")) {
+            return digits.substring(2);
+        }
+        return digits;
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化盲索引组件失败", e);
+        }
+    }
+    
+    private static byte[] deriveKey(byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal("drmp-blind-index".getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化盲索引密钥失败", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.drmp.common.util;
+
+/**
+ * CSV工具类
+ * 导出文件与导入错误报告共用同一转义规则：以公式字符开头的文本前加单引号，
+ * 防止借据编号等文本被Excel当作公式执行（CSV注入）
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public class CsvUtils {
+    
+    /**
+     * Excel视为公式开头的字符
+     */
+    private static final String FORMULA_PREFIXES = "=+-@";
+    
+    /**
+     * 转义CSV文本单元格：公式前缀字符前加单引号，含分隔符、引号或换行时加引号
+     */
+    public static String escape(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        if (FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
\ No newline at end of file
@@ -2,14 +2,14 @@ package com.drmp.common.util;
 
 import lombok.extern.slf4j.Slf4j;
 
-import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 加密解密工具类
@@ -21,57 +21,115 @@ import java.util.Base64;
 public class EncryptUtils {
     
     private static final String ALGORITHM = "AES";
-    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
     
     // 在实际应用中，这个密钥应该从配置文件或密钥管理服务中获取
     private static final String SECRET_KEY = "DRMP2024SecretKey!@#$%^&*()123456";
     
+    /**
+     * 字段加密引擎，密钥与Cipher实例在各次调用之间复用；
+     * 默认只有版本0（SECRET_KEY），应用启动时通过install替换为配置的密钥版本
+     */
+    private static volatile VersionedFieldCipher cipher = new VersionedFieldCipher(
+        Map.of(VersionedFieldCipher.LEGACY_VERSION, SECRET_KEY.getBytes(StandardCharsets.UTF_8)),
+        VersionedFieldCipher.LEGACY_VERSION);
+    
+    /**
+     * 盲索引，应用启动时通过installBlindIndex以独立配置的索引密钥安装；
+     * 不提供默认值，索引密钥不能来自代码中的常量，否则拿到代码即可离线枚举身份证号、手机号。
+     * 盲索引不随数据密钥轮换，轮换期间新旧数据仍可检索
+     */
+    private static volatile BlindIndex blindIndex;
+    
     /**
      * 加密
      */
     public static String encrypt(String plainText) {
-        if (plainText == null || plainText.isEmpty()) {
-            return plainText;
-        }
-        
-        try {
-            SecretKeySpec secretKey = new SecretKeySpec(
-                SECRET_KEY.getBytes(StandardCharsets.UTF_8), ALGORITHM);
-            
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            
-            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(encryptedBytes);
-            
-        } catch (Exception e) {
-            log.error("加密失败: {}", plainText, e);
-            return plainText; // 加密失败时返回原文，避免数据丢失
-        }
+        return cipher.encrypt(plainText);
     }
     
     /**
      * 解密
      */
     public static String decrypt(String encryptedText) {
-        if (encryptedText == null || encryptedText.isEmpty()) {
-            return encryptedText;
-        }
-        
-        try {
-            SecretKeySpec secretKey = new SecretKeySpec(
-                SECRET_KEY.getBytes(StandardCharsets.UTF_8), ALGORITHM);
-            
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
-            return new String(decryptedBytes, StandardCharsets.UTF_8);
-            
-        } catch (Exception e) {
-            log.error("解密失败: {}", encryptedText, e);
-            return encryptedText; // 解密失败时返回加密文本，避免数据丢失
+        return cipher.decrypt(encryptedText);
+    }
+    
+    /**
+     * 批量加密一列字段值
+     */
+    public static List<String> encryptAll(List<String> plainTexts) {
+        return cipher.encryptAll(plainTexts);
+    }
+    
+    /**
+     * 批量解密一列字段值
+     */
+    public static List<String> decryptAll(List<String> encryptedTexts) {
+        return cipher.decryptAll(encryptedTexts);
+    }
+    
+    /**
+     * 安装字段加密引擎
+     */
+    public static void install(VersionedFieldCipher fieldCipher) {
+        cipher = fieldCipher;
+    }
+    
+    /**
+     * 安装盲索引
+     */
+    public static void installBlindIndex(BlindIndex index) {
+        blindIndex = index;
+    }
+    
+    /**
+     * 当前加密使用的密钥版本
+     */
+    public static int activeKeyVersion() {
+        return cipher.getActiveVersion();
+    }
+    
+    /**
+     * 解密，密钥版本未配置或解密失败时返回null而不是原值
+     */
+    public static String tryDecrypt(String encryptedText) {
+        return cipher.tryDecrypt(encryptedText);
+    }
+    
+    /**
+     * 盲索引 - 身份证号
+     */
+    public static String idCardIndex(String idCard) {
+        return blindIndex().idCard(idCard);
+    }
+    
+    /**
+     * 盲索引 - 姓名
+     */
+    public static String nameIndex(String name) {
+        return blindIndex().name(name);
+    }
+    
+    /**
+     * 盲索引 - 手机号
+     */
+    public static String phoneIndex(String phone) {
+        return blindIndex().phone(phone);
+    }
+    
+    /**
+     * 盲索引 - 手机尾号（后4位）
+     */
+    public static String phoneSuffixIndex(String phone) {
+        return blindIndex().phoneSuffix(phone);
+    }
+    
+    private static BlindIndex blindIndex() {
+        BlindIndex index = blindIndex;
+        if (index == null) {
+            throw new IllegalStateException("盲索引密钥未配置");
         }
+        return index;
     }
     
     /**
@@ -0,0 +1,66 @@
+package com.drmp.common.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 信封加密数据密钥工具
+ * 字段数据由数据密钥（DEK）加密，数据密钥以主密钥（KEK）按AES Key Wrap（RFC 3394）封装后存放在配置中，
+ * 启动时解封；轮换主密钥只需重新封装数据密钥，不必重写数据
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public final class EnvelopeKeys {
+    
+    private static final String ALGORITHM = "AES";
+    private static final String WRAP_TRANSFORMATION = "AESWrap";
+    
+    private EnvelopeKeys() {
+    }
+    
+    /**
+     * 生成新的256位数据密钥并以主密钥封装，返回Base64
+     */
+    public static String generateWrappedKey(byte[] masterKey) {
+        try {
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(ALGORITHM);
+            keyGenerator.init(256, new SecureRandom());
+            return wrap(masterKey, keyGenerator.generateKey().getEncoded());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("生成数据密钥失败", e);
+        }
+    }
+    
+    /**
+     * 以主密钥封装数据密钥，返回Base64
+     */
+    public static String wrap(byte[] masterKey, byte[] dataKey) {
+        try {
+            Cipher cipher = Cipher.getInstance(WRAP_TRANSFORMATION);
+            cipher.init(Cipher.WRAP_MODE, new SecretKeySpec(masterKey, ALGORITHM));
+            return Base64.getEncoder().encodeToString(cipher.wrap(new SecretKeySpec(dataKey, ALGORITHM)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("封装数据密钥失败", e);
+        }
+    }
+    
+    /**
+     * 以主密钥解封Base64形式的数据密钥；主密钥不匹配时封装完整性校验失败
+     */
+    public static byte[] unwrap(byte[] masterKey, String wrappedKey) {
+        try {
+            Cipher cipher = Cipher.getInstance(WRAP_TRANSFORMATION);
+            cipher.init(Cipher.UNWRAP_MODE, new SecretKeySpec(masterKey, ALGORITHM));
+            Key key = cipher.unwrap(Base64.getDecoder().decode(wrappedKey), ALGORITHM, Cipher.SECRET_KEY);
+            return key.getEncoded();
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("解封数据密钥失败", e);
+        }
+    }
+}
\ No newline at end of file
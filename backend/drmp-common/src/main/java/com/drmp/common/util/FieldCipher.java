@@ -0,0 +1,173 @@
+package com.drmp.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 字段加密引擎
+ * 密钥只构造一次；Cipher非线程安全，每个线程复用各自已初始化的实例，
+ * 避免每次加解密都创建SecretKeySpec并调用Cipher.getInstance。
+ * 批量接口按列处理一批字段值，整批只取一次线程本地的Cipher
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class FieldCipher {
+    
+    private static final String ALGORITHM = "AES";
+    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+    
+    private final SecretKeySpec key;
+    private final ThreadLocal<Cipher> encryptor;
+    private final ThreadLocal<Cipher> decryptor;
+    
+    /**
+     * @param secret 密钥；长度不是16/24/32字节时以其SHA-256摘要作为AES-256密钥
+     */
+    public FieldCipher(byte[] secret) {
+        this.key = new SecretKeySpec(normalizeKey(secret), ALGORITHM);
+        this.encryptor = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptor = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+        // 密钥或算法不可用时在构造时即失败
+        newCipher(Cipher.ENCRYPT_MODE);
+    }
+    
+    public FieldCipher(String secret) {
+        this(secret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 加密，失败时返回原文
+     */
+    public String encrypt(String plainText) {
+        if (plainText == null || plainText.isEmpty()) {
+            return plainText;
+        }
+        return encrypt(encryptor.get(), plainText);
+    }
+    
+    /**
+     * 解密，失败时（如历史未加密数据）返回原值
+     */
+    public String decrypt(String encryptedText) {
+        if (encryptedText == null || encryptedText.isEmpty()) {
+            return encryptedText;
+        }
+        return decrypt(decryptor.get(), encryptedText);
+    }
+    
+    /**
+     * 解密，失败时返回null而不是原值，供需要区分解密失败的调用方使用
+     */
+    public String tryDecrypt(String encryptedText) {
+        if (encryptedText == null || encryptedText.isEmpty()) {
+            return encryptedText;
+        }
+        Cipher cipher = decryptor.get();
+        try {
+            return doDecrypt(cipher, encryptedText);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            reset(cipher, Cipher.DECRYPT_MODE);
+            return null;
+        }
+    }
+    
+    /**
+     * 批量加密一列字段值，结果与输入一一对应
+     */
+    public List<String> encryptAll(List<String> plainTexts) {
+        Cipher cipher = encryptor.get();
+        List<String> result = new ArrayList<>(plainTexts.size());
+        for (String plainText : plainTexts) {
+            if (plainText == null || plainText.isEmpty()) {
+                result.add(plainText);
+            } else {
+                result.add(encrypt(cipher, plainText));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 批量解密一列字段值，结果与输入一一对应
+     */
+    public List<String> decryptAll(List<String> encryptedTexts) {
+        Cipher cipher = decryptor.get();
+        List<String> result = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            if (encryptedText == null || encryptedText.isEmpty()) {
+                result.add(encryptedText);
+            } else {
+                result.add(decrypt(cipher, encryptedText));
+            }
+        }
+        return result;
+    }
+    
+    private String encrypt(Cipher cipher, String plainText) {
+        try {
+            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(encryptedBytes);
+        } catch (GeneralSecurityException e) {
+            log.error("加密失败", e);
+            reset(cipher, Cipher.ENCRYPT_MODE);
+            return plainText;
+        }
+    }
+    
+    private String decrypt(Cipher cipher, String encryptedText) {
+        try {
+            return doDecrypt(cipher, encryptedText);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            log.debug("解密失败，按原值返回: {}", e.getMessage());
+            reset(cipher, Cipher.DECRYPT_MODE);
+            return encryptedText;
+        }
+    }
+    
+    private static String doDecrypt(Cipher cipher, String encryptedText) throws GeneralSecurityException {
+        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    }
+    
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化加密组件失败", e);
+        }
+    }
+    
+    /**
+     * 出错后Cipher的内部状态不确定，重新初始化以便继续复用
+     */
+    private void reset(Cipher cipher, int mode) {
+        try {
+            cipher.init(mode, key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化加密组件失败", e);
+        }
+    }
+    
+    private static byte[] normalizeKey(byte[] secret) {
+        if (secret.length == 16 || secret.length == 24 || secret.length == 32) {
+            return secret;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化加密密钥失败", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.drmp.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+/**
+ * 指定类型的JSON编解码器
+ * 持有按目标类型预先构造的ObjectReader/ObjectWriter，二者不可变且线程安全，
+ * 反复读写同一类型时不必每次解析类型并查找序列化器。通过JsonUtils.codec获取缓存的实例
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public final class JsonCodec<T> {
+    
+    private final JavaType type;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    
+    JsonCodec(ObjectMapper objectMapper, JavaType type) {
+        this.type = type;
+        this.reader = objectMapper.readerFor(type);
+        this.writer = objectMapper.writerFor(type);
+    }
+    
+    public JavaType getType() {
+        return type;
+    }
+    
+    /**
+     * JSON字符串转对象
+     */
+    public T read(String json) throws JsonProcessingException {
+        return reader.readValue(json);
+    }
+    
+    /**
+     * 从解析器的当前位置读取一个值，用于在流式解析中按需读取该类型的值
+     */
+    public T read(JsonParser parser) throws IOException {
+        return reader.readValue(parser);
+    }
+    
+    /**
+     * 对象转JSON字符串
+     */
+    public String write(T value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+    
+    /**
+     * 将对象写入已有的生成器，用于在流式输出中嵌入该类型的值
+     */
+    public void write(JsonGenerator generator, T value) throws IOException {
+        writer.writeValue(generator, value);
+    }
+}
\ No newline at end of file
@@ -1,15 +1,29 @@
 package com.drmp.common.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * JSON工具类
+ * 各目标类型的编解码器按类型缓存复用；案件JSON字段（债务信息、债务人信息、联系人、自定义字段）
+ * 这类扁平Map可用fieldsToJson直接以流式生成器输出
  * 
  * @author DRMP Team
  * @since 1.0.0
@@ -17,24 +31,120 @@ import java.util.Map;
 @Slf4j
 public class JsonUtils {
     
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    static final JsonFactory jsonFactory = objectMapper.getFactory();
+    
+    /**
+     * 编解码器缓存：类型 -> 编解码器
+     */
+    private static final ConcurrentMap<JavaType, JsonCodec<?>> codecs = new ConcurrentHashMap<>();
+    
+    private static final JsonCodec<Map<String, Object>> MAP_CODEC = codec(new TypeReference<Map<String, Object>>() {});
+    
+    /**
+     * 获取指定类的编解码器
+     */
+    public static <T> JsonCodec<T> codec(Class<T> clazz) {
+        return codec(objectMapper.constructType(clazz));
+    }
+    
+    /**
+     * 获取泛型类型的编解码器
+     */
+    public static <T> JsonCodec<T> codec(TypeReference<T> typeReference) {
+        return codec(objectMapper.constructType(typeReference));
+    }
+    
+    /**
+     * 获取List类型的编解码器
+     */
+    public static <T> JsonCodec<List<T>> listCodec(Class<T> elementClass) {
+        return codec(objectMapper.getTypeFactory().constructCollectionType(List.class, elementClass));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> JsonCodec<T> codec(JavaType type) {
+        return (JsonCodec<T>) codecs.computeIfAbsent(type, t -> new JsonCodec<>(objectMapper, t));
+    }
     
     /**
      * 对象转JSON字符串
      */
+    @SuppressWarnings("unchecked")
     public static String toJsonString(Object object) {
         if (object == null) {
             return null;
         }
         
         try {
-            return objectMapper.writeValueAsString(object);
+            return ((JsonCodec<Object>) codec(object.getClass())).write(object);
         } catch (JsonProcessingException e) {
             log.error("对象转JSON失败", e);
             return null;
         }
     }
     
+    /**
+     * 创建逐行写出JSON值（NDJSON）的生成器，顶层值之间不写分隔符，由调用方在每个值后写出换行。
+     * 每写出一个值后的flush只清空生成器缓冲，不刷新输出流；关闭生成器时不关闭输出流
+     */
+    public static JsonGenerator createLineGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+    
+    /**
+     * 扁平字段Map转JSON对象字符串
+     * 以流式生成器逐个写出字段，字符串、数值、布尔值直接写出，其他类型的值交由ObjectMapper序列化
+     */
+    public static String fieldsToJson(Map<String, ?> fields) {
+        if (fields == null) {
+            return null;
+        }
+        
+        StringWriter writer = new StringWriter(16 + fields.size() * 32);
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, ?> entry : fields.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            log.error("字段转JSON失败", e);
+            return null;
+        }
+        return writer.toString();
+    }
+    
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String s) {
+            generator.writeString(s);
+        } else if (value instanceof Integer i) {
+            generator.writeNumber(i);
+        } else if (value instanceof Long l) {
+            generator.writeNumber(l);
+        } else if (value instanceof BigDecimal d) {
+            generator.writeNumber(d);
+        } else if (value instanceof BigInteger i) {
+            generator.writeNumber(i);
+        } else if (value instanceof Double d) {
+            generator.writeNumber(d);
+        } else if (value instanceof Boolean b) {
+            generator.writeBoolean(b);
+        } else {
+            generator.writeObject(value);
+        }
+    }
+    
     /**
      * JSON字符串转对象
      */
@@ -44,7 +154,7 @@ public class JsonUtils {
         }
         
         try {
-            return objectMapper.readValue(json, clazz);
+            return codec(clazz).read(json);
         } catch (JsonProcessingException e) {
             log.error("JSON转对象失败: {}", json, e);
             return null;
@@ -60,8 +170,7 @@ public class JsonUtils {
         }
         
         try {
-            return objectMapper.readValue(json, 
-                objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+            return listCodec(clazz).read(json);
         } catch (JsonProcessingException e) {
             log.error("JSON转List失败: {}", json, e);
             return null;
@@ -77,7 +186,7 @@ public class JsonUtils {
         }
         
         try {
-            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return MAP_CODEC.read(json);
         } catch (JsonProcessingException e) {
             log.error("JSON转Map失败: {}", json, e);
             return null;
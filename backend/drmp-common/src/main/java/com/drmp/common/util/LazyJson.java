@@ -0,0 +1,208 @@
+package com.drmp.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 按需解析的JSON值
+ * 持有JSON文本（或其提供者），序列化响应时原样写出，不经过解析再序列化；
+ * 读取单个键时流式扫描顶层字段，不构造完整Map。请求中既可传JSON值，也可传JSON字符串
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+@JsonSerialize(using = LazyJson.Serializer.class)
+@JsonDeserialize(using = LazyJson.Deserializer.class)
+public final class LazyJson {
+    
+    private Supplier<String> source;
+    private String json;
+    
+    /**
+     * 文本是否已获取；提供者可能返回null，不能以json是否为null判断
+     */
+    private volatile boolean resolved;
+    
+    private LazyJson(Supplier<String> source, String json) {
+        this.source = source;
+        this.json = json;
+        this.resolved = source == null;
+    }
+    
+    /**
+     * 由JSON文本创建
+     */
+    public static LazyJson of(String json) {
+        return json == null ? null : new LazyJson(null, json);
+    }
+    
+    /**
+     * 由JSON文本提供者创建，首次使用时才获取文本（如解码紧凑存储的列值），提供者最多调用一次
+     */
+    public static LazyJson of(Supplier<String> source) {
+        return new LazyJson(Objects.requireNonNull(source), null);
+    }
+    
+    /**
+     * 获取JSON文本，value为null时返回null
+     */
+    public static String jsonOf(LazyJson value) {
+        return value == null ? null : value.toJson();
+    }
+    
+    /**
+     * 获取JSON文本
+     */
+    public String toJson() {
+        if (!resolved) {
+            synchronized (this) {
+                if (!resolved) {
+                    json = source.get();
+                    source = null;
+                    resolved = true;
+                }
+            }
+        }
+        return json;
+    }
+    
+    /**
+     * 读取顶层对象中的一个键，只解析该键的值；不是JSON对象或键不存在时返回null
+     */
+    public Object get(String key) {
+        String text = toJson();
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        
+        try (JsonParser parser = JsonUtils.jsonFactory.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean matched = key.equals(parser.currentName());
+                parser.nextToken();
+                if (matched) {
+                    return JsonUtils.codec(Object.class).read(parser);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.error("读取JSON字段失败: {}", key, e);
+        }
+        return null;
+    }
+    
+    /**
+     * 读取顶层对象中的一个键并转为字符串
+     */
+    public String getString(String key) {
+        Object value = get(key);
+        return value == null ? null : value.toString();
+    }
+    
+    /**
+     * 解析为Map，每次调用重新解析
+     */
+    public Map<String, Object> asMap() {
+        return JsonUtils.parseJsonMap(toJson());
+    }
+    
+    /**
+     * 解析为List，每次调用重新解析
+     */
+    public <T> List<T> asList(Class<T> elementClass) {
+        return JsonUtils.parseJsonList(toJson(), elementClass);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyJson other)) {
+            return false;
+        }
+        return Objects.equals(toJson(), other.toJson());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(toJson());
+    }
+    
+    @Override
+    public String toString() {
+        return toJson();
+    }
+    
+    /**
+     * 原样写出JSON文本；文本为空时写出null
+     */
+    public static class Serializer extends JsonSerializer<LazyJson> {
+        
+        @Override
+        public void serialize(LazyJson value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            String text = value.toJson();
+            if (text == null || text.isBlank()) {
+                generator.writeNull();
+            } else {
+                generator.writeRawValue(text);
+            }
+        }
+    }
+    
+    /**
+     * 字符串按JSON文本接收（校验为合法JSON，保证响应中原样写出时不破坏结构），其他值逐标记复制为JSON文本
+     */
+    public static class Deserializer extends JsonDeserializer<LazyJson> {
+        
+        @Override
+        public LazyJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                String text = parser.getText();
+                if (text.isBlank()) {
+                    return null;
+                }
+                if (!isValid(text)) {
+                    throw JsonMappingException.from(parser, "不是合法的JSON文本");
+                }
+                return of(text);
+            }
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = JsonUtils.jsonFactory.createGenerator(writer)) {
+                generator.copyCurrentStructure(parser);
+            }
+            return of(writer.toString());
+        }
+        
+        private static boolean isValid(String text) {
+            try (JsonParser parser = JsonUtils.jsonFactory.createParser(text)) {
+                if (parser.nextToken() == null) {
+                    return false;
+                }
+                parser.skipChildren();
+                return parser.nextToken() == null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
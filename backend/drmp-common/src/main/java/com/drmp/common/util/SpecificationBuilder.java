@@ -0,0 +1,205 @@
+package com.drmp.common.util;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 动态查询条件构造器
+ * 只为实际传入的条件生成谓词，值为null（字符串为空白）的条件直接跳过，不生成“:x IS NULL OR ...”形式的兜底条件。
+ * 每种条件组合对应一条独立的SQL，MySQL可以按实际条件选择复合索引。
+ * 属性名支持以“.”分隔的关联路径，中间的关联以LEFT JOIN连接
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+public final class SpecificationBuilder<T> {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    private final List<Specification<T>> specifications = new ArrayList<>();
+    
+    private SpecificationBuilder() {
+    }
+    
+    public static <T> SpecificationBuilder<T> create() {
+        return new SpecificationBuilder<>();
+    }
+    
+    /**
+     * 属性为false，总是生效（如逻辑删除标记）
+     */
+    public SpecificationBuilder<T> isFalse(String attribute) {
+        specifications.add((root, query, cb) -> cb.isFalse(path(root, attribute)));
+        return this;
+    }
+    
+    /**
+     * 属性等于value，value为null时跳过
+     */
+    public SpecificationBuilder<T> equal(String attribute, Object value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.equal(path(root, attribute), value));
+        }
+        return this;
+    }
+    
+    /**
+     * 属性不等于value，value为null时跳过
+     */
+    public SpecificationBuilder<T> notEqual(String attribute, Object value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.notEqual(path(root, attribute), value));
+        }
+        return this;
+    }
+    
+    /**
+     * 属性在values中，values为null或为空时跳过
+     */
+    public SpecificationBuilder<T> in(String attribute, Collection<?> values) {
+        if (values != null && !values.isEmpty()) {
+            specifications.add((root, query, cb) -> path(root, attribute).in(values));
+        }
+        return this;
+    }
+    
+    /**
+     * 属性以prefix开头（可使用索引），prefix为空白时跳过
+     */
+    public SpecificationBuilder<T> startsWith(String attribute, String prefix) {
+        if (hasText(prefix)) {
+            String pattern = escapeLike(prefix.trim()) + "%";
+            specifications.add((root, query, cb) -> cb.like(path(root, attribute), pattern, LIKE_ESCAPE));
+        }
+        return this;
+    }
+    
+    /**
+     * 属性包含keyword，keyword为空白时跳过
+     */
+    public SpecificationBuilder<T> contains(String attribute, String keyword) {
+        if (hasText(keyword)) {
+            String pattern = "%" + escapeLike(keyword.trim()) + "%";
+            specifications.add((root, query, cb) -> cb.like(path(root, attribute), pattern, LIKE_ESCAPE));
+        }
+        return this;
+    }
+    
+    /**
+     * 属性小于value，value为null时跳过
+     */
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> lessThan(String attribute, Y value) {
+        if (value != null) {
+            specifications.add((root, query, cb) -> cb.lessThan(path(root, attribute), value));
+        }
+        return this;
+    }
+    
+    /**
+     * 键集分页：排序属性与主键均倒序时，取(sortAttribute, idAttribute)位于游标之后的行；value为null时跳过
+     */
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> seekBefore(String sortAttribute, Y value,
+                                                                                String idAttribute, Long id) {
+        if (value != null && id != null) {
+            specifications.add((root, query, cb) -> {
+                Path<Y> sort = path(root, sortAttribute);
+                return cb.or(cb.lessThan(sort, value),
+                    cb.and(cb.equal(sort, value), cb.lessThan(path(root, idAttribute), id)));
+            });
+        }
+        return this;
+    }
+    
+    /**
+     * 以OR连接的一组条件，组内条件全部跳过时整组跳过
+     */
+    public SpecificationBuilder<T> anyOf(Consumer<SpecificationBuilder<T>> group) {
+        SpecificationBuilder<T> builder = new SpecificationBuilder<>();
+        group.accept(builder);
+        if (!builder.specifications.isEmpty()) {
+            specifications.add(Specification.anyOf(builder.specifications));
+        }
+        return this;
+    }
+    
+    /**
+     * 追加自定义条件，specification为null时跳过
+     */
+    public SpecificationBuilder<T> and(Specification<T> specification) {
+        if (specification != null) {
+            specifications.add(specification);
+        }
+        return this;
+    }
+    
+    /**
+     * 以AND连接全部条件
+     */
+    public Specification<T> build() {
+        return Specification.allOf(specifications);
+    }
+    
+    /**
+     * 分页参数未指定排序时使用默认排序
+     */
+    public static Pageable sortedOrDefault(Pageable pageable, Sort defaultSort) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), defaultSort);
+    }
+    
+    /**
+     * 将按size + 1条查询的结果转换为Slice：多出的一条只用于判断是否有下一页
+     */
+    public static <T> Slice<T> toSlice(List<T> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size), hasNext);
+    }
+    
+    private static <Y> Path<Y> path(Root<?> root, String attribute) {
+        int dot = attribute.lastIndexOf('.');
+        if (dot < 0) {
+            return root.get(attribute);
+        }
+        From<?, ?> from = root;
+        for (String association : attribute.substring(0, dot).split("\\.")) {
+            from = join(from, association);
+        }
+        return from.get(attribute.substring(dot + 1));
+    }
+    
+    /**
+     * 复用已有的同名关联，避免同一关联被多个条件重复连接
+     */
+    private static From<?, ?> join(From<?, ?> from, String association) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(association) && join.getJoinType() == JoinType.LEFT) {
+                return join;
+            }
+        }
+        return from.join(association, JoinType.LEFT);
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.drmp.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带密钥版本的字段加密
+ * 密文格式为"v{版本}:{Base64}"，版本0为引入版本号之前的旧密钥，其密文不带前缀以兼容历史数据。
+ * 加密始终使用当前版本密钥，解密按密文中的版本选择密钥，新旧版本密文可以同时存在，
+ * 便于在服务不停机的情况下逐批重加密
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class VersionedFieldCipher {
+    
+    /**
+     * 旧版未分版本的密钥
+     */
+    public static final int LEGACY_VERSION = 0;
+    
+    private final Map<Integer, FieldCipher> ciphers;
+    private final int activeVersion;
+    private final String activePrefix;
+    
+    /**
+     * @param keys          密钥版本 -> 数据密钥
+     * @param activeVersion 加密使用的版本，必须在keys中
+     */
+    public VersionedFieldCipher(Map<Integer, byte[]> keys, int activeVersion) {
+        if (!keys.containsKey(activeVersion)) {
+            throw new IllegalArgumentException("当前密钥版本不存在: " + activeVersion);
+        }
+        Map<Integer, FieldCipher> map = new HashMap<>();
+        keys.forEach((version, key) -> map.put(version, new FieldCipher(key)));
+        this.ciphers = Collections.unmodifiableMap(map);
+        this.activeVersion = activeVersion;
+        this.activePrefix = prefix(activeVersion);
+    }
+    
+    public int getActiveVersion() {
+        return activeVersion;
+    }
+    
+    /**
+     * 以当前版本密钥加密
+     */
+    public String encrypt(String plainText) {
+        if (plainText == null || plainText.isEmpty()) {
+            return plainText;
+        }
+        return activePrefix + ciphers.get(activeVersion).encrypt(plainText);
+    }
+    
+    /**
+     * 按密文中的版本解密；版本未配置或解密失败时返回原值
+     */
+    public String decrypt(String encryptedText) {
+        if (encryptedText == null || encryptedText.isEmpty()) {
+            return encryptedText;
+        }
+        int version = versionOf(encryptedText);
+        FieldCipher cipher = ciphers.get(version);
+        if (cipher == null) {
+            log.warn("密文的密钥版本未配置: version={}", version);
+            return encryptedText;
+        }
+        return cipher.decrypt(version == LEGACY_VERSION ? encryptedText : encryptedText.substring(prefix(version).length()));
+    }
+    
+    /**
+     * 批量加密一列字段值，结果与输入一一对应
+     */
+    public List<String> encryptAll(List<String> plainTexts) {
+        List<String> encrypted = ciphers.get(activeVersion).encryptAll(plainTexts);
+        List<String> result = new ArrayList<>(encrypted.size());
+        for (String value : encrypted) {
+            result.add(value == null || value.isEmpty() ? value : activePrefix + value);
+        }
+        return result;
+    }
+    
+    /**
+     * 批量解密一列字段值，结果与输入一一对应
+     */
+    public List<String> decryptAll(List<String> encryptedTexts) {
+        List<String> result = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            result.add(decrypt(encryptedText));
+        }
+        return result;
+    }
+    
+    /**
+     * 按密文中的版本解密；版本未配置或解密失败时返回null，空值原样返回
+     */
+    public String tryDecrypt(String encryptedText) {
+        if (encryptedText == null || encryptedText.isEmpty()) {
+            return encryptedText;
+        }
+        int version = versionOf(encryptedText);
+        FieldCipher cipher = ciphers.get(version);
+        if (cipher == null) {
+            return null;
+        }
+        return cipher.tryDecrypt(version == LEGACY_VERSION ? encryptedText : encryptedText.substring(prefix(version).length()));
+    }
+    
+    /**
+     * 解析密文的密钥版本，无版本前缀时为旧版密钥
+     */
+    public static int versionOf(String encryptedText) {
+        if (encryptedText == null || encryptedText.length() < 3 || encryptedText.charAt(0) != 'v') {
+            return LEGACY_VERSION;
+        }
+        int colon = encryptedText.indexOf(':');
+        if (colon < 2) {
+            return LEGACY_VERSION;
+        }
+        int version = 0;
+        for (int i = 1; i < colon; i++) {
+            char c = encryptedText.charAt(i);
+            if (c < '0' || c > '9') {
+                return LEGACY_VERSION;
+            }
+            version = version * 10 + (c - '0');
+        }
+        return version;
+    }
+    
+    private static String prefix(int version) {
+        return version == LEGACY_VERSION ? "" : "v" + version + ":";
+    }
+}
\ No newline at end of file
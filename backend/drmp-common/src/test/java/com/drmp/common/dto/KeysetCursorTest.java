@@ -0,0 +1,59 @@
+package com.drmp.common.dto;
+
+import com.drmp.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 键集分页游标测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class KeysetCursorTest {
+    
+    @Test
+    void roundTripsTimeAndId() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_456_000), 42L);
+        
+        String encoded = cursor.encode();
+        
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(encoded)).isEqualTo(cursor);
+    }
+    
+    @Test
+    void roundTripsWholeMinutes() {
+        // LocalDateTime.toString省略为0的秒
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 8, 30), Long.MAX_VALUE);
+        
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+    
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode(" ")).isNull();
+    }
+    
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : new String[] {"not base64!", encode("2024-03-01T08:30"), encode("2024-13-01T08:30_1"),
+                encode("2024-03-01T08:30_x"), encode("_1")}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                .as(cursor)
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("无效的分页游标");
+        }
+    }
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.drmp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 加密字段盲索引测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class BlindIndexTest {
+    
+    private final BlindIndex index = new BlindIndex("blind-index-test-key");
+    
+    @Test
+    void nameIgnoresWhitespace() {
+        assertThat(index.name(" 张 三\t")).isEqualTo(index.name("张三"));
+        assertThat(index.name("张三")).hasSize(32).isNotEqualTo(index.name("张四"));
+    }
+    
+    @Test
+    void idCardIgnoresSurroundingWhitespaceAndCheckDigitCase() {
+        assertThat(index.idCard(" 11010119900101123x ")).isEqualTo(index.idCard("11010119900101123X"));
+    }
+    
+    @Test
+    void phoneKeepsDigitsAndDropsCountryCode() {
+        String expected = index.phone("13800138000");
+        
+        assertThat(index.phone("+86 138-0013-8000")).isEqualTo(expected);
+        assertThat(index.phone("8613800138000")).isEqualTo(expected);
+        assertThat(index.phone("138 0013 8000")).isEqualTo(expected);
+    }
+    
+    @Test
+    void phoneSuffixUsesLastFourDigits() {
+        assertThat(index.phoneSuffix("+86 138-0013-8000")).isEqualTo(index.phoneSuffix("13900008000"));
+        assertThat(index.phoneSuffix("123")).isNull();
+    }
+    
+    @Test
+    void fieldsAndKeysDoNotCollide() {
+        assertThat(index.name("13800138000")).isNotEqualTo(index.phone("13800138000"));
+        assertThat(new BlindIndex("another-key").phone("13800138000")).isNotEqualTo(index.phone("13800138000"));
+    }
+    
+    @Test
+    void nullAndBlankHaveNoIndex() {
+        assertThat(index.name(null)).isNull();
+        assertThat(index.idCard("  ")).isNull();
+        assertThat(index.phone("")).isNull();
+    }
+}
\ No newline at end of file
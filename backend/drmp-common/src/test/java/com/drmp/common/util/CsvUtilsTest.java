@@ -0,0 +1,38 @@
+package com.drmp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV工具类测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class CsvUtilsTest {
+    
+    @Test
+    void leavesPlainTextUnchanged() {
+        assertThat(CsvUtils.escape("R2024001")).isEqualTo("R2024001");
+        assertThat(CsvUtils.escape(null)).isEmpty();
+        assertThat(CsvUtils.escape("")).isEmpty();
+    }
+    
+    @Test
+    void prefixesFormulaCharacters() {
+        assertThat(CsvUtils.escape("=1+1")).isEqualTo("'=1+1");
+        assertThat(CsvUtils.escape("+86")).isEqualTo("'+86");
+        assertThat(CsvUtils.escape("-5")).isEqualTo("'-5");
+        assertThat(CsvUtils.escape("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+    }
+    
+    @Test
+    void quotesSeparatorsQuotesAndLineBreaks() {
+        assertThat(CsvUtils.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(CsvUtils.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(CsvUtils.escape("a\nb")).isEqualTo("\"a\nb\"");
+        assertThat(CsvUtils.escape("a\rb")).isEqualTo("\"a\rb\"");
+        assertThat(CsvUtils.escape("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+    }
+}
\ No newline at end of file
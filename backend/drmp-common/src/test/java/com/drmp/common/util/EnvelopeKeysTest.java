@@ -0,0 +1,56 @@
+package com.drmp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 信封加密数据密钥工具测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class EnvelopeKeysTest {
+    
+    private static final byte[] MASTER_KEY = key(1);
+    
+    @Test
+    void unwrapReturnsWrappedDataKey() {
+        byte[] dataKey = key(7);
+        
+        String wrapped = EnvelopeKeys.wrap(MASTER_KEY, dataKey);
+        
+        assertThat(EnvelopeKeys.unwrap(MASTER_KEY, wrapped)).isEqualTo(dataKey);
+    }
+    
+    @Test
+    void generatedKeyIs256Bits() {
+        String wrapped = EnvelopeKeys.generateWrappedKey(MASTER_KEY);
+        
+        assertThat(EnvelopeKeys.unwrap(MASTER_KEY, wrapped)).hasSize(32);
+        assertThat(EnvelopeKeys.generateWrappedKey(MASTER_KEY)).isNotEqualTo(wrapped);
+    }
+    
+    @Test
+    void unwrapFailsWithWrongMasterKey() {
+        String wrapped = EnvelopeKeys.wrap(MASTER_KEY, key(7));
+        
+        assertThatThrownBy(() -> EnvelopeKeys.unwrap(key(2), wrapped))
+            .isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void unwrapFailsOnMalformedInput() {
+        assertThatThrownBy(() -> EnvelopeKeys.unwrap(MASTER_KEY, "not-base64!"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+    
+    private static byte[] key(int seed) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) seed);
+        return key;
+    }
+}
\ No newline at end of file
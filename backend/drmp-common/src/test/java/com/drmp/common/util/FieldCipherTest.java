@@ -0,0 +1,63 @@
+package com.drmp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 字段加密引擎测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class FieldCipherTest {
+    
+    private final FieldCipher cipher = new FieldCipher("field-cipher-test-key");
+    
+    @Test
+    void roundTripsText() {
+        String encrypted = cipher.encrypt("110101199001011234");
+        
+        assertThat(encrypted).isNotEqualTo("110101199001011234");
+        assertThat(cipher.decrypt(encrypted)).isEqualTo("110101199001011234");
+        assertThat(cipher.tryDecrypt(encrypted)).isEqualTo("110101199001011234");
+    }
+    
+    @Test
+    void leavesNullAndEmptyUnchanged() {
+        assertThat(cipher.encrypt(null)).isNull();
+        assertThat(cipher.encrypt("")).isEmpty();
+        assertThat(cipher.decrypt(null)).isNull();
+        assertThat(cipher.tryDecrypt("")).isEmpty();
+    }
+    
+    @Test
+    void decryptReturnsInputButTryDecryptReturnsNullOnFailure() {
+        String encrypted = new FieldCipher("another-key").encrypt("张三");
+        
+        assertThat(cipher.decrypt("not-base64!")).isEqualTo("not-base64!");
+        assertThat(cipher.tryDecrypt("not-base64!")).isNull();
+        assertThat(cipher.decrypt(encrypted)).isEqualTo(encrypted);
+        assertThat(cipher.tryDecrypt(encrypted)).isNull();
+    }
+    
+    @Test
+    void remainsUsableAfterFailure() {
+        String encrypted = cipher.encrypt("13800138000");
+        cipher.tryDecrypt("bm90LWEtY2lwaGVydGV4dA==");
+        
+        assertThat(cipher.decrypt(encrypted)).isEqualTo("13800138000");
+    }
+    
+    @Test
+    void batchResultsMatchInputOrder() {
+        List<String> encrypted = cipher.encryptAll(Arrays.asList("a", null, "", "b"));
+        
+        assertThat(encrypted.get(1)).isNull();
+        assertThat(encrypted.get(2)).isEmpty();
+        assertThat(cipher.decryptAll(encrypted)).containsExactly("a", null, "", "b");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.drmp.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 按需解析的JSON值测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class LazyJsonTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    @Test
+    void callsSupplierOnceEvenWhenItReturnsNull() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyJson value = LazyJson.of(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        
+        assertThat(value.toJson()).isNull();
+        assertThat(value.toJson()).isNull();
+        assertThat(value.get("a")).isNull();
+        assertThat(calls).hasValue(1);
+    }
+    
+    @Test
+    void rejectsNullSupplier() {
+        assertThatThrownBy(() -> LazyJson.of((Supplier<String>) null))
+            .isInstanceOf(NullPointerException.class);
+    }
+    
+    @Test
+    void readsSingleTopLevelKey() {
+        LazyJson value = LazyJson.of("{\"a\":{\"b\":1},\"c\":\"x\",\"d\":[1,2]}");
+        
+        assertThat(value.get("c")).isEqualTo("x");
+        assertThat(value.get("d")).isEqualTo(List.of(1, 2));
+        assertThat(value.getString("missing")).isNull();
+        assertThat(LazyJson.of("[1]").get("a")).isNull();
+    }
+    
+    @Test
+    void serializesRawTextAndNullForBlank() throws Exception {
+        Map<String, Object> body = Map.of("v", LazyJson.of("{\"a\":1}"));
+        assertThat(MAPPER.writeValueAsString(body)).isEqualTo("{\"v\":{\"a\":1}}");
+        
+        assertThat(MAPPER.writeValueAsString(Map.of("v", LazyJson.of(() -> null)))).isEqualTo("{\"v\":null}");
+    }
+    
+    @Test
+    void deserializesJsonValuesAndJsonStrings() throws Exception {
+        assertThat(MAPPER.readValue("{\"a\":[1,2]}", LazyJson.class).toJson()).isEqualTo("{\"a\":[1,2]}");
+        assertThat(MAPPER.readValue("\"{\\\"a\\\":1}\"", LazyJson.class).toJson()).isEqualTo("{\"a\":1}");
+        assertThatThrownBy(() -> MAPPER.readValue("\"{a\"", LazyJson.class))
+            .hasMessageContaining("不是合法的JSON文本");
+    }
+    
+    @Test
+    void equalsComparesText() {
+        assertThat(LazyJson.of("{\"a\":1}")).isEqualTo(LazyJson.of(() -> "{\"a\":1}"))
+            .hasSameHashCodeAs(LazyJson.of(() -> "{\"a\":1}"));
+    }
+}
\ No newline at end of file
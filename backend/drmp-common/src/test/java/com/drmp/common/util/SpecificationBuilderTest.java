@@ -0,0 +1,151 @@
+package com.drmp.common.util;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 动态查询条件构造器测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class SpecificationBuilderTest {
+    
+    private Root<Object> root;
+    
+    private CriteriaQuery<?> query;
+    
+    private CriteriaBuilder cb;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        root = mock(Root.class);
+        query = mock(CriteriaQuery.class);
+        cb = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+        when(root.get(anyString())).thenAnswer(invocation -> mock(Path.class));
+    }
+    
+    @Test
+    void skipsConditionsWithoutValues() {
+        Predicate predicate = SpecificationBuilder.create()
+            .equal("status", null)
+            .notEqual("status", null)
+            .in("id", null)
+            .in("id", List.of())
+            .startsWith("receiptNumber", " ")
+            .contains("name", null)
+            .lessThan("id", (Long) null)
+            .seekBefore("createTime", null, "id", 1L)
+            .anyOf(any -> any.equal("a", null).contains("b", ""))
+            .and(null)
+            .build()
+            .toPredicate(root, query, cb);
+        
+        assertThat(predicate).isNull();
+        verify(root, never()).get(anyString());
+    }
+    
+    @Test
+    void addsPredicateOnlyForSuppliedValues() {
+        SpecificationBuilder.create()
+            .equal("casePackageId", 1L)
+            .equal("currentStatus", null)
+            .build()
+            .toPredicate(root, query, cb);
+        
+        verify(root).get("casePackageId");
+        verify(root, never()).get("currentStatus");
+        verify(cb).equal(any(Path.class), any(Object.class));
+    }
+    
+    @Test
+    void escapesLikeWildcards() {
+        SpecificationBuilder.create()
+            .startsWith("receiptNumber", " R_10%\\ ")
+            .contains("name", "50%")
+            .build()
+            .toPredicate(root, query, cb);
+        
+        verify(cb).like(any(), eq("R\\_10\\%\\\\%"), eq('\\'));
+        verify(cb).like(any(), eq("%50\\%%"), eq('\\'));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void reusesLeftJoinForNestedAttributes() {
+        List<Join<Object, Object>> joins = new ArrayList<>();
+        Join<Object, Object> join = mock(Join.class);
+        Attribute<Object, ?> attribute = mock(Attribute.class);
+        when(attribute.getName()).thenReturn("organization");
+        doReturn(attribute).when(join).getAttribute();
+        when(join.getJoinType()).thenReturn(JoinType.LEFT);
+        when(join.get(anyString())).thenAnswer(invocation -> mock(Path.class));
+        when(root.join("organization", JoinType.LEFT)).thenAnswer(invocation -> {
+            joins.add(join);
+            return join;
+        });
+        when(root.getJoins()).thenAnswer(invocation -> Set.copyOf(joins));
+        
+        SpecificationBuilder.create()
+            .anyOf(any -> any
+                .contains("organization.name", "机构")
+                .contains("organization.code", "ORG"))
+            .build()
+            .toPredicate(root, query, cb);
+        
+        verify(root, times(1)).join("organization", JoinType.LEFT);
+        verify(join).get("name");
+        verify(join).get("code");
+    }
+    
+    @Test
+    void appliesDefaultSortOnlyWhenUnsorted() {
+        Sort defaultSort = Sort.by(Sort.Direction.DESC, "createTime");
+        Pageable sorted = PageRequest.of(1, 10, Sort.by("id"));
+        
+        assertThat(SpecificationBuilder.sortedOrDefault(sorted, defaultSort)).isSameAs(sorted);
+        assertThat(SpecificationBuilder.sortedOrDefault(PageRequest.of(1, 10), defaultSort))
+            .isEqualTo(PageRequest.of(1, 10, defaultSort));
+        assertThat(SpecificationBuilder.sortedOrDefault(Pageable.unpaged(), defaultSort).isUnpaged()).isTrue();
+    }
+    
+    @Test
+    void convertsExtraRowIntoHasNext() {
+        Slice<Integer> full = SpecificationBuilder.toSlice(List.of(1, 2, 3), 2);
+        Slice<Integer> last = SpecificationBuilder.toSlice(List.of(1, 2), 2);
+        
+        assertThat(full.getContent()).containsExactly(1, 2);
+        assertThat(full.hasNext()).isTrue();
+        assertThat(last.getContent()).containsExactly(1, 2);
+        assertThat(last.hasNext()).isFalse();
+    }
+}
\ No newline at end of file
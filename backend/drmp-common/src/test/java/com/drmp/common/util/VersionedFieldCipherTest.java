@@ -0,0 +1,69 @@
+package com.drmp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 带密钥版本的字段加密测试
+ * 
+ * @author DRMP Team
+ * @since 1.0.0
+ */
+class VersionedFieldCipherTest {
+    
+    private static final byte[] LEGACY_KEY = "legacy-key".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_2 = "data-key-version-2".getBytes(StandardCharsets.UTF_8);
+    
+    @Test
+    void parsesVersionPrefix() {
+        assertThat(VersionedFieldCipher.versionOf("v2:abc")).isEqualTo(2);
+        assertThat(VersionedFieldCipher.versionOf("v12:abc")).isEqualTo(12);
+        assertThat(VersionedFieldCipher.versionOf("abc")).isEqualTo(0);
+        assertThat(VersionedFieldCipher.versionOf("v:abc")).isEqualTo(0);
+        assertThat(VersionedFieldCipher.versionOf("vx1:abc")).isEqualTo(0);
+        assertThat(VersionedFieldCipher.versionOf("v1")).isEqualTo(0);
+        assertThat(VersionedFieldCipher.versionOf("")).isEqualTo(0);
+        assertThat(VersionedFieldCipher.versionOf(null)).isEqualTo(0);
+    }
+    
+    @Test
+    void legacyCiphertextHasNoPrefix() {
+        VersionedFieldCipher cipher = new VersionedFieldCipher(Map.of(0, LEGACY_KEY), 0);
+        
+        assertThat(cipher.encrypt("张三")).isEqualTo(new FieldCipher(LEGACY_KEY).encrypt("张三"));
+    }
+    
+    @Test
+    void decryptsEveryConfiguredVersion() {
+        String legacy = new VersionedFieldCipher(Map.of(0, LEGACY_KEY), 0).encrypt("张三");
+        VersionedFieldCipher cipher = new VersionedFieldCipher(Map.of(0, LEGACY_KEY, 2, KEY_2), 2);
+        String current = cipher.encrypt("张三");
+        
+        assertThat(current).startsWith("v2:");
+        assertThat(cipher.decrypt(current)).isEqualTo("张三");
+        assertThat(cipher.decrypt(legacy)).isEqualTo("张三");
+        assertThat(cipher.tryDecrypt(legacy)).isEqualTo("张三");
+    }
+    
+    @Test
+    void tryDecryptReturnsNullForUnknownVersionOrWrongKey() {
+        String current = new VersionedFieldCipher(Map.of(2, KEY_2), 2).encrypt("张三");
+        VersionedFieldCipher legacyOnly = new VersionedFieldCipher(Map.of(0, LEGACY_KEY), 0);
+        VersionedFieldCipher wrongKey = new VersionedFieldCipher(Map.of(2, LEGACY_KEY), 2);
+        
+        assertThat(legacyOnly.decrypt(current)).isEqualTo(current);
+        assertThat(legacyOnly.tryDecrypt(current)).isNull();
+        assertThat(wrongKey.tryDecrypt(current)).isNull();
+    }
+    
+    @Test
+    void rejectsUnknownActiveVersion() {
+        assertThatThrownBy(() -> new VersionedFieldCipher(Map.of(0, LEGACY_KEY), 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.drmp.user.repository;
 
 import com.drmp.common.enums.OrganizationType;
+import com.drmp.common.util.SpecificationBuilder;
 import com.drmp.user.entity.Organization;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -41,18 +43,20 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     );
     
     /**
-     * 分页查询机构
+     * 分页查询机构，条件为null时不参与过滤
      */
-    @Query("SELECT o FROM Organization o WHERE o.deleted = false " +
-           "AND (:type IS NULL OR o.type = :type) " +
-           "AND (:status IS NULL OR o.status = :status) " +
-           "AND (:keyword IS NULL OR o.name LIKE %:keyword% OR o.contactPerson LIKE %:keyword%)")
-    Page<Organization> findByConditions(
-            @Param("type") OrganizationType type,
-            @Param("status") Organization.OrganizationStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<Organization> findByConditions(OrganizationType type, Organization.OrganizationStatus status,
+                                                String keyword, Pageable pageable) {
+        Specification<Organization> spec = SpecificationBuilder.<Organization>create()
+            .isFalse("deleted")
+            .equal("type", type)
+            .equal("status", status)
+            .anyOf(any -> any
+                .contains("name", keyword)
+                .contains("contactPerson", keyword))
+            .build();
+        return findAll(spec, pageable);
+    }
     
     /**
      * 查询待审核的机构数量
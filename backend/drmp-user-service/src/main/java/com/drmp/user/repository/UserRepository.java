@@ -1,8 +1,10 @@
 package com.drmp.user.repository;
 
+import com.drmp.common.util.SpecificationBuilder;
 import com.drmp.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -40,32 +42,41 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<User> findByOrgIdAndDeletedFalse(Long orgId);
     
     /**
-     * 分页查询机构下的用户
+     * 分页查询机构下的用户，机构ID必填，其他条件为null时不参与过滤
      */
-    @Query("SELECT u FROM User u WHERE u.deleted = false " +
-           "AND u.orgId = :orgId " +
-           "AND (:status IS NULL OR u.status = :status) " +
-           "AND (:keyword IS NULL OR u.username LIKE %:keyword% OR u.realName LIKE %:keyword% OR u.email LIKE %:keyword%)")
-    Page<User> findByOrgIdAndConditions(
-            @Param("orgId") Long orgId,
-            @Param("status") User.UserStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<User> findByOrgIdAndConditions(Long orgId, User.UserStatus status, String keyword, Pageable pageable) {
+        if (orgId == null) {
+            return Page.empty(pageable);
+        }
+        Specification<User> spec = SpecificationBuilder.<User>create()
+            .isFalse("deleted")
+            .equal("orgId", orgId)
+            .equal("status", status)
+            .anyOf(any -> any
+                .contains("username", keyword)
+                .contains("realName", keyword)
+                .contains("email", keyword))
+            .build();
+        return findAll(spec, pageable);
+    }
     
     /**
-     * 分页查询所有用户（平台管理员用）
+     * 分页查询所有用户（平台管理员用），条件为null时不参与过滤
+     * 只有传入关键词时才关联机构表匹配机构名称
      */
-    @Query("SELECT u FROM User u LEFT JOIN u.organization o WHERE u.deleted = false " +
-           "AND (:orgId IS NULL OR u.orgId = :orgId) " +
-           "AND (:status IS NULL OR u.status = :status) " +
-           "AND (:keyword IS NULL OR u.username LIKE %:keyword% OR u.realName LIKE %:keyword% OR u.email LIKE %:keyword% OR o.name LIKE %:keyword%)")
-    Page<User> findByConditions(
-            @Param("orgId") Long orgId,
-            @Param("status") User.UserStatus status,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
+    default Page<User> findByConditions(Long orgId, User.UserStatus status, String keyword, Pageable pageable) {
+        Specification<User> spec = SpecificationBuilder.<User>create()
+            .isFalse("deleted")
+            .equal("orgId", orgId)
+            .equal("status", status)
+            .anyOf(any -> any
+                .contains("username", keyword)
+                .contains("realName", keyword)
+                .contains("email", keyword)
+                .contains("organization.name", keyword))
+            .build();
+        return findAll(spec, pageable);
+    }
     
     /**
      * 检查用户名是否已存在
@@ -206,6 +206,13 @@ CREATE TABLE `case_packages` (
   `import_status` enum('PENDING','PROCESSING','SUCCESS','FAILED') DEFAULT 'PENDING' COMMENT '导入状态',
   `import_progress` int(11) DEFAULT '0' COMMENT '导入进度（%）',
   `import_error_msg` text COMMENT '导入错误信息',
+  `import_task_id` varchar(36) DEFAULT NULL COMMENT '最近一次导入的任务ID',
+  `import_file_hash` char(64) DEFAULT NULL COMMENT '导入文件SHA-256，用于识别重复上传',
+  `import_file_name` varchar(255) DEFAULT NULL COMMENT '导入原始文件名',
+  `import_checkpoint` int(11) NOT NULL DEFAULT '0' COMMENT '导入断点：已提交的数据行数',
+  `import_success_count` int(11) NOT NULL DEFAULT '0' COMMENT '截至断点的导入成功条数',
+  `import_failure_count` int(11) NOT NULL DEFAULT '0' COMMENT '截至断点的导入失败条数',
+  `import_summary` json DEFAULT NULL COMMENT '截至断点的导入摘要累计状态',
   -- 基础字段
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -234,6 +241,14 @@ CREATE TABLE `cases_template` (
   `debtor_id_card` varchar(255) NOT NULL COMMENT '身份证号（加密存储）',
   `debtor_name` varchar(255) NOT NULL COMMENT '客户姓名（加密存储）',
   `debtor_phone` varchar(255) NOT NULL COMMENT '手机号（加密存储）',
+  `debtor_id_card_index` char(32) DEFAULT NULL COMMENT '身份证号盲索引（HMAC）',
+  `debtor_name_index` char(32) DEFAULT NULL COMMENT '客户姓名盲索引（HMAC）',
+  `debtor_phone_index` char(32) DEFAULT NULL COMMENT '手机号盲索引（HMAC）',
+  `debtor_phone_suffix_index` char(32) DEFAULT NULL COMMENT '手机尾号盲索引（HMAC，后4位）',
+  `debtor_id_card_masked` varchar(32) DEFAULT NULL COMMENT '身份证号脱敏值（列表展示）',
+  `debtor_name_masked` varchar(100) DEFAULT NULL COMMENT '客户姓名脱敏值（列表展示）',
+  `debtor_phone_masked` varchar(32) DEFAULT NULL COMMENT '手机号脱敏值（列表展示）',
+  `key_version` int(11) NOT NULL DEFAULT '0' COMMENT '敏感字段加密密钥版本',
   `loan_product` varchar(100) NOT NULL COMMENT '借款项目/产品线',
   `loan_amount` decimal(15,2) NOT NULL COMMENT '贷款金额',
   `remaining_amount` decimal(15,2) NOT NULL COMMENT '剩余应还金额',
@@ -242,11 +257,12 @@ CREATE TABLE `cases_template` (
   `consign_start_date` date NOT NULL COMMENT '委托开始时间',
   `consign_end_date` date NOT NULL COMMENT '委托到期时间',
   `fund_provider` varchar(100) NOT NULL COMMENT '资方名称',
-  -- 建议填写字段（存储为JSON，支持灵活扩展）
-  `debt_info` json DEFAULT NULL COMMENT '债务信息（总期数、月还款额、利率等）',
-  `debtor_info` json DEFAULT NULL COMMENT '债务人信息（性别、户籍、现居地址等）',
-  `contact_info` json DEFAULT NULL COMMENT '联系人信息（1-5个紧急联系人）',
-  `custom_fields` json DEFAULT NULL COMMENT '自定义字段（支持10个）',
+  -- 建议填写字段（JSON对象，按drmp.case.storage.compact-json以紧凑二进制或UTF-8 JSON文本存储）
+  -- 已有表由json改为blob须在部署前执行upgrade-case-extension-blob.sql，否则服务启动时表结构校验失败
+  `debt_info` blob DEFAULT NULL COMMENT '债务信息（总期数、月还款额、利率等）',
+  `debtor_info` blob DEFAULT NULL COMMENT '债务人信息（性别、户籍、现居地址等）',
+  `contact_info` blob DEFAULT NULL COMMENT '联系人信息（1-5个紧急联系人）',
+  `custom_fields` blob DEFAULT NULL COMMENT '自定义字段（支持10个）',
   -- 案件状态与处置信息
   `current_status` enum('PENDING_ASSIGNMENT','ASSIGNED','PROCESSING','MEDIATING','LITIGATING','SETTLED','CLOSED','WITHDRAWN','SUSPENDED') DEFAULT 'PENDING_ASSIGNMENT' COMMENT '当前状态',
   `assigned_org_id` bigint(20) DEFAULT NULL COMMENT '分配的处置机构ID',
@@ -267,11 +283,16 @@ CREATE TABLE `cases_template` (
   PRIMARY KEY (`id`),
   UNIQUE KEY `uk_receipt_number` (`receipt_number`),
   KEY `idx_case_package_status` (`case_package_id`,`current_status`),
-  KEY `idx_assigned_org` (`assigned_org_id`),
+  KEY `idx_case_package_create_time` (`case_package_id`,`create_time`),
+  KEY `idx_assigned_org_assigned_at` (`assigned_org_id`,`assigned_at`),
   KEY `idx_overdue_days` (`overdue_days`),
   KEY `idx_remaining_amount` (`remaining_amount`),
   KEY `idx_assigned_at` (`assigned_at`),
   KEY `idx_create_time` (`create_time`),
+  KEY `idx_debtor_id_card_index` (`debtor_id_card_index`),
+  KEY `idx_debtor_name_index` (`debtor_name_index`),
+  KEY `idx_debtor_phone_index` (`debtor_phone_index`),
+  KEY `idx_debtor_phone_suffix_index` (`debtor_phone_suffix_index`),
   CONSTRAINT `fk_cases_case_package_id` FOREIGN KEY (`case_package_id`) REFERENCES `case_packages` (`id`),
   CONSTRAINT `fk_cases_assigned_org_id` FOREIGN KEY (`assigned_org_id`) REFERENCES `organizations` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='案件表模板（实际使用时按月分表）';
@@ -0,0 +1,24 @@
+-- DRMP平台数据库升级脚本：案件扩展字段由json改为blob
+-- 适用于在此版本之前按init.sql建库的环境，新建库直接使用init.sql即可
+--
+-- 必须在部署新版case-service之前执行：实体将debt_info等四列映射为blob，
+-- 服务以spring.jpa.hibernate.ddl-auto=validate启动，列类型仍为json时启动校验失败。
+-- 与drmp.case.storage.compact-json是否开启无关，开关只决定新写入的格式；
+-- 已有数据按UTF-8 JSON文本保留，读取时按JSON文本解码，无需另行转换。
+--
+-- MySQL 8.0对json改blob执行表复制，期间表只读，大表请在维护窗口执行
+
+SET NAMES utf8mb4;
+
+ALTER TABLE `cases_template`
+  MODIFY `debt_info` blob DEFAULT NULL COMMENT '债务信息（总期数、月还款额、利率等）',
+  MODIFY `debtor_info` blob DEFAULT NULL COMMENT '债务人信息（性别、户籍、现居地址等）',
+  MODIFY `contact_info` blob DEFAULT NULL COMMENT '联系人信息（1-5个紧急联系人）',
+  MODIFY `custom_fields` blob DEFAULT NULL COMMENT '自定义字段（支持10个）';
+
+-- 校验：四列的DATA_TYPE均应为blob
+SELECT `COLUMN_NAME`, `DATA_TYPE`
+FROM `information_schema`.`COLUMNS`
+WHERE `TABLE_SCHEMA` = DATABASE()
+  AND `TABLE_NAME` = 'cases_template'
+  AND `COLUMN_NAME` IN ('debt_info', 'debtor_info', 'contact_info', 'custom_fields');
\ No newline at end of file